@@ -0,0 +1,131 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.CarRentalApplication;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.repository.BookingContext;
+import com.boraandege.carrental.repository.BookingContextLoader;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the one-lookup-per-reference booking reads with {@link BookingContextLoader} while every
+ * statement sent to the database is delayed by {@code delayMillis}, as a remote database would. {@code warm}
+ * keeps the second-level and query caches, {@code cold} evicts every cache region before each booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingContextLoaderBenchmark {
+
+    @Param({"0", "1", "2", "5"})
+    public long delayMillis;
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private MemberRepository memberRepository;
+    private LocationRepository locationRepository;
+    private BookingContextLoader bookingContextLoader;
+    private TransactionTemplate transactionTemplate;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-context;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + RoundTripDelay.class.getName(),
+                        "logging.level.root=WARN")
+                .run();
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        memberRepository = context.getBean(MemberRepository.class);
+        locationRepository = context.getBean(LocationRepository.class);
+        bookingContextLoader = context.getBean(BookingContextLoader.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        RoundTripDelay.delayMillis = delayMillis;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        RoundTripDelay.delayMillis = 0;
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCaches() {
+        if ("cold".equals(cache)) {
+            sessionFactory.getCache().evictAllRegions();
+        }
+    }
+
+    @Benchmark
+    public Object sequentialLookups() {
+        return inRolledBackTransaction(() -> new Object[]{
+                carForBooking("CAR_BASE_123"),
+                memberRepository.findById(1L).orElseThrow(),
+                locationRepository.findByCode("BASE_LOC_1").orElseThrow(),
+                locationRepository.findByCode("BASE_LOC_2").orElseThrow()});
+    }
+
+    @Benchmark
+    public BookingContext contextLoader() {
+        return inRolledBackTransaction(() -> bookingContextLoader.load("CAR_BASE_123", 1L, "BASE_LOC_1", "BASE_LOC_2"));
+    }
+
+    // The car lookup the booking path made before the loader: by barcode, version bumped at commit.
+    private Car carForBooking(String barcodeNumber) {
+        return entityManager.createQuery("select c from Car c where c.barcodeNumber = :barcodeNumber", Car.class)
+                .setParameter("barcodeNumber", barcodeNumber)
+                .setLockMode(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+                .getSingleResult();
+    }
+
+    // Rolled back so the forced version increment never turns into an update.
+    private <T> T inRolledBackTransaction(Supplier<T> lookups) {
+        return transactionTemplate.execute(status -> {
+            T result = lookups.get();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    public static class RoundTripDelay implements StatementInspector {
+
+        static volatile long delayMillis;
+
+        @Override
+        public String inspect(String sql) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+}
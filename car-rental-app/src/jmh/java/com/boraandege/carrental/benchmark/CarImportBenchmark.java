@@ -0,0 +1,106 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.CarRentalApplication;
+import com.boraandege.carrental.dto.CarImportResultDTO;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.service.CarImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams a generated CSV of {@code cars} rows through the bulk importer. Every iteration imports into a
+ * fleet holding only the seed data; the imported cars are deleted again between iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CarImportBenchmark {
+
+    private static final String[] CAR_TYPES = {"ECONOMY", "SUV", "STANDARD", "LUXURY"};
+    private static final String[] TRANSMISSIONS = {"MANUAL", "AUTOMATIC"};
+
+    @Param({"1000000"})
+    public int cars;
+
+    private ConfigurableApplicationContext context;
+    private CarImportService carImportService;
+    private JdbcTemplate jdbcTemplate;
+    private FleetBitmapIndex fleetIndex;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-import;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        carImportService = context.getBean(CarImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        fleetIndex = context.getBean(FleetBitmapIndex.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteImportedCars() {
+        jdbcTemplate.update("DELETE FROM cars WHERE barcode_number LIKE 'IMPORT%'");
+        fleetIndex.rebuild();
+    }
+
+    @Benchmark
+    public CarImportResultDTO importCars() {
+        CarImportResultDTO result = carImportService.importCarsCsv(new GeneratedCsv(cars));
+        if (result.getImported() != cars) {
+            throw new IllegalStateException("Imported " + result.getImported() + " of " + cars + " cars");
+        }
+        return result;
+    }
+
+    private static final class GeneratedCsv extends Reader {
+
+        private final int rows;
+        private int row = -1;
+        private String line = "";
+        private int position;
+
+        private GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == line.length()) {
+                if (++row > rows) {
+                    return -1;
+                }
+                line = row == 0
+                        ? "barcodeNumber,licensePlateNumber,passengerCapacity,brand,model,mileage,dailyPrice,carType,transmissionType\n"
+                        : "IMPORT" + row + ",34IMP" + row + "," + (2 + row % 7) + ",Brand" + row % 20 + ",Model" + row % 50
+                        + "," + row % 200_000 + "," + (30 + row % 120) + ".00," + CAR_TYPES[row % CAR_TYPES.length]
+                        + "," + TRANSMISSIONS[row % TRANSMISSIONS.length] + "\n";
+                position = 0;
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached object graphs shared by the benchmarks; nothing here touches the database.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static Car car() {
+        Car car = new Car();
+        car.setId(42L);
+        car.setBarcodeNumber("BENCH_CAR");
+        car.setLicensePlateNumber("34BEN42");
+        car.setPassengerCapacity(5);
+        car.setBrand("Toyota");
+        car.setModel("Corolla");
+        car.setMileage(12_000);
+        car.setTransmissionType(TransmissionType.AUTOMATIC);
+        car.setDailyPrice(BigDecimal.valueOf(150));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setCarType(CarType.STANDARD);
+        return car;
+    }
+
+    public static CarDTO carDTO() {
+        CarDTO car = new CarDTO();
+        car.setId(42L);
+        car.setBarcodeNumber("BENCH_CAR");
+        car.setLicensePlateNumber("34BEN42");
+        car.setPassengerCapacity(5);
+        car.setBrand("Toyota");
+        car.setModel("Corolla");
+        car.setMileage(12_000);
+        car.setTransmissionType(TransmissionType.AUTOMATIC);
+        car.setDailyPrice(BigDecimal.valueOf(150));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setCarType(CarType.STANDARD);
+        return car;
+    }
+
+    public static Reservation reservation() {
+        Member member = new Member();
+        member.setId(7L);
+        member.setName("Bench Member");
+
+        Reservation reservation = new Reservation();
+        reservation.setId(1);
+        reservation.setReservationNumber("BENCH001");
+        reservation.setCreationDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+        reservation.setPickUpDateTime(LocalDateTime.of(2024, 1, 2, 9, 0));
+        reservation.setDropOffDateTime(LocalDateTime.of(2024, 1, 5, 9, 0));
+        reservation.setStatus(ReservationStatus.ACTIVE);
+        reservation.setDayCount(3);
+        reservation.setTotalAmount(new BigDecimal("500.00"));
+        reservation.setMember(member);
+        reservation.setCar(car());
+        reservation.setPickUpLocation(location(1L, "BENCH_PICK"));
+        reservation.setDropOffLocation(location(2L, "BENCH_DROP"));
+
+        List<Equipment> equipments = new ArrayList<>();
+        for (CatalogItem item : equipmentItems()) {
+            Equipment equipment = new Equipment();
+            equipment.setId(item.id());
+            equipment.setName(item.name());
+            equipment.setPrice(item.price());
+            equipments.add(equipment);
+        }
+        List<AdditionalService> services = new ArrayList<>();
+        for (CatalogItem item : serviceItems()) {
+            AdditionalService service = new AdditionalService();
+            service.setId(item.id());
+            service.setName(item.name());
+            service.setPrice(item.price());
+            services.add(service);
+        }
+        reservation.setAdditionalEquipments(equipments);
+        reservation.setAdditionalServices(services);
+        return reservation;
+    }
+
+    public static List<CatalogItem> equipmentItems() {
+        return List.of(new CatalogItem(1L, "GPS", BigDecimal.valueOf(15)),
+                new CatalogItem(2L, "Child Seat", BigDecimal.valueOf(10)));
+    }
+
+    public static List<CatalogItem> serviceItems() {
+        return List.of(new CatalogItem(1L, "Additional Driver", BigDecimal.valueOf(25)));
+    }
+
+    private static Location location(Long id, String code) {
+        Location location = new Location();
+        location.setId(id);
+        location.setCode(code);
+        location.setName(code);
+        return location;
+    }
+}
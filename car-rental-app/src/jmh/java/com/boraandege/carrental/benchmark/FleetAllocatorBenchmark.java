@@ -0,0 +1,65 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.allocation.FleetAllocator;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.FleetEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of choosing a car for a type-level booking. The indexes hold {@code cars} cars spread over every
+ * type and transmission, each with a year of back-to-back one to five day bookings and random gaps between
+ * them, all parked at one location, so every candidate needs a real gap lookup. Sample mode reports the percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetAllocatorBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final Long LOCATION_ID = 1L;
+
+    @Param({"1000", "10000"})
+    public int cars;
+
+    private FleetAllocator allocator;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FleetBitmapIndex fleetIndex = new FleetBitmapIndex(null);
+        CarAvailabilityIndex availabilityIndex = new CarAvailabilityIndex(null);
+        CarType[] types = CarType.values();
+        TransmissionType[] transmissions = TransmissionType.values();
+        Random setup = new Random(7);
+        int reservationId = 1;
+        for (long carId = 1; carId <= cars; carId++) {
+            fleetIndex.put(new FleetEntry(carId, CarStatus.AVAILABLE, types[(int) (carId % types.length)],
+                    transmissions[(int) (carId / types.length % transmissions.length)], 5, LOCATION_ID));
+            LocalDateTime start = BASE.plusHours(setup.nextInt(72));
+            while (start.isBefore(BASE.plusYears(1))) {
+                LocalDateTime end = start.plusDays(1 + setup.nextInt(5));
+                availabilityIndex.tryBook(carId, reservationId++, start, end);
+                start = end.plusHours(setup.nextInt(96));
+            }
+        }
+        allocator = new FleetAllocator(fleetIndex, availabilityIndex);
+    }
+
+    @Benchmark
+    public Optional<Long> allocate() {
+        LocalDateTime start = BASE.plusHours(random.nextInt(24 * 360));
+        return allocator.allocate(LOCATION_ID, CarType.SUV, TransmissionType.AUTOMATIC, start, start.plusDays(1 + random.nextInt(3)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.CarRentalApplication;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.repository.CarRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the derived status/type/transmission query with the bitmap index, alone and followed by loading
+ * the matching cars by id. Each invocation asks for the next type and transmission combination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FleetBitmapIndexBenchmark {
+
+    private static final CarType[] TYPES = CarType.values();
+    private static final TransmissionType[] TRANSMISSIONS = TransmissionType.values();
+
+    @Param({"10000", "100000", "1000000"})
+    public int cars;
+
+    private ConfigurableApplicationContext context;
+    private CarRepository carRepository;
+    private FleetBitmapIndex fleetIndex;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-fleet;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        carRepository = context.getBean(CarRepository.class);
+        fleetIndex = context.getBean(FleetBitmapIndex.class);
+        insertCars(context.getBean(JdbcTemplate.class), new Random(42));
+        fleetIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Car> derivedQuery() {
+        int next = query++;
+        return carRepository.findByStatusAndCarTypeAndTransmissionType(CarStatus.AVAILABLE,
+                TYPES[next % TYPES.length], TRANSMISSIONS[next % TRANSMISSIONS.length]);
+    }
+
+    @Benchmark
+    public List<Long> bitmapIds() {
+        int next = query++;
+        return fleetIndex.queryIds(List.of(CarStatus.AVAILABLE), List.of(TYPES[next % TYPES.length]),
+                List.of(TRANSMISSIONS[next % TRANSMISSIONS.length]), null);
+    }
+
+    @Benchmark
+    public List<Car> bitmapIdsAndLoad() {
+        return carRepository.findAllById(bitmapIds());
+    }
+
+    private void insertCars(JdbcTemplate jdbcTemplate, Random random) {
+        CarStatus[] statuses = CarStatus.values();
+        int chunk = 10_000;
+        for (int offset = 0; offset < cars; offset += chunk) {
+            List<Object[]> rows = new ArrayList<>(chunk);
+            for (int i = offset; i < Math.min(cars, offset + chunk); i++) {
+                rows.add(new Object[]{
+                        "BENCH" + i,
+                        statuses[random.nextInt(statuses.length)].name(),
+                        TYPES[random.nextInt(TYPES.length)].name(),
+                        TRANSMISSIONS[random.nextInt(TRANSMISSIONS.length)].name(),
+                        2 + random.nextInt(7)
+                });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO cars (id, barcode_number, status, car_type, transmission_type, " +
+                    "passenger_capacity, mileage) VALUES (NEXT VALUE FOR car_seq, ?, ?, ?, ?, ?, 0)", rows);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.CarRentalApplication;
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.service.CarService;
+import com.boraandege.carrental.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Books through the full service stack (catalog snapshot, availability index, optimistic car lock,
+ * JPA inserts) against the embedded H2 database. Every invocation books a fresh one-day window,
+ * round-robin over a small fleet, so no booking is ever rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MakeReservationBenchmark {
+
+    private static final int FLEET_SIZE = 16;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private final AtomicLong bookings = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-booking;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+
+        CarService carService = context.getBean(CarService.class);
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            CarDTO car = Fixtures.carDTO();
+            car.setId(null);
+            car.setBarcodeNumber("JMH_CAR_" + i);
+            carService.addCar(car);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ReservationDTO makeReservation() {
+        return reservationService.makeReservation(nextRequest());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ReservationDTO makeReservationContended() {
+        return reservationService.makeReservation(nextRequest());
+    }
+
+    private ReservationDTO nextRequest() {
+        long booking = bookings.getAndIncrement();
+        ReservationDTO request = new ReservationDTO();
+        request.setCarBarcodeNumber("JMH_CAR_" + booking % FLEET_SIZE);
+        request.setMemberId(1L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("BASE_LOC_2");
+        request.setPickUpDateTime(BASE.plusDays(booking / FLEET_SIZE));
+        request.setDayCount(1);
+        request.setAdditionalEquipmentIds(List.of(1L, 2L));
+        return request;
+    }
+}
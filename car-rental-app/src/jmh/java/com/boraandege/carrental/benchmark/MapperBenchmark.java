@@ -0,0 +1,50 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.mapper.CarMapper;
+import com.boraandege.carrental.mapper.ReservationMapper;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Reservation;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ReservationMapper reservationMapper = Mappers.getMapper(ReservationMapper.class);
+    private final CarMapper carMapper = Mappers.getMapper(CarMapper.class);
+
+    private Reservation reservation;
+    private Car car;
+    private CarDTO carDTO;
+
+    @Setup
+    public void setUp() {
+        reservation = Fixtures.reservation();
+        car = Fixtures.car();
+        carDTO = Fixtures.carDTO();
+    }
+
+    @Benchmark
+    public ReservationDTO reservationToDTO() {
+        return reservationMapper.toDTO(reservation);
+    }
+
+    @Benchmark
+    public CarDTO carToDTO() {
+        return carMapper.toDTO(car);
+    }
+
+    @Benchmark
+    public Car carToEntity() {
+        return carMapper.toEntity(carDTO);
+    }
+}
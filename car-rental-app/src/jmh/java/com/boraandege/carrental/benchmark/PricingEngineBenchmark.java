@@ -0,0 +1,58 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.pricing.PriceQuote;
+import com.boraandege.carrental.pricing.PricingEngine;
+import com.boraandege.carrental.pricing.PricingProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingEngineBenchmark {
+
+    private PricingEngine pricingEngine;
+    private BigDecimal dailyPrice;
+    private LocalDate pickUpDate;
+    private LocalDate farPickUpDate;
+    private List<CatalogItem> equipments;
+    private List<CatalogItem> services;
+
+    @Setup
+    public void setUp() {
+        pricingEngine = new PricingEngine(new PricingProperties(10,
+                Map.of(Month.JANUARY, -10, Month.JULY, 15, Month.AUGUST, 15),
+                Map.of(7, 5, 14, 10, 28, 15), 1460));
+        dailyPrice = Fixtures.car().getDailyPrice();
+        pickUpDate = LocalDate.now().plusDays(10);
+        farPickUpDate = LocalDate.now().plusYears(10);
+        equipments = Fixtures.equipmentItems();
+        services = Fixtures.serviceItems();
+    }
+
+    @Benchmark
+    public PriceQuote quoteShortRental() {
+        return pricingEngine.quote(dailyPrice, pickUpDate, 3, equipments, services);
+    }
+
+    @Benchmark
+    public PriceQuote quoteLongRental() {
+        return pricingEngine.quote(dailyPrice, pickUpDate, 30, equipments, services);
+    }
+
+    // Beyond the compiled horizon every day is priced one by one.
+    @Benchmark
+    public PriceQuote quoteLongRentalOutsideTables() {
+        return pricingEngine.quote(dailyPrice, farPickUpDate, 30, equipments, services);
+    }
+}
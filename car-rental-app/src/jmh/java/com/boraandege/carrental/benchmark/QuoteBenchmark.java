@@ -0,0 +1,70 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.CarRentalApplication;
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.service.QuoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency distribution of {@code GET /quotes} below the controller. {@code cached} repeats a small set of
+ * requests, as a busy search page does; {@code uncached} evicts before every call, so each quote pays for
+ * the repository query. Sample mode reports the percentiles, p99 included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteBenchmark {
+
+    private static final int DISTINCT_REQUESTS = 64;
+    private static final LocalDate BASE = LocalDate.now().plusDays(7);
+
+    private ConfigurableApplicationContext context;
+    private QuoteService quoteService;
+    private QuoteCache quoteCache;
+    private final AtomicLong requests = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-quotes;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        quoteService = context.getBean(QuoteService.class);
+        quoteCache = context.getBean(QuoteCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public QuoteDTO cached() {
+        long request = requests.getAndIncrement() % DISTINCT_REQUESTS;
+        return quoteService.quote(null, CarType.ECONOMY, "BASE_LOC_1", BASE.plusDays(request % 16),
+                1 + (int) (request / 16), List.of(1L, 2L), null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public QuoteDTO uncached() {
+        quoteCache.evictAll();
+        return quoteService.quote("CAR_BASE_123", null, null, BASE, 3, List.of(1L, 2L), null);
+    }
+}
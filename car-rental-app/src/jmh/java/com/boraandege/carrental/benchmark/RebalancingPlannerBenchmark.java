@@ -0,0 +1,73 @@
+package com.boraandege.carrental.benchmark;
+
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.rebalancing.TransferPlanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to plan the transfers for every car type at once. {@code cars} cars are scattered over
+ * {@code locations} locations with a long-tailed popularity, and the expected pick-ups follow a different
+ * popularity, so about half of the locations end up short of cars of each type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RebalancingPlannerBenchmark {
+
+    @Param({"100", "500"})
+    public int locations;
+
+    @Param({"30000"})
+    public int cars;
+
+    private TransferPlanner planner;
+    private int[][] balances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[] x = new double[locations];
+        double[] y = new double[locations];
+        for (int i = 0; i < locations; i++) {
+            x[i] = random.nextDouble() * 1500;
+            y[i] = random.nextDouble() * 600;
+        }
+        long[][] distanceKm = new long[locations][locations];
+        for (int i = 0; i < locations; i++) {
+            for (int j = 0; j < locations; j++) {
+                distanceKm[i][j] = i == j ? 0 : Math.max(1, Math.round(Math.hypot(x[i] - x[j], y[i] - y[j])));
+            }
+        }
+        planner = new TransferPlanner(distanceKm);
+
+        int types = CarType.values().length;
+        balances = new int[types][locations];
+        for (int car = 0; car < cars; car++) {
+            balances[random.nextInt(types)][skewed(random)]++;
+        }
+        for (int pickUp = 0; pickUp < cars; pickUp++) {
+            balances[random.nextInt(types)][locations - 1 - skewed(random)]--;
+        }
+    }
+
+    @Benchmark
+    public List<TransferPlanner.Transfer> planAllTypes() {
+        List<TransferPlanner.Transfer> transfers = new ArrayList<>();
+        for (int[] balance : balances) {
+            transfers.addAll(planner.plan(balance));
+        }
+        return transfers;
+    }
+
+    private int skewed(Random random) {
+        return (int) (locations * Math.pow(random.nextDouble(), 2));
+    }
+}
@@ -0,0 +1,10 @@
+package com.boraandege.carrental.allocation;
+
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+
+import java.time.LocalDateTime;
+
+public record AllocatedBooking(int reservationId, Long carId, CarType carType, TransmissionType transmissionType,
+                               Long pickUpLocationId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,23 @@
+package com.boraandege.carrental.allocation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link FleetReoptimizer}.
+ *
+ * @param reoptimizeEnabled  whether the scheduled pass is active; {@link FleetReoptimizer#reoptimize()} can always be called
+ * @param reoptimizeInterval pause between the end of one pass and the start of the next
+ * @param minLeadTime        bookings picking up sooner than this are left on their car, so the car being prepared
+ *                           for a customer does not change under the counter staff
+ * @param leaseDuration      how long a pass may hold the lease without renewing it; renewed before every move
+ */
+@ConfigurationProperties("fleet.allocation")
+public record AllocationProperties(
+        @DefaultValue("true") boolean reoptimizeEnabled,
+        @DefaultValue("PT15M") Duration reoptimizeInterval,
+        @DefaultValue("PT2H") Duration minLeadTime,
+        @DefaultValue("PT5M") Duration leaseDuration) {
+}
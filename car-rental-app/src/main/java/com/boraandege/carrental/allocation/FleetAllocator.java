@@ -0,0 +1,109 @@
+package com.boraandege.carrental.allocation;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.FreeGap;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chooses the concrete car for a booking made by car type. Among the cars of the type that are parked at the
+ * pick-up location and free for the window it picks the one whose free gap fits the window most tightly (best
+ * fit), so that bookings are packed next to each other and no short, unbookable gaps are left between them.
+ * Works entirely on the fleet bitmap index and the availability index: one bitmap query, then one O(log n) gap
+ * lookup per candidate.
+ */
+@Component
+public class FleetAllocator {
+
+    static final int NO_RESERVATION = 0;
+    static final long OPEN_GAP_MINUTES = Duration.ofDays(7).toMinutes();
+
+    public static final List<CarStatus> BOOKABLE_STATUSES =
+            List.of(CarStatus.AVAILABLE, CarStatus.RESERVED, CarStatus.LOANED);
+
+    private final FleetBitmapIndex fleetIndex;
+    private final CarAvailabilityIndex availabilityIndex;
+
+    public FleetAllocator(FleetBitmapIndex fleetIndex, CarAvailabilityIndex availabilityIndex) {
+        this.fleetIndex = fleetIndex;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Returns the id of the best fitting car of the type, and of the transmission if one is given, that is at
+     * the location and free for the window, or nothing if every such car is taken.
+     */
+    public Optional<Long> allocate(Long locationId, CarType carType, TransmissionType transmissionType,
+                                   LocalDateTime start, LocalDateTime end) {
+        return bestFit(locationId, carType, transmissionType, start, end, NO_RESERVATION).map(Fit::carId);
+    }
+
+    /**
+     * Same as {@link #allocate}, but treats the booking of {@code reservationId} as not yet placed, so that its
+     * current car competes with every other one.
+     */
+    public Optional<Fit> bestFit(Long locationId, CarType carType, TransmissionType transmissionType,
+                                 LocalDateTime start, LocalDateTime end, int reservationId) {
+        RoaringBitmap candidates = fleetIndex.queryAt(locationId, BOOKABLE_STATUSES, List.of(carType),
+                transmissionType != null ? List.of(transmissionType) : null, null);
+        Fit best = null;
+        IntIterator ids = candidates.getIntIterator();
+        while (ids.hasNext()) {
+            Fit fit = fit((long) ids.next(), start, end, reservationId);
+            if (fit != null && (best == null || fit.compareTo(best) < 0)) {
+                best = fit;
+                // Candidates come in id order, so nothing after an exact fit can beat it.
+                if (best.idleMinutes() == 0) {
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * How well the window fits on the given car, ignoring the booking of {@code reservationId}, or {@code null}
+     * if the car is taken for it.
+     */
+    public Fit fit(Long carId, LocalDateTime start, LocalDateTime end, int reservationId) {
+        FreeGap gap = availabilityIndex.gapAround(carId, start, end, reservationId);
+        if (gap == null) {
+            return null;
+        }
+        return new Fit(carId, idleMinutes(gap.previousEnd(), start) + idleMinutes(end, gap.nextStart()));
+    }
+
+    private static long idleMinutes(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return OPEN_GAP_MINUTES;
+        }
+        return Math.min(Duration.between(from, to).toMinutes(), OPEN_GAP_MINUTES);
+    }
+
+    /**
+     * Placement of a window on a car, scored by the idle time it leaves next to the window on both sides. Idle
+     * time of a week or more, and an open-ended side, count as a week: such time is still freely bookable, so
+     * an exact fit scores best, then a window packed against an existing booking, and a car with nothing booked
+     * around the window scores worst. Ties go to the lower car id so allocation is deterministic.
+     */
+    public record Fit(Long carId, long idleMinutes) implements Comparable<Fit> {
+
+        @Override
+        public int compareTo(Fit other) {
+            if (idleMinutes != other.idleMinutes) {
+                return Long.compare(idleMinutes, other.idleMinutes);
+            }
+            return carId.compareTo(other.carId);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.boraandege.carrental.allocation;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.support.DatabaseLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Periodically repacks bookings whose car was chosen by {@link FleetAllocator}. Bookings made since a car was
+ * allocated, and cancellations, leave gaps that a booking could now fill more tightly; each future booking, in
+ * pick-up order, is moved to the best fitting car of its type and transmission parked at its pick-up location
+ * when that fit is strictly tighter than where it is. Bookings for a car the customer picked, and bookings about
+ * to start, are never moved. The price stays as booked: it is the type's rate at the pick-up location, whichever
+ * car holds the booking.
+ * <p>
+ * Every move is its own transaction and locks both cars optimistically, so it yields to any booking or change of
+ * those cars made meanwhile; such a booking is simply reconsidered on the next pass.
+ */
+@Component
+@EnableConfigurationProperties(AllocationProperties.class)
+public class FleetReoptimizer {
+
+    static final String LEASE_NAME = "fleet-reoptimizer";
+
+    private static final Logger log = LoggerFactory.getLogger(FleetReoptimizer.class);
+
+    private final ReservationRepository reservationRepository;
+    private final FleetAllocator allocator;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final DatabaseLease lease;
+    private final TransactionTemplate transactionTemplate;
+    private final AllocationProperties properties;
+    private final Counter movesCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FleetReoptimizer(ReservationRepository reservationRepository, FleetAllocator allocator,
+                            CarAvailabilityIndex availabilityIndex, DatabaseLease lease,
+                            TransactionTemplate transactionTemplate, AllocationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.allocator = allocator;
+        this.availabilityIndex = availabilityIndex;
+        this.lease = lease;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.movesCounter = Counter.builder("fleet.reoptimizer.moves")
+                .description("Allocated bookings moved to a tighter fitting car")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${fleet.allocation.reoptimize-interval:PT15M}",
+            fixedDelayString = "${fleet.allocation.reoptimize-interval:PT15M}")
+    public void scheduledReoptimize() {
+        if (properties.reoptimizeEnabled()) {
+            reoptimize();
+        }
+    }
+
+    /**
+     * Runs one pass and returns how many bookings were moved, or -1 if another node holds the lease.
+     */
+    public int reoptimize() {
+        if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+            return -1;
+        }
+        try {
+            List<AllocatedBooking> bookings = reservationRepository.findAutoAllocatedStartingAfter(
+                    CarAvailabilityIndex.BOOKED_STATUSES, LocalDateTime.now().plus(properties.minLeadTime()));
+            int moved = 0;
+            for (AllocatedBooking booking : bookings) {
+                FleetAllocator.Fit current = allocator.fit(booking.carId(), booking.start(), booking.end(),
+                        booking.reservationId());
+                Optional<FleetAllocator.Fit> best = allocator.bestFit(booking.pickUpLocationId(), booking.carType(),
+                        booking.transmissionType(),
+                        booking.start(), booking.end(), booking.reservationId());
+                if (current == null || best.isEmpty() || best.get().compareTo(current) >= 0) {
+                    continue;
+                }
+                if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+                    log.warn("Fleet re-optimizer lost its lease, stopping this pass");
+                    break;
+                }
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> move(booking, best.get().carId())))) {
+                        moved++;
+                        movesCounter.increment();
+                    }
+                } catch (OptimisticLockingFailureException e) {
+                    log.debug("Skipped moving reservation {}, one of its cars changed meanwhile", booking.reservationId());
+                }
+            }
+            if (moved > 0) {
+                log.info("Moved {} of {} allocated bookings to tighter fitting cars", moved, bookings.size());
+            }
+            return moved;
+        } finally {
+            lease.release(LEASE_NAME);
+        }
+    }
+
+    private boolean move(AllocatedBooking booking, Long targetCarId) {
+        Reservation reservation = entityManager.find(Reservation.class, booking.reservationId());
+        if (reservation == null || !CarAvailabilityIndex.BOOKED_STATUSES.contains(reservation.getStatus())
+                || reservation.getCar() == null || !reservation.getCar().getId().equals(booking.carId())
+                || !booking.start().equals(reservation.getPickUpDateTime())
+                || !booking.end().equals(reservation.getDropOffDateTime())) {
+            return false;
+        }
+        Car source = reservation.getCar();
+        Car target = entityManager.find(Car.class, targetCarId);
+        if (target == null || !FleetAllocator.BOOKABLE_STATUSES.contains(target.getStatus())) {
+            return false;
+        }
+        entityManager.lock(source, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        entityManager.lock(target, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        if (reservationRepository.existsOverlapping(targetCarId, CarAvailabilityIndex.BOOKED_STATUSES,
+                booking.start(), booking.end())
+                || !availabilityIndex.tryBook(targetCarId, booking.reservationId(), booking.start(), booking.end())) {
+            return false;
+        }
+
+        reservation.setCar(target);
+        target.setStatus(CarStatus.LOANED);
+        if (!availabilityIndex.hasOtherBookings(source.getId(), booking.reservationId())) {
+            source.setStatus(CarStatus.AVAILABLE);
+        }
+        availabilityIndex.releaseAfterCommit(source.getId(), booking.reservationId());
+        return true;
+    }
+}
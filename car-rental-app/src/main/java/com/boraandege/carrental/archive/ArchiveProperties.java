@@ -0,0 +1,24 @@
+package com.boraandege.carrental.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link ReservationArchiver}.
+ *
+ * @param enabled       whether the scheduled run is active; {@link ReservationArchiver#archive()} can always be called
+ * @param interval      pause between the end of one run and the start of the next
+ * @param age           how long after its drop-off time a COMPLETED or CANCELLED reservation is archived
+ * @param batchSize     reservations moved per transaction
+ * @param leaseDuration how long a run may hold the lease without renewing it; renewed before every batch
+ */
+@ConfigurationProperties("reservation.archive")
+public record ArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT1H") Duration interval,
+        @DefaultValue("P90D") Duration age,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("PT5M") Duration leaseDuration) {
+}
@@ -0,0 +1,113 @@
+package com.boraandege.carrental.archive;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.support.DatabaseLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves COMPLETED and CANCELLED reservations whose drop-off time is older than {@code reservation.archive.age}
+ * from {@code reservations} to {@code reservations_archive}, together with their equipment and service links,
+ * so that the hot table and its indexes only hold reservations that can still change. Each batch is copied and
+ * deleted in one transaction, lowest ids first; reads include the archive only when asked for history.
+ */
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ReservationArchiver {
+
+    static final String LEASE_NAME = "reservation-archiver";
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private static final List<ReservationStatus> TERMINAL_STATUSES =
+            List.of(ReservationStatus.COMPLETED, ReservationStatus.CANCELLED);
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final DatabaseLease lease;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Counter archivedCounter;
+
+    public ReservationArchiver(ReservationRepository reservationRepository,
+                               ArchivedReservationRepository archivedReservationRepository, DatabaseLease lease,
+                               TransactionTemplate transactionTemplate, ArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.lease = lease;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivedCounter = Counter.builder("reservation.archiver.archived")
+                .description("Reservations moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${reservation.archive.interval:PT1H}",
+            fixedDelayString = "${reservation.archive.interval:PT1H}")
+    public void scheduledArchive() {
+        if (properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every eligible reservation and returns how many were moved, or -1 if another node holds the lease.
+     */
+    public int archive() {
+        if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+            return -1;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.age());
+            Pageable batch = PageRequest.of(0, properties.batchSize());
+            int archived = 0;
+            while (true) {
+                if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+                    log.warn("Reservation archiver lost its lease, stopping this run");
+                    break;
+                }
+                Batch moved = transactionTemplate.execute(status -> {
+                    List<Integer> ids = reservationRepository.findIdsDroppingOffBefore(TERMINAL_STATUSES, cutoff, batch);
+                    if (ids.isEmpty()) {
+                        return new Batch(0, 0);
+                    }
+                    int copied = archivedReservationRepository.copyReservations(ids);
+                    archivedReservationRepository.copyEquipmentLinks(ids);
+                    archivedReservationRepository.copyServiceLinks(ids);
+                    reservationRepository.deleteEquipmentLinks(ids);
+                    reservationRepository.deleteServiceLinks(ids);
+                    reservationRepository.deleteByIds(ids);
+                    return new Batch(ids.size(), copied);
+                });
+                archived += moved.archived();
+                archivedCounter.increment(moved.archived());
+                if (moved.selected() < properties.batchSize()) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                log.info("Archived {} reservations finished before {}", archived, cutoff);
+            }
+            return archived;
+        } finally {
+            lease.release(LEASE_NAME);
+        }
+    }
+
+    private record Batch(int selected, int archived) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.boraandege.carrental.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Second-level cache regions for the small reference tables (locations, equipments, services).
+ * Each application context gets its own cache manager so that contexts sharing a JVM never see
+ * each other's entities.
+ */
+@Configuration
+public class CacheConfig {
+
+    static final String[] REFERENCE_REGIONS = {
+            "com.boraandege.carrental.model.Location",
+            "com.boraandege.carrental.model.Location##NaturalId",
+            "com.boraandege.carrental.model.Equipment",
+            "com.boraandege.carrental.model.AdditionalService"
+    };
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        Map<String, CacheConfiguration<?, ?>> caches = new HashMap<>();
+        for (String region : REFERENCE_REGIONS) {
+            caches.put(region, region(10_000, Duration.ofHours(1)));
+        }
+        caches.put(QUERY_RESULTS_REGION, region(1_000, Duration.ofMinutes(10)));
+        // Update timestamps must outlive every cached query result they guard, so they never expire.
+        caches.put(UPDATE_TIMESTAMPS_REGION, region(1_000, null));
+
+        DefaultConfiguration configuration = new DefaultConfiguration(caches, provider.getDefaultClassLoader());
+        return provider.getCacheManager(URI.create("urn:car-rental:hibernate:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CacheConfiguration<Object, Object> region(long entries, Duration timeToLive) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(entries))
+                .withExpiry(timeToLive != null
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
+                        : ExpiryPolicyBuilder.noExpiration())
+                .build();
+    }
+}
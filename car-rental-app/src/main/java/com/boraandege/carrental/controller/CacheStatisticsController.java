@@ -0,0 +1,44 @@
+package com.boraandege.carrental.controller;
+
+import com.boraandege.carrental.dto.CacheStatisticsDTO;
+import com.boraandege.carrental.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/cache/statistics")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and put counts and hit ratios of the second-level, query and natural-id caches, per region. "
+            + "Counts are only collected while spring.jpa.properties.hibernate.generate_statistics is true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatisticsDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<CacheStatisticsDTO> getStatistics() {
+        CacheStatisticsDTO statistics = cacheStatisticsService.getStatistics();
+        return ResponseEntity.ok(statistics);
+    }
+
+    @Operation(summary = "Reset cache statistics", description = "Clears all collected cache statistics.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Statistics reset")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        cacheStatisticsService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
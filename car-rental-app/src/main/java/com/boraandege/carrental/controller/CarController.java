@@ -1,8 +1,11 @@
 package com.boraandege.carrental.controller;
 
 import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.CarImportResultDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.service.CarImportService;
 import com.boraandege.carrental.service.CarService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,9 +13,12 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.Reader;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,9 +26,11 @@ import java.util.List;
 public class CarController {
 
     private final CarService carService;
+    private final CarImportService carImportService;
 
-    public CarController(CarService carService) {
+    public CarController(CarService carService, CarImportService carImportService) {
         this.carService = carService;
+        this.carImportService = carImportService;
     }
 
     @Operation(summary = "Add a new car", description = "Creates a new car and saves it to the database.")
@@ -37,6 +45,32 @@ public class CarController {
         return ResponseEntity.ok(newCar);
     }
 
+    @Operation(summary = "Import cars", description = "Imports a JSON array of cars. Rows are validated, cars whose barcode already exists are skipped and all new cars start as AVAILABLE.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarImportResultDTO.class)))
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CarImportResultDTO> importCars(@RequestBody List<CarDTO> cars) {
+        CarImportResultDTO result = carImportService.importCars(cars);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Import cars from CSV", description = "Streams a CSV file with a header row naming the CarDTO fields " +
+            "(barcodeNumber, dailyPrice, carType and transmissionType are required; currentLocationCode parks the car at a location). " +
+            "Fields are comma separated and may be double quoted as in RFC 4180.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(mediaType = "text/csv")))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid header row", content = @Content)
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<CarImportResultDTO> importCarsCsv(@Parameter(hidden = true) Reader csv) {
+        CarImportResultDTO result = carImportService.importCarsCsv(csv);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Get car by ID", description = "Retrieves the details of a car using its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Car retrieved successfully",
@@ -51,14 +85,18 @@ public class CarController {
         return ResponseEntity.ok(car);
     }
 
-    @Operation(summary = "Get all cars", description = "Retrieves a list of all cars.")
+    @Operation(summary = "Get all cars", description = "Retrieves a page of cars ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of cars retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of cars retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class)))
     })
     @GetMapping
-    public ResponseEntity<List<CarDTO>> getAllCars() {
-        List<CarDTO> cars = carService.getAllCars();
+    public ResponseEntity<PageDTO<CarDTO>> getAllCars(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of cars to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<CarDTO> cars = carService.getCarsPage(after, limit);
         return ResponseEntity.ok(cars);
     }
 
@@ -80,7 +118,8 @@ public class CarController {
     @Operation(summary = "Delete a car", description = "Deletes a car from the database by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Car deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Car not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Car not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Car has live or archived reservations", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCar(
@@ -90,19 +129,28 @@ public class CarController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Search for available cars", description = "Finds cars that are available based on type and transmission.")
+    @Operation(summary = "Search for available cars", description = "Finds cars that are available based on type, transmission and capacity, optionally for a from/to window and at a location.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of available cars retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = CarDTO.class))),
-            @ApiResponse(responseCode = "404", description = "No available cars found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "No available cars found, or location not found", content = @Content)
     })
     @GetMapping("/available")
     public ResponseEntity<List<CarDTO>> searchAvailableCars(
             @Parameter(description = "Type of car (e.g., STANDARD, SUV)", example = "SUV")
             @RequestParam CarType carType,
             @Parameter(description = "Transmission type (e.g., AUTOMATIC, MANUAL)", example = "AUTOMATIC")
-            @RequestParam TransmissionType transmissionType) {
-        List<CarDTO> availableCars = carService.searchAvailableCars(carType, transmissionType);
+            @RequestParam TransmissionType transmissionType,
+            @Parameter(description = "Minimum passenger capacity", example = "5")
+            @RequestParam(required = false) Integer minPassengers,
+            @Parameter(description = "Start of the rental window", example = "2024-07-01T10:00:00")
+            @RequestParam(required = false) LocalDateTime from,
+            @Parameter(description = "End of the rental window", example = "2024-07-05T10:00:00")
+            @RequestParam(required = false) LocalDateTime to,
+            @Parameter(description = "Code of the location the car must currently be at", example = "BASE_LOC_1")
+            @RequestParam(required = false) String locationCode) {
+        List<CarDTO> availableCars = carService.searchAvailableCars(carType, transmissionType, minPassengers, from, to,
+                locationCode);
         return ResponseEntity.ok(availableCars);
     }
     @Operation(summary = "Get all rented cars", description = "Retrieves a list of all cars that are currently rented or reserved.")
@@ -1,6 +1,8 @@
 package com.boraandege.carrental.controller;
 
 import com.boraandege.carrental.dto.EquipmentDTO;
+import com.boraandege.carrental.dto.EquipmentStockDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.service.EquipmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+
 @RestController
 @RequestMapping("/equipments")
 public class EquipmentController {
@@ -49,14 +52,18 @@ public class EquipmentController {
         return ResponseEntity.ok(equipment);
     }
 
-    @Operation(summary = "Get all equipments", description = "Retrieves a list of all equipments.")
+    @Operation(summary = "Get all equipments", description = "Retrieves a page of equipments ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of equipments retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EquipmentDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of equipments retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class)))
     })
     @GetMapping
-    public ResponseEntity<List<EquipmentDTO>> getAllEquipments() {
-        List<EquipmentDTO> equipments = equipmentService.getAllEquipments();
+    public ResponseEntity<PageDTO<EquipmentDTO>> getAllEquipments(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of equipments to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<EquipmentDTO> equipments = equipmentService.getEquipmentsPage(after, limit);
         return ResponseEntity.ok(equipments);
     }
 
@@ -78,7 +85,8 @@ public class EquipmentController {
     @Operation(summary = "Delete an equipment", description = "Deletes an equipment from the database by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Equipment deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Equipment not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Equipment not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Equipment has archived reservations", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEquipment(
@@ -87,4 +95,34 @@ public class EquipmentController {
         equipmentService.deleteEquipment(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Get equipment stock", description = "Lists the units of an equipment each location owns and how many of them are free.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Equipment not found", content = @Content)
+    })
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<List<EquipmentStockDTO>> getStock(
+            @Parameter(description = "ID of the equipment", example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(equipmentService.getStock(id));
+    }
+
+    @Operation(summary = "Set equipment stock", description = "Sets how many units of an equipment a location owns. Reservations picking up there take one unit each while booked.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EquipmentStockDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Equipment or location not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Negative quantity", content = @Content)
+    })
+    @PutMapping("/{id}/stock/{locationCode}")
+    public ResponseEntity<EquipmentStockDTO> setStock(
+            @Parameter(description = "ID of the equipment", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Code of the location", example = "BASE_LOC_1")
+            @PathVariable String locationCode,
+            @Parameter(description = "Units the location owns", example = "10")
+            @RequestParam int quantity) {
+        return ResponseEntity.ok(equipmentService.setStock(id, locationCode, quantity));
+    }
 }
@@ -1,6 +1,7 @@
 package com.boraandege.carrental.controller;
 
 import com.boraandege.carrental.dto.LocationDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.service.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +12,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/locations")
@@ -63,14 +63,18 @@ public class LocationController {
         return ResponseEntity.ok(location);
     }
 
-    @Operation(summary = "Get all locations", description = "Retrieves a list of all locations.")
+    @Operation(summary = "Get all locations", description = "Retrieves a page of locations ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of locations retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = LocationDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of locations retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class)))
     })
     @GetMapping
-    public ResponseEntity<List<LocationDTO>> getAllLocations() {
-        List<LocationDTO> locations = locationService.getAllLocations();
+    public ResponseEntity<PageDTO<LocationDTO>> getAllLocations(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of locations to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<LocationDTO> locations = locationService.getLocationsPage(after, limit);
         return ResponseEntity.ok(locations);
     }
 
@@ -92,7 +96,8 @@ public class LocationController {
     @Operation(summary = "Delete a location", description = "Deletes a location from the database by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Location deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Location not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Location not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Location has archived reservations", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteLocation(
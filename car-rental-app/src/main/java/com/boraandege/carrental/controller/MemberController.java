@@ -1,6 +1,7 @@
 package com.boraandege.carrental.controller;
 
 import com.boraandege.carrental.dto.MemberDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.service.MemberService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +12,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/members")
@@ -49,14 +49,18 @@ public class MemberController {
         return ResponseEntity.ok(member);
     }
 
-    @Operation(summary = "Get all members", description = "Retrieves a list of all registered members.")
+    @Operation(summary = "Get all members", description = "Retrieves a page of members ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of members retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MemberDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of members retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class)))
     })
     @GetMapping
-    public ResponseEntity<List<MemberDTO>> getAllMembers() {
-        List<MemberDTO> members = memberService.getAllMembers();
+    public ResponseEntity<PageDTO<MemberDTO>> getAllMembers(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of members to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<MemberDTO> members = memberService.getMembersPage(after, limit);
         return ResponseEntity.ok(members);
     }
 
@@ -78,7 +82,8 @@ public class MemberController {
     @Operation(summary = "Delete a member", description = "Deletes a member from the database by their ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Member deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Member not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Member not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Member has archived reservations", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMember(
@@ -0,0 +1,56 @@
+package com.boraandege.carrental.controller;
+
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.service.QuoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+@RestController
+@RequestMapping("/quotes")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    @Operation(summary = "Get a price quote", description = "Prices a rental for a specific car or, given a car type and pick-up location, from the cheapest car of that type at the location, the rate a booking by type is charged. Nothing is booked.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quote calculated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuoteDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both of car barcode number and car type given, car type without pick-up location, or invalid day count", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Car, location, equipment or service not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<QuoteDTO> getQuote(
+            @Parameter(description = "Barcode number of the car to price", example = "CAR123")
+            @RequestParam(required = false) String carBarcodeNumber,
+            @Parameter(description = "Car type to price from, instead of a specific car", example = "SUV")
+            @RequestParam(required = false) CarType carType,
+            @Parameter(description = "Pick-up location code, required with a car type", example = "BASE_LOC_1")
+            @RequestParam(required = false) String pickUpLocationCode,
+            @Parameter(description = "Pick-up date, defaults to tomorrow", example = "2024-07-01")
+            @RequestParam(required = false) LocalDate pickUpDate,
+            @Parameter(description = "Number of rental days", example = "3")
+            @RequestParam int dayCount,
+            @Parameter(description = "IDs of additional equipments", example = "1,2")
+            @RequestParam(required = false) List<Long> equipmentIds,
+            @Parameter(description = "IDs of additional services", example = "1")
+            @RequestParam(required = false) List<Long> serviceIds) {
+        QuoteDTO quote = quoteService.quote(carBarcodeNumber, carType, pickUpLocationCode, pickUpDate, dayCount,
+                equipmentIds, serviceIds);
+        return ResponseEntity.ok(quote);
+    }
+}
@@ -0,0 +1,36 @@
+package com.boraandege.carrental.controller;
+
+import com.boraandege.carrental.dto.RebalancingPlanDTO;
+import com.boraandege.carrental.service.RebalancingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/rebalancing")
+public class RebalancingController {
+
+    private final RebalancingService rebalancingService;
+
+    public RebalancingController(RebalancingService rebalancingService) {
+        this.rebalancingService = rebalancingService;
+    }
+
+    @Operation(summary = "Get a fleet rebalancing plan", description = "Computes the transfers that move spare cars to the locations expected to run short over the horizon, at the least total distance, per car type.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plan computed successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RebalancingPlanDTO.class))),
+            @ApiResponse(responseCode = "406", description = "Horizon out of range", content = @Content)
+    })
+    @GetMapping("/plan")
+    public ResponseEntity<RebalancingPlanDTO> getPlan(
+            @Parameter(description = "Days ahead to plan for (1 to 90, defaults to fleet.rebalancing.horizon)", example = "7")
+            @RequestParam(required = false) Integer horizonDays) {
+        return ResponseEntity.ok(rebalancingService.getPlan(horizonDays));
+    }
+}
@@ -1,16 +1,30 @@
 package com.boraandege.carrental.controller;
 
+import com.boraandege.carrental.dto.OccupancyCalendarDTO;
 import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.dto.ReservationIntakeDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ExportFormat;
+import com.boraandege.carrental.intake.ReservationIntake;
 import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.support.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,26 +32,87 @@ import java.util.List;
 @RequestMapping("/reservations")
 public class ReservationController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final ReservationService reservationService;
+    private final IdempotencyStore idempotencyStore;
+    private final ReservationIntake reservationIntake;
+    private final ObjectMapper objectMapper;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, IdempotencyStore idempotencyStore,
+                                 ReservationIntake reservationIntake, ObjectMapper objectMapper) {
         this.reservationService = reservationService;
+        this.idempotencyStore = idempotencyStore;
+        this.reservationIntake = reservationIntake;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Create a new reservation", description = "Creates a reservation for a car and assigns it to a member.")
+    @Operation(summary = "Create a new reservation", description = "Creates a reservation for a car and assigns it to a member. "
+            + "Requests repeated with the same Idempotency-Key get the first response back instead of booking again; "
+            + "reusing a key for a different request is rejected.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reservation created successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDTO.class))),
             @ApiResponse(responseCode = "404", description = "Car or member not found"),
-            @ApiResponse(responseCode = "406", description = "Car not available for reservation")
+            @ApiResponse(responseCode = "406", description = "Car not available for reservation"),
+            @ApiResponse(responseCode = "409", description = "Idempotency key reused for a different request, or its first request is still in progress")
     })
     @PostMapping
-    public ResponseEntity<ReservationDTO> makeReservation(@RequestBody ReservationDTO reservationDTO) {
-        ReservationDTO createdReservation = reservationService.makeReservation(reservationDTO);
-        return ResponseEntity.ok(createdReservation);
+    public ResponseEntity<ReservationDTO> makeReservation(
+            @Parameter(description = "Client-chosen key that makes retries of this request safe", example = "6f1c2a9e-3b7d-4e0f-9a51-2c8d7e4b1f03")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody ReservationDTO reservationDTO) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(reservationService.makeReservation(reservationDTO));
+        }
+        IdempotencyStore.Result<ResponseEntity<ReservationDTO>> result = idempotencyStore.execute(
+                "POST /reservations " + idempotencyKey, fingerprint(reservationDTO),
+                () -> ResponseEntity.ok(reservationService.makeReservation(reservationDTO)));
+        if (!result.replayed()) {
+            return result.value();
+        }
+        ResponseEntity<ReservationDTO> first = result.value();
+        return ResponseEntity.status(first.getStatusCode())
+                .headers(first.getHeaders())
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(first.getBody());
+    }
+
+    @Operation(summary = "Queue a new reservation", description = "Validates the request and answers at once with a PENDING reservation number. "
+            + "The booking is confirmed in the background; poll its status to learn the outcome.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reservation queued",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationIntakeDTO.class))),
+            @ApiResponse(responseCode = "429", description = "Too many queued reservations, retry later", content = @Content)
+    })
+    @PostMapping("/intake")
+    public ResponseEntity<ReservationIntakeDTO> submitReservation(@RequestBody ReservationDTO reservationDTO) {
+        return reservationIntake.submit(reservationDTO)
+                .map(pending -> ResponseEntity.accepted()
+                        .location(URI.create("/reservations/intake/" + pending.reservationNumber()))
+                        .body(pending))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
     }
 
-    @Operation(summary = "Get reservation by number", description = "Retrieves the details of a reservation using its number.")
+    @Operation(summary = "Get queued reservation status", description = "Returns PENDING while the reservation waits to be confirmed, "
+            + "CANCELLED with the reason if it was rejected, and the stored status once it is confirmed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationIntakeDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    @GetMapping("/intake/{reservationNumber}")
+    public ResponseEntity<ReservationIntakeDTO> getIntakeStatus(
+            @Parameter(description = "Number returned when the reservation was queued", example = "RES12345678")
+            @PathVariable String reservationNumber) {
+        return ResponseEntity.ok(reservationIntake.getStatus(reservationNumber));
+    }
+
+    @Operation(summary = "Get reservation by number", description = "Retrieves the details of a reservation using its number. "
+            + "Archived reservations are only found with includeHistory.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reservation retrieved successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDTO.class))),
@@ -46,19 +121,28 @@ public class ReservationController {
     @GetMapping("/{reservationNumber}")
     public ResponseEntity<ReservationDTO> getReservationByNumber(
             @Parameter(description = "Number of the reservation to retrieve", example = "RES12345678")
-            @PathVariable String reservationNumber) {
-        ReservationDTO reservation = reservationService.getReservationByNumber(reservationNumber);
+            @PathVariable String reservationNumber,
+            @Parameter(description = "Also read reservations moved to the archive", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeHistory) {
+        ReservationDTO reservation = reservationService.getReservationByNumber(reservationNumber, includeHistory);
         return ResponseEntity.ok(reservation);
     }
 
-    @Operation(summary = "Get all reservations", description = "Retrieves a list of all reservations.")
+    @Operation(summary = "Get all reservations", description = "Retrieves a page of reservations ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of reservations retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of reservations retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class))),
+            @ApiResponse(responseCode = "406", description = "Cursor is out of range")
     })
     @GetMapping
-    public ResponseEntity<List<ReservationDTO>> getAllReservations() {
-        List<ReservationDTO> reservations = reservationService.getAllReservations();
+    public ResponseEntity<PageDTO<ReservationDTO>> getAllReservations(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of reservations to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Also read reservations moved to the archive", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeHistory) {
+        PageDTO<ReservationDTO> reservations = reservationService.getReservationsPage(after, limit, includeHistory);
         return ResponseEntity.ok(reservations);
     }
 
@@ -92,6 +176,19 @@ public class ReservationController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "Pick up the car of a reservation", description = "Records that the customer collected the car; a reservation whose car is not collected in time is cancelled as a no-show.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pick-up recorded, or false if the reservation is not open or already picked up"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    @PutMapping("/{reservationNumber}/pick-up")
+    public ResponseEntity<Boolean> pickUpCar(
+            @Parameter(description = "Number of the reservation", example = "RES12345678")
+            @PathVariable String reservationNumber) {
+        boolean result = reservationService.pickUpCar(reservationNumber);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Return a car for a reservation", description = "Marks a car as returned for a given reservation.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Car returned successfully"),
@@ -131,6 +228,55 @@ public class ReservationController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "Export reservations", description = "Streams reservations ordered by ID as NDJSON or CSV. " +
+            "Optionally restricted to pick-up dates between startDate and endDate, like the /between endpoint.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Only one end of the date filter was given", content = @Content)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @Parameter(description = "Start date for filtering reservations", example = "2023-01-01T00:00:00")
+            @RequestParam(required = false) LocalDateTime startDate,
+            @Parameter(description = "End date for filtering reservations", example = "2023-12-31T23:59:59")
+            @RequestParam(required = false) LocalDateTime endDate,
+            @Parameter(description = "Output format (NDJSON or CSV)", example = "CSV")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Also read reservations moved to the archive", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeHistory) {
+        if ((startDate == null) != (endDate == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean csv = format == ExportFormat.CSV;
+        StreamingResponseBody body = out -> reservationService.exportReservations(startDate, endDate, includeHistory, format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservations." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Get the occupancy calendar", description = "Returns, for every car taken at some point between from and to, "
+            + "its busy intervals as [start, end) pairs of minutes after from. Optionally restricted to one car type "
+            + "or to reservations picked up at one location.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendar computed successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OccupancyCalendarDTO.class))),
+            @ApiResponse(responseCode = "406", description = "Range is empty or longer than a year")
+    })
+    @GetMapping("/calendar")
+    public ResponseEntity<OccupancyCalendarDTO> getOccupancyCalendar(
+            @Parameter(description = "Start of the calendar", example = "2023-07-01T00:00:00")
+            @RequestParam LocalDateTime from,
+            @Parameter(description = "End of the calendar", example = "2023-07-31T00:00:00")
+            @RequestParam LocalDateTime to,
+            @Parameter(description = "Only cars of this type", example = "ECONOMY")
+            @RequestParam(required = false) CarType carType,
+            @Parameter(description = "Only reservations picked up at this location", example = "IST")
+            @RequestParam(required = false) String locationCode) {
+        return ResponseEntity.ok(reservationService.getOccupancyCalendar(from, to, carType, locationCode));
+    }
+
     @Operation(summary = "Get reservations between two dates", description = "Retrieves reservations created between the specified start and end dates.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of reservations retrieved successfully")
@@ -140,8 +286,18 @@ public class ReservationController {
             @Parameter(description = "Start date for filtering reservations", example = "2023-01-01T00:00:00")
             @RequestParam LocalDateTime startDate,
             @Parameter(description = "End date for filtering reservations", example = "2023-12-31T23:59:59")
-            @RequestParam LocalDateTime endDate) {
-        List<ReservationDTO> reservations = reservationService.getReservationsBetweenDates(startDate, endDate);
+            @RequestParam LocalDateTime endDate,
+            @Parameter(description = "Also read reservations moved to the archive", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeHistory) {
+        List<ReservationDTO> reservations = reservationService.getReservationsBetweenDates(startDate, endDate, includeHistory);
         return ResponseEntity.ok(reservations);
     }
+
+    private String fingerprint(ReservationDTO reservationDTO) {
+        try {
+            return IdempotencyStore.fingerprint(objectMapper.writeValueAsBytes(reservationDTO));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the reservation request", e);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.boraandege.carrental.controller;
 
 import com.boraandege.carrental.dto.ServiceDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.service.ServiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +12,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/services")
@@ -49,14 +49,18 @@ public class ServiceController {
         return ResponseEntity.ok(service);
     }
 
-    @Operation(summary = "Get all services", description = "Retrieves a list of all additional services.")
+    @Operation(summary = "Get all services", description = "Retrieves a page of services ordered by ID, starting after the given cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of services retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page of services retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class)))
     })
     @GetMapping
-    public ResponseEntity<List<ServiceDTO>> getAllServices() {
-        List<ServiceDTO> services = serviceService.getAllServices();
+    public ResponseEntity<PageDTO<ServiceDTO>> getAllServices(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", example = "50")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of services to return (at most 500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<ServiceDTO> services = serviceService.getServicesPage(after, limit);
         return ResponseEntity.ok(services);
     }
 
@@ -78,7 +82,8 @@ public class ServiceController {
     @Operation(summary = "Delete a service", description = "Deletes a specific additional service by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Service deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Service not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Service not found", content = @Content),
+            @ApiResponse(responseCode = "406", description = "Service has archived reservations", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteService(
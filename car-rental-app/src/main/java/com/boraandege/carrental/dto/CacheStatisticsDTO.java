@@ -0,0 +1,43 @@
+package com.boraandege.carrental.dto;
+
+import java.util.List;
+
+public class CacheStatisticsDTO {
+
+    private CacheRegionStatisticsDTO secondLevelCache;
+    private CacheRegionStatisticsDTO queryCache;
+    private CacheRegionStatisticsDTO naturalIdCache;
+    private List<CacheRegionStatisticsDTO> regions;
+
+    public CacheRegionStatisticsDTO getSecondLevelCache() {
+        return secondLevelCache;
+    }
+
+    public void setSecondLevelCache(CacheRegionStatisticsDTO secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    public CacheRegionStatisticsDTO getQueryCache() {
+        return queryCache;
+    }
+
+    public void setQueryCache(CacheRegionStatisticsDTO queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    public CacheRegionStatisticsDTO getNaturalIdCache() {
+        return naturalIdCache;
+    }
+
+    public void setNaturalIdCache(CacheRegionStatisticsDTO naturalIdCache) {
+        this.naturalIdCache = naturalIdCache;
+    }
+
+    public List<CacheRegionStatisticsDTO> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<CacheRegionStatisticsDTO> regions) {
+        this.regions = regions;
+    }
+}
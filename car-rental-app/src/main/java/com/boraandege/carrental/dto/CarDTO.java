@@ -18,6 +18,7 @@ public class CarDTO {
     private BigDecimal dailyPrice;
     private CarStatus status;
     private CarType carType;
+    private String currentLocationCode;
 
     public BigDecimal getDailyPrice() {
         return dailyPrice;
@@ -107,4 +108,12 @@ public class CarDTO {
         this.barcodeNumber = barcodeNumber;
     }
 
+
+    public String getCurrentLocationCode() {
+        return currentLocationCode;
+    }
+
+    public void setCurrentLocationCode(String currentLocationCode) {
+        this.currentLocationCode = currentLocationCode;
+    }
 }
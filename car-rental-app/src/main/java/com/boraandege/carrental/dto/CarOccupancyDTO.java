@@ -0,0 +1,10 @@
+package com.boraandege.carrental.dto;
+
+import java.util.List;
+
+/**
+ * The busy intervals of one car, as {@code [start, end)} pairs of minutes from the calendar start, in order and
+ * never overlapping.
+ */
+public record CarOccupancyDTO(String barcodeNumber, List<int[]> intervals) {
+}
@@ -0,0 +1,7 @@
+package com.boraandege.carrental.dto;
+
+/**
+ * Units of an equipment a location owns and how many of them are not held by a booked reservation.
+ */
+public record EquipmentStockDTO(String locationCode, int quantity, int available) {
+}
@@ -6,6 +6,8 @@ public class LocationDTO {
     private String code;
     private String name;
     private String address;
+    private Double latitude;
+    private Double longitude;
 
     public String getName() {
         return name;
@@ -38,4 +40,20 @@ public class LocationDTO {
     public void setAddress(String address) {
         this.address = address;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
 }
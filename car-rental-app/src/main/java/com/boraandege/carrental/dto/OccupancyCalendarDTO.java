@@ -0,0 +1,7 @@
+package com.boraandege.carrental.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OccupancyCalendarDTO(LocalDateTime from, LocalDateTime to, List<CarOccupancyDTO> cars) {
+}
@@ -0,0 +1,6 @@
+package com.boraandege.carrental.dto;
+
+import java.time.LocalDateTime;
+
+public record OccupancyRowDTO(Long carId, String barcodeNumber, LocalDateTime start, LocalDateTime end) {
+}
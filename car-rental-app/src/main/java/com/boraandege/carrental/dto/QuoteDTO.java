@@ -0,0 +1,89 @@
+package com.boraandege.carrental.dto;
+
+import com.boraandege.carrental.enums.CarType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Immutable because one instance is cached and served to every caller asking for the same quote.
+public class QuoteDTO {
+
+    private final String carBarcodeNumber;
+    private final CarType carType;
+    private final String pickUpLocationCode;
+    private final LocalDate pickUpDate;
+    private final int dayCount;
+    private final List<Long> additionalEquipmentIds;
+    private final List<Long> additionalServiceIds;
+    private final BigDecimal dailyPrice;
+    private final BigDecimal rentalAmount;
+    private final BigDecimal discountAmount;
+    private final BigDecimal extrasAmount;
+    private final BigDecimal totalAmount;
+
+    public QuoteDTO(String carBarcodeNumber, CarType carType, String pickUpLocationCode, LocalDate pickUpDate,
+                    int dayCount, List<Long> additionalEquipmentIds, List<Long> additionalServiceIds,
+                    BigDecimal dailyPrice, BigDecimal rentalAmount, BigDecimal discountAmount, BigDecimal extrasAmount,
+                    BigDecimal totalAmount) {
+        this.carBarcodeNumber = carBarcodeNumber;
+        this.carType = carType;
+        this.pickUpLocationCode = pickUpLocationCode;
+        this.pickUpDate = pickUpDate;
+        this.dayCount = dayCount;
+        this.additionalEquipmentIds = List.copyOf(additionalEquipmentIds);
+        this.additionalServiceIds = List.copyOf(additionalServiceIds);
+        this.dailyPrice = dailyPrice;
+        this.rentalAmount = rentalAmount;
+        this.discountAmount = discountAmount;
+        this.extrasAmount = extrasAmount;
+        this.totalAmount = totalAmount;
+    }
+
+    public String getCarBarcodeNumber() {
+        return carBarcodeNumber;
+    }
+
+    public CarType getCarType() {
+        return carType;
+    }
+
+    public String getPickUpLocationCode() {
+        return pickUpLocationCode;
+    }
+
+    public LocalDate getPickUpDate() {
+        return pickUpDate;
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public List<Long> getAdditionalEquipmentIds() {
+        return additionalEquipmentIds;
+    }
+
+    public List<Long> getAdditionalServiceIds() {
+        return additionalServiceIds;
+    }
+
+    public BigDecimal getDailyPrice() {
+        return dailyPrice;
+    }
+
+    public BigDecimal getRentalAmount() {
+        return rentalAmount;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public BigDecimal getExtrasAmount() {
+        return extrasAmount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
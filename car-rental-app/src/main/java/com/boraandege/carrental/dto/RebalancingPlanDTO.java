@@ -0,0 +1,8 @@
+package com.boraandege.carrental.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record RebalancingPlanDTO(LocalDateTime from, LocalDateTime to, List<TransferMoveDTO> moves,
+                                 long totalDistanceKm, List<ShortfallDTO> shortfalls) {
+}
@@ -1,6 +1,9 @@
 package com.boraandege.carrental.dto;
 
+import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.enums.TransmissionType;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -11,6 +14,7 @@ public class ReservationDTO {
     private LocalDateTime creationDate;
     private LocalDateTime pickUpDateTime;
     private LocalDateTime dropOffDateTime;
+    private LocalDateTime pickedUpDate;
     private LocalDateTime returnDate;
     private ReservationStatus status;
     private int dayCount;
@@ -27,7 +31,40 @@ public class ReservationDTO {
     private List<String> additionalEquipmentNames;
     private List<Long> additionalServiceIds;
     private List<String> additionalServiceNames;
-    private Double totalAmount;
+    private BigDecimal totalAmount;
+    // Booking request only: with no carBarcodeNumber, a car of this type and transmission is allocated.
+    private CarType carType;
+    private TransmissionType transmissionType;
+
+    public ReservationDTO() {
+    }
+
+    // Used by the projection queries in ReservationRepository; collections are filled in afterwards.
+    public ReservationDTO(Integer id, String reservationNumber, LocalDateTime creationDate,
+                          LocalDateTime pickUpDateTime, LocalDateTime dropOffDateTime, LocalDateTime returnDate,
+                          ReservationStatus status, Integer dayCount, Long memberId, String memberName,
+                          String carBarcodeNumber, String carBrand, String carModel,
+                          String pickUpLocationCode, String pickUpLocationName,
+                          String dropOffLocationCode, String dropOffLocationName, BigDecimal totalAmount) {
+        this.id = id != null ? id.longValue() : null;
+        this.reservationNumber = reservationNumber;
+        this.creationDate = creationDate;
+        this.pickUpDateTime = pickUpDateTime;
+        this.dropOffDateTime = dropOffDateTime;
+        this.returnDate = returnDate;
+        this.status = status;
+        this.dayCount = dayCount != null ? dayCount : 0;
+        this.memberId = memberId;
+        this.memberName = memberName;
+        this.carBarcodeNumber = carBarcodeNumber;
+        this.carBrand = carBrand;
+        this.carModel = carModel;
+        this.pickUpLocationCode = pickUpLocationCode;
+        this.pickUpLocationName = pickUpLocationName;
+        this.dropOffLocationCode = dropOffLocationCode;
+        this.dropOffLocationName = dropOffLocationName;
+        this.totalAmount = totalAmount;
+    }
 
     // Getters and Setters for all fields
     public Long getId() {
@@ -71,6 +108,14 @@ public class ReservationDTO {
         this.dropOffDateTime = dropOffDateTime;
     }
 
+    public LocalDateTime getPickedUpDate() {
+        return pickedUpDate;
+    }
+
+    public void setPickedUpDate(LocalDateTime pickedUpDate) {
+        this.pickedUpDate = pickedUpDate;
+    }
+
     public LocalDateTime getReturnDate() {
         return returnDate;
     }
@@ -199,11 +244,27 @@ public class ReservationDTO {
         this.additionalServiceNames = additionalServiceNames;
     }
 
-    public Double getTotalAmount() {
+    public BigDecimal getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(Double totalAmount) {
+    public void setTotalAmount(BigDecimal totalAmount) {
         this.totalAmount = totalAmount;
     }
+
+    public CarType getCarType() {
+        return carType;
+    }
+
+    public void setCarType(CarType carType) {
+        this.carType = carType;
+    }
+
+    public TransmissionType getTransmissionType() {
+        return transmissionType;
+    }
+
+    public void setTransmissionType(TransmissionType transmissionType) {
+        this.transmissionType = transmissionType;
+    }
 }
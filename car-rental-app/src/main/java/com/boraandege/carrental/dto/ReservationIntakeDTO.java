@@ -0,0 +1,6 @@
+package com.boraandege.carrental.dto;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+
+public record ReservationIntakeDTO(String reservationNumber, ReservationStatus status, String message) {
+}
@@ -0,0 +1,4 @@
+package com.boraandege.carrental.dto;
+
+public record ReservationItemDTO(Integer reservationId, Long itemId, String itemName) {
+}
@@ -0,0 +1,9 @@
+package com.boraandege.carrental.dto;
+
+import com.boraandege.carrental.enums.CarType;
+
+/**
+ * Cars of one type a location is still expected to lack after the planned transfers.
+ */
+public record ShortfallDTO(CarType carType, String locationCode, int cars) {
+}
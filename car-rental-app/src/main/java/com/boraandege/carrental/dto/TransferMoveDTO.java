@@ -0,0 +1,10 @@
+package com.boraandege.carrental.dto;
+
+import com.boraandege.carrental.enums.CarType;
+
+/**
+ * Cars of one type to drive from one location to another.
+ */
+public record TransferMoveDTO(CarType carType, String fromLocationCode, String toLocationCode, int cars,
+                              long distanceKm) {
+}
@@ -0,0 +1,6 @@
+package com.boraandege.carrental.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,11 @@
+package com.boraandege.carrental.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends BusinessException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
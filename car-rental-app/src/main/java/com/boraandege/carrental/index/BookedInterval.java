@@ -0,0 +1,6 @@
+package com.boraandege.carrental.index;
+
+import java.time.LocalDateTime;
+
+public record BookedInterval(int reservationId, Long carId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,183 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the booked [pickUp, dropOff) windows of every car.
+ * Each car keeps its bookings in a tree ordered by pick-up time; because the index never
+ * admits an overlapping booking, a car's intervals are disjoint and one floor lookup
+ * answers an overlap query in O(log n).
+ */
+@Component
+public class CarAvailabilityIndex {
+
+    public static final List<ReservationStatus> BOOKED_STATUSES =
+            List.of(ReservationStatus.ACTIVE, ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private static final Logger log = LoggerFactory.getLogger(CarAvailabilityIndex.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ConcurrentHashMap<Long, CarTimeline> timelines = new ConcurrentHashMap<>();
+
+    public CarAvailabilityIndex(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookedInterval> intervals = reservationRepository.findBookedIntervals(BOOKED_STATUSES);
+        Map<Long, CarTimeline> rebuilt = new HashMap<>();
+        for (BookedInterval interval : intervals) {
+            CarTimeline timeline = rebuilt.computeIfAbsent(interval.carId(), id -> new CarTimeline());
+            if (!timeline.tryAdd(interval.reservationId(), interval.start(), interval.end())) {
+                log.warn("Reservation {} overlaps another booking of car {}", interval.reservationId(), interval.carId());
+            }
+        }
+        timelines.clear();
+        timelines.putAll(rebuilt);
+        log.info("Availability index rebuilt with {} bookings over {} cars", intervals.size(), rebuilt.size());
+    }
+
+    public boolean isAvailable(Long carId, LocalDateTime start, LocalDateTime end) {
+        CarTimeline timeline = timelines.get(carId);
+        return timeline == null || timeline.isFree(start, end);
+    }
+
+    public List<Long> filterAvailable(Collection<Long> carIds, LocalDateTime start, LocalDateTime end) {
+        List<Long> available = new ArrayList<>(carIds.size());
+        for (Long carId : carIds) {
+            if (isAvailable(carId, start, end)) {
+                available.add(carId);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Returns the free gap of the car that would hold the window, or {@code null} if the window overlaps a
+     * booking. The booking of {@code ignoredReservationId}, if any, is treated as already removed.
+     */
+    public FreeGap gapAround(Long carId, LocalDateTime start, LocalDateTime end, int ignoredReservationId) {
+        CarTimeline timeline = timelines.get(carId);
+        return timeline == null ? FreeGap.UNBOUNDED : timeline.gapAround(start, end, ignoredReservationId);
+    }
+
+    public boolean hasOtherBookings(Long carId, int reservationId) {
+        CarTimeline timeline = timelines.get(carId);
+        return timeline != null && timeline.hasBookingsOtherThan(reservationId);
+    }
+
+    /**
+     * Atomically books the window if the car is free for it. When called inside a transaction
+     * the booking is undone if that transaction rolls back.
+     */
+    public boolean tryBook(Long carId, int reservationId, LocalDateTime start, LocalDateTime end) {
+        if (carId == null || start == null || end == null || !start.isBefore(end)) {
+            return false;
+        }
+        CarTimeline timeline = timelines.computeIfAbsent(carId, id -> new CarTimeline());
+        if (!timeline.tryAdd(reservationId, start, end)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(carId, reservationId);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(Long carId, int reservationId) {
+        CarTimeline timeline = timelines.get(carId);
+        if (timeline != null) {
+            timeline.remove(reservationId);
+        }
+    }
+
+    /**
+     * Releases the booking once the surrounding transaction commits, so a rolled back
+     * cancellation never frees a window that is still booked in the database.
+     */
+    public void releaseAfterCommit(Long carId, int reservationId) {
+        if (carId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(carId, reservationId);
+                }
+            });
+        } else {
+            release(carId, reservationId);
+        }
+    }
+
+    private static final class CarTimeline {
+
+        private final TreeMap<LocalDateTime, Booking> byStart = new TreeMap<>();
+        private final Map<Integer, LocalDateTime> startByReservation = new HashMap<>();
+
+        synchronized boolean isFree(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, Booking> previous = byStart.lowerEntry(end);
+            return previous == null || !previous.getValue().end().isAfter(start);
+        }
+
+        synchronized FreeGap gapAround(LocalDateTime start, LocalDateTime end, int ignoredReservationId) {
+            Map.Entry<LocalDateTime, Booking> previous = byStart.lowerEntry(end);
+            if (previous != null && previous.getValue().reservationId() == ignoredReservationId) {
+                previous = byStart.lowerEntry(previous.getKey());
+            }
+            if (previous != null && previous.getValue().end().isAfter(start)) {
+                return null;
+            }
+            Map.Entry<LocalDateTime, Booking> next = byStart.ceilingEntry(end);
+            if (next != null && next.getValue().reservationId() == ignoredReservationId) {
+                next = byStart.higherEntry(next.getKey());
+            }
+            return new FreeGap(previous != null ? previous.getValue().end() : null, next != null ? next.getKey() : null);
+        }
+
+        synchronized boolean tryAdd(int reservationId, LocalDateTime start, LocalDateTime end) {
+            if (startByReservation.containsKey(reservationId) || !isFree(start, end)) {
+                return false;
+            }
+            byStart.put(start, new Booking(reservationId, end));
+            startByReservation.put(reservationId, start);
+            return true;
+        }
+
+        synchronized void remove(int reservationId) {
+            LocalDateTime start = startByReservation.remove(reservationId);
+            if (start != null) {
+                byStart.remove(start);
+            }
+        }
+
+        synchronized boolean hasBookingsOtherThan(int reservationId) {
+            int size = startByReservation.size();
+            return startByReservation.containsKey(reservationId) ? size > 1 : size > 0;
+        }
+    }
+
+    private record Booking(int reservationId, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.repository.EquipmentRepository;
+import com.boraandege.carrental.repository.ServiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the equipment and additional service catalog. Readers never lock and never
+ * touch the database; every change builds a new snapshot and swaps it in once the change has committed.
+ * Ids missing from the snapshot (e.g. added on another node) are looked up in the database, and a snapshot
+ * loaded longer than {@code catalog.cache.max-age} ago is reloaded on the next read. Only one reader reloads at a
+ * time, the others keep reading the expired snapshot meanwhile; a reload that raced with a local change is
+ * dropped rather than installed over it, and the next read tries again.
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+
+    private final EquipmentRepository equipmentRepository;
+    private final ServiceRepository serviceRepository;
+    private final Duration maxAge;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private final Counter equipmentHits;
+    private final Counter equipmentMisses;
+    private final Counter serviceHits;
+    private final Counter serviceMisses;
+
+    public CatalogCache(EquipmentRepository equipmentRepository, ServiceRepository serviceRepository,
+                        MeterRegistry meterRegistry, @Value("${catalog.cache.max-age:PT10M}") Duration maxAge) {
+        this.equipmentRepository = equipmentRepository;
+        this.serviceRepository = serviceRepository;
+        this.maxAge = maxAge;
+        this.equipmentHits = lookups(meterRegistry, "equipment", "hit");
+        this.equipmentMisses = lookups(meterRegistry, "equipment", "miss");
+        this.serviceHits = lookups(meterRegistry, "service", "hit");
+        this.serviceMisses = lookups(meterRegistry, "service", "miss");
+        Gauge.builder("catalog.cache.snapshot.age", this, CatalogCache::ageSeconds)
+                .description("Seconds since the catalog snapshot was last loaded from the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        load(snapshot.get());
+    }
+
+    public Optional<CatalogItem> equipment(Long id) {
+        return equipments(List.of(id)).stream().findFirst();
+    }
+
+    public Optional<CatalogItem> service(Long id) {
+        return services(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Returns the known equipments in the order of {@code ids}; unknown ids are skipped.
+     */
+    public List<CatalogItem> equipments(Collection<Long> ids) {
+        return lookup(ids, current().equipments, equipmentHits, equipmentMisses, equipmentRepository::findCatalogItemsByIdIn);
+    }
+
+    public List<CatalogItem> services(Collection<Long> ids) {
+        return lookup(ids, current().services, serviceHits, serviceMisses, serviceRepository::findCatalogItemsByIdIn);
+    }
+
+    /**
+     * Like {@link #equipments(Collection)}, but fails naming every unknown id.
+     */
+    public List<CatalogItem> requireEquipments(Collection<Long> ids) {
+        return requireAll("Equipment", ids, equipments(ids));
+    }
+
+    public List<CatalogItem> requireServices(Collection<Long> ids) {
+        return requireAll("Service", ids, services(ids));
+    }
+
+    public void putEquipmentAfterCommit(CatalogItem item) {
+        afterCommit(current -> current.withEquipments(copyWith(current.equipments, item)));
+    }
+
+    public void removeEquipmentAfterCommit(Long id) {
+        afterCommit(current -> current.withEquipments(copyWithout(current.equipments, id)));
+    }
+
+    public void putServiceAfterCommit(CatalogItem item) {
+        afterCommit(current -> current.withServices(copyWith(current.services, item)));
+    }
+
+    public void removeServiceAfterCommit(Long id) {
+        afterCommit(current -> current.withServices(copyWithout(current.services, id)));
+    }
+
+    double ageSeconds() {
+        Snapshot current = snapshot.get();
+        return current == null ? 0 : (System.nanoTime() - current.loadedAt) / 1e9;
+    }
+
+    private static List<CatalogItem> requireAll(String kind, Collection<Long> ids, List<CatalogItem> found) {
+        Set<Long> foundIds = found.stream().map(CatalogItem::id).collect(Collectors.toSet());
+        List<Long> missing = ids.stream().filter(id -> !foundIds.contains(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(kind + " not found with id: "
+                    + missing.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        return found;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot.get() == null) {
+                    load(null);
+                }
+            }
+            return snapshot.get();
+        }
+        if (System.nanoTime() - current.loadedAt > maxAge.toNanos() && reloading.compareAndSet(false, true)) {
+            try {
+                load(current);
+            } finally {
+                reloading.set(false);
+            }
+            return snapshot.get();
+        }
+        return current;
+    }
+
+    // Installs the tables' contents only if the snapshot is still the one seen before reading them; a change
+    // swapped in meanwhile may have committed after the read, so the loaded tables could lack it.
+    private void load(Snapshot observed) {
+        Snapshot loaded = new Snapshot(byId(equipmentRepository.findCatalogItems()),
+                byId(serviceRepository.findCatalogItems()), System.nanoTime());
+        if (snapshot.compareAndSet(observed, loaded)) {
+            log.info("Catalog snapshot loaded with {} equipments and {} services",
+                    loaded.equipments.size(), loaded.services.size());
+        } else {
+            log.debug("Catalog changed while it was reloading, keeping the changed snapshot");
+        }
+    }
+
+    private void afterCommit(UnaryOperator<Snapshot> change) {
+        Runnable swap = () -> {
+            current();
+            snapshot.updateAndGet(change);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    swap.run();
+                }
+            });
+        } else {
+            swap.run();
+        }
+    }
+
+    private static List<CatalogItem> lookup(Collection<Long> ids, Map<Long, CatalogItem> items, Counter hits,
+                                            Counter misses, Function<Collection<Long>, List<CatalogItem>> loader) {
+        List<CatalogItem> found = new ArrayList<>(ids.size());
+        List<Long> missing = null;
+        for (Long id : ids) {
+            CatalogItem item = items.get(id);
+            if (item != null) {
+                found.add(item);
+            } else if (id != null) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(id);
+            }
+        }
+        hits.increment(found.size());
+        if (missing == null) {
+            return found;
+        }
+        misses.increment(missing.size());
+        Map<Long, CatalogItem> loaded = byId(loader.apply(missing));
+        List<CatalogItem> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CatalogItem item = items.containsKey(id) ? items.get(id) : loaded.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, CatalogItem> byId(List<CatalogItem> items) {
+        Map<Long, CatalogItem> map = new HashMap<>();
+        for (CatalogItem item : items) {
+            map.put(item.id(), item);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<Long, CatalogItem> copyWith(Map<Long, CatalogItem> items, CatalogItem item) {
+        Map<Long, CatalogItem> copy = new HashMap<>(items);
+        copy.put(item.id(), item);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<Long, CatalogItem> copyWithout(Map<Long, CatalogItem> items, Long id) {
+        Map<Long, CatalogItem> copy = new HashMap<>(items);
+        copy.remove(id);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String catalog, String result) {
+        return Counter.builder("catalog.cache.lookups")
+                .description("Catalog lookups served from the snapshot (hit) or the database (miss)")
+                .tag("catalog", catalog)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // A local change keeps loadedAt, so it does not postpone picking up changes made on other nodes.
+    private record Snapshot(Map<Long, CatalogItem> equipments, Map<Long, CatalogItem> services, long loadedAt) {
+
+        Snapshot withEquipments(Map<Long, CatalogItem> equipments) {
+            return new Snapshot(equipments, services, loadedAt);
+        }
+
+        Snapshot withServices(Map<Long, CatalogItem> services) {
+            return new Snapshot(equipments, services, loadedAt);
+        }
+    }
+}
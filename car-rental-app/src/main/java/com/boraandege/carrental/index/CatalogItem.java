@@ -0,0 +1,6 @@
+package com.boraandege.carrental.index;
+
+import java.math.BigDecimal;
+
+public record CatalogItem(Long id, String name, BigDecimal price) {
+}
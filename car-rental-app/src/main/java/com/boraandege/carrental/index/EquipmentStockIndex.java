@@ -0,0 +1,164 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.repository.EquipmentStockRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Free units of each equipment per location. The database keeps only how many units a location owns; a
+ * counter starts from that quantity minus the units held by booked reservations picking up there, and is
+ * then taken and given back with compare-and-set as reservations are made, cancelled and returned, so a
+ * counter never drops below zero however many bookings race for the last unit. Equipment without a stock
+ * row at a location is not tracked there and never runs out.
+ */
+@Component
+public class EquipmentStockIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentStockIndex.class);
+
+    private final EquipmentStockRepository stockRepository;
+    private final ReservationRepository reservationRepository;
+    private final ConcurrentHashMap<StockKey, AtomicInteger> available = new ConcurrentHashMap<>();
+
+    public EquipmentStockIndex(EquipmentStockRepository stockRepository, ReservationRepository reservationRepository) {
+        this.stockRepository = stockRepository;
+        this.reservationRepository = reservationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<StockKey, AtomicInteger> rebuilt = new HashMap<>();
+        for (StockLevel level : stockRepository.findStockLevels()) {
+            rebuilt.put(new StockKey(level.equipmentId(), level.locationId()), new AtomicInteger(level.units().intValue()));
+        }
+        for (StockLevel held : reservationRepository.countEquipmentHolds(CarAvailabilityIndex.BOOKED_STATUSES)) {
+            AtomicInteger counter = rebuilt.get(new StockKey(held.equipmentId(), held.locationId()));
+            if (counter != null && counter.addAndGet(-held.units().intValue()) < 0) {
+                log.warn("Equipment {} is overbooked at location {}", held.equipmentId(), held.locationId());
+            }
+        }
+        available.clear();
+        available.putAll(rebuilt);
+        log.info("Equipment stock index rebuilt with {} stocked items", rebuilt.size());
+    }
+
+    public OptionalInt available(Long equipmentId, Long locationId) {
+        AtomicInteger counter = available.get(new StockKey(equipmentId, locationId));
+        return counter == null ? OptionalInt.empty() : OptionalInt.of(counter.get());
+    }
+
+    /**
+     * Takes one unit of each equipment at the location, all or none. Returns the equipment that is out of
+     * stock, which is empty when the units were taken. When called inside a transaction the units are given
+     * back if that transaction rolls back.
+     */
+    public List<Long> tryReserve(Collection<Long> equipmentIds, Long locationId) {
+        if (locationId == null || equipmentIds.isEmpty()) {
+            return List.of();
+        }
+        List<StockKey> taken = new ArrayList<>(equipmentIds.size());
+        List<Long> outOfStock = new ArrayList<>();
+        for (Long equipmentId : equipmentIds) {
+            StockKey key = new StockKey(equipmentId, locationId);
+            AtomicInteger counter = available.get(key);
+            if (counter == null) {
+                continue;
+            }
+            if (tryTake(counter)) {
+                taken.add(key);
+            } else {
+                outOfStock.add(equipmentId);
+            }
+        }
+        if (!outOfStock.isEmpty()) {
+            release(taken);
+            return outOfStock;
+        }
+        if (!taken.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(taken);
+                    }
+                }
+            });
+        }
+        return List.of();
+    }
+
+    public void releaseAfterCommit(Collection<Long> equipmentIds, Long locationId) {
+        if (locationId == null || equipmentIds.isEmpty()) {
+            return;
+        }
+        releaseAfterCommit(equipmentIds.stream().map(id -> new StockKey(id, locationId)).toList());
+    }
+
+    /**
+     * Gives the units back once the surrounding transaction commits, so a rolled back cancellation never
+     * frees a unit that is still held in the database.
+     */
+    public void releaseAfterCommit(List<StockKey> units) {
+        afterCommit(() -> release(units));
+    }
+
+    /**
+     * Applies a changed quantity once it commits. A location that starts stocking the equipment begins from
+     * {@code heldUnits}, the units its booked reservations already hold.
+     */
+    public void restockAfterCommit(StockKey key, int quantityDelta, int quantity, long heldUnits) {
+        afterCommit(() -> {
+            AtomicInteger counter = available.putIfAbsent(key, new AtomicInteger((int) (quantity - heldUnits)));
+            if (counter != null) {
+                counter.addAndGet(quantityDelta);
+            }
+        });
+    }
+
+    public void removeAfterCommit(Long equipmentId) {
+        afterCommit(() -> available.keySet().removeIf(key -> key.equipmentId().equals(equipmentId)));
+    }
+
+    private void release(List<StockKey> units) {
+        for (StockKey key : units) {
+            AtomicInteger counter = available.get(key);
+            if (counter != null) {
+                counter.incrementAndGet();
+            }
+        }
+    }
+
+    private static boolean tryTake(AtomicInteger counter) {
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
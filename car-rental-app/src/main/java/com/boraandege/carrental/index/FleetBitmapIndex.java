@@ -0,0 +1,314 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.repository.CarRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of car ids keyed by status, type, transmission and passenger capacity, kept in one
+ * slice per current location (cars with no known location share a slice of their own). A search becomes
+ * an OR within each attribute and an AND across attributes inside each slice it covers, so it never
+ * touches the database and a search for one location never reads another location's bitmaps. Changes
+ * made inside a transaction are rolled back with it.
+ */
+@Component
+public class FleetBitmapIndex {
+
+    static final int MAX_CAPACITY_BUCKET = 9;
+
+    private static final Logger log = LoggerFactory.getLogger(FleetBitmapIndex.class);
+
+    private final CarRepository carRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, FleetEntry> entries = new HashMap<>();
+    private final Map<Long, Slice> slices = new HashMap<>();
+
+    public FleetBitmapIndex(CarRepository carRepository) {
+        this.carRepository = carRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<FleetEntry> fleet = carRepository.findFleetEntries();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            slices.clear();
+            for (FleetEntry entry : fleet) {
+                add(entry);
+            }
+            slices.values().forEach(Slice::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Fleet bitmap index rebuilt with {} cars over {} locations", fleet.size(), slices.size());
+    }
+
+    public RoaringBitmap query(Collection<CarStatus> statuses, Collection<CarType> carTypes,
+                               Collection<TransmissionType> transmissionTypes, Integer minPassengers) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = new RoaringBitmap();
+            for (Slice slice : slices.values()) {
+                result.or(slice.query(statuses, carTypes, transmissionTypes, minPassengers));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches only the cars currently at the location; {@code locationId} {@code null} searches the cars
+     * whose location is unknown.
+     */
+    public RoaringBitmap queryAt(Long locationId, Collection<CarStatus> statuses, Collection<CarType> carTypes,
+                                 Collection<TransmissionType> transmissionTypes, Integer minPassengers) {
+        lock.readLock().lock();
+        try {
+            Slice slice = slices.get(locationId);
+            return slice == null ? new RoaringBitmap()
+                    : slice.query(statuses, carTypes, transmissionTypes, minPassengers);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> queryIds(Collection<CarStatus> statuses, Collection<CarType> carTypes,
+                               Collection<TransmissionType> transmissionTypes, Integer minPassengers) {
+        return toIds(query(statuses, carTypes, transmissionTypes, minPassengers));
+    }
+
+    public List<Long> queryIdsAt(Long locationId, Collection<CarStatus> statuses, Collection<CarType> carTypes,
+                                 Collection<TransmissionType> transmissionTypes, Integer minPassengers) {
+        return toIds(queryAt(locationId, statuses, carTypes, transmissionTypes, minPassengers));
+    }
+
+    public void put(FleetEntry entry) {
+        int id = toIndexId(entry.carId());
+        lock.writeLock().lock();
+        try {
+            FleetEntry previous = remove(id);
+            add(entry);
+            recordUndo(id, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<FleetEntry> fleet) {
+        lock.writeLock().lock();
+        try {
+            for (FleetEntry entry : fleet) {
+                int id = toIndexId(entry.carId());
+                FleetEntry previous = remove(id);
+                add(entry);
+                recordUndo(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(Long carId) {
+        int id = toIndexId(carId);
+        lock.writeLock().lock();
+        try {
+            recordUndo(id, remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recordUndo(int id, FleetEntry previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Integer, Optional<FleetEntry>> undo =
+                (Map<Integer, Optional<FleetEntry>>) TransactionSynchronizationManager.getResource(this);
+        if (undo == null) {
+            Map<Integer, Optional<FleetEntry>> changes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(FleetBitmapIndex.this);
+                    if (status != STATUS_COMMITTED) {
+                        restore(changes);
+                    }
+                }
+            });
+            undo = changes;
+        }
+        undo.putIfAbsent(id, Optional.ofNullable(previous));
+    }
+
+    private void restore(Map<Integer, Optional<FleetEntry>> undo) {
+        lock.writeLock().lock();
+        try {
+            undo.forEach((id, original) -> {
+                remove(id);
+                original.ifPresent(this::add);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(FleetEntry entry) {
+        int id = toIndexId(entry.carId());
+        entries.put(id, entry);
+        slices.computeIfAbsent(entry.locationId(), locationId -> new Slice()).add(id, entry);
+    }
+
+    private FleetEntry remove(int id) {
+        FleetEntry entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        Slice slice = slices.get(entry.locationId());
+        slice.remove(id, entry);
+        if (slice.all.isEmpty()) {
+            slices.remove(entry.locationId());
+        }
+        return entry;
+    }
+
+    private static List<Long> toIds(RoaringBitmap bitmap) {
+        List<Long> ids = new ArrayList<>(bitmap.getCardinality());
+        bitmap.forEach((int id) -> ids.add((long) id));
+        return ids;
+    }
+
+    private static int capacityBucket(int passengerCapacity) {
+        return Math.max(0, Math.min(passengerCapacity, MAX_CAPACITY_BUCKET));
+    }
+
+    private static int toIndexId(Long carId) {
+        if (carId == null || carId < 0 || carId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Car id out of index range: " + carId);
+        }
+        return carId.intValue();
+    }
+
+    private static final class Slice {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final EnumMap<CarStatus, RoaringBitmap> byStatus = new EnumMap<>(CarStatus.class);
+        private final EnumMap<CarType, RoaringBitmap> byType = new EnumMap<>(CarType.class);
+        private final EnumMap<TransmissionType, RoaringBitmap> byTransmission = new EnumMap<>(TransmissionType.class);
+        private final RoaringBitmap[] byCapacity = new RoaringBitmap[MAX_CAPACITY_BUCKET + 1];
+
+        Slice() {
+            for (CarStatus status : CarStatus.values()) {
+                byStatus.put(status, new RoaringBitmap());
+            }
+            for (CarType type : CarType.values()) {
+                byType.put(type, new RoaringBitmap());
+            }
+            for (TransmissionType transmission : TransmissionType.values()) {
+                byTransmission.put(transmission, new RoaringBitmap());
+            }
+            for (int i = 0; i < byCapacity.length; i++) {
+                byCapacity[i] = new RoaringBitmap();
+            }
+        }
+
+        RoaringBitmap query(Collection<CarStatus> statuses, Collection<CarType> carTypes,
+                            Collection<TransmissionType> transmissionTypes, Integer minPassengers) {
+            List<RoaringBitmap> filters = new ArrayList<>(4);
+            if (statuses != null) {
+                filters.add(union(statuses, byStatus));
+            }
+            if (carTypes != null) {
+                filters.add(union(carTypes, byType));
+            }
+            if (transmissionTypes != null) {
+                filters.add(union(transmissionTypes, byTransmission));
+            }
+            if (minPassengers != null) {
+                int from = Math.max(0, Math.min(minPassengers, MAX_CAPACITY_BUCKET));
+                filters.add(RoaringBitmap.or(Arrays.copyOfRange(byCapacity, from, byCapacity.length)));
+            }
+            if (filters.isEmpty()) {
+                return all.clone();
+            }
+            filters.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result = filters.get(0).clone();
+            for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+                result.and(filters.get(i));
+            }
+            return result;
+        }
+
+        void add(int id, FleetEntry entry) {
+            all.add(id);
+            if (entry.status() != null) {
+                byStatus.get(entry.status()).add(id);
+            }
+            if (entry.carType() != null) {
+                byType.get(entry.carType()).add(id);
+            }
+            if (entry.transmissionType() != null) {
+                byTransmission.get(entry.transmissionType()).add(id);
+            }
+            byCapacity[capacityBucket(entry.passengerCapacity())].add(id);
+        }
+
+        void remove(int id, FleetEntry entry) {
+            all.remove(id);
+            if (entry.status() != null) {
+                byStatus.get(entry.status()).remove(id);
+            }
+            if (entry.carType() != null) {
+                byType.get(entry.carType()).remove(id);
+            }
+            if (entry.transmissionType() != null) {
+                byTransmission.get(entry.transmissionType()).remove(id);
+            }
+            byCapacity[capacityBucket(entry.passengerCapacity())].remove(id);
+        }
+
+        void runOptimize() {
+            all.runOptimize();
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byType.values().forEach(RoaringBitmap::runOptimize);
+            byTransmission.values().forEach(RoaringBitmap::runOptimize);
+            for (RoaringBitmap bitmap : byCapacity) {
+                bitmap.runOptimize();
+            }
+        }
+
+        private static <K> RoaringBitmap union(Collection<K> keys, Map<K, RoaringBitmap> bitmaps) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (K key : keys) {
+                result.or(bitmaps.get(key));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+
+public record FleetEntry(Long carId, CarStatus status, CarType carType,
+                         TransmissionType transmissionType, int passengerCapacity, Long locationId) {
+}
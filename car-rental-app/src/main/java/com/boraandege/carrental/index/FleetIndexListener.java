@@ -0,0 +1,32 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.model.Car;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FleetIndexListener {
+
+    // Resolved lazily: Hibernate creates this listener while the repositories the index needs are still being built.
+    private final ObjectProvider<FleetBitmapIndex> fleetIndex;
+
+    public FleetIndexListener(ObjectProvider<FleetBitmapIndex> fleetIndex) {
+        this.fleetIndex = fleetIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Car car) {
+        fleetIndex.getObject().put(new FleetEntry(car.getId(), car.getStatus(), car.getCarType(),
+                car.getTransmissionType(), car.getPassengerCapacity(),
+                car.getCurrentLocation() != null ? car.getCurrentLocation().getId() : null));
+    }
+
+    @PostRemove
+    public void onRemove(Car car) {
+        fleetIndex.getObject().evict(car.getId());
+    }
+}
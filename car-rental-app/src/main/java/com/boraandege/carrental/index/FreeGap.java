@@ -0,0 +1,11 @@
+package com.boraandege.carrental.index;
+
+import java.time.LocalDateTime;
+
+/**
+ * Free time of one car between two bookings; a {@code null} end means the car is free without limit on that side.
+ */
+public record FreeGap(LocalDateTime previousEnd, LocalDateTime nextStart) {
+
+    public static final FreeGap UNBOUNDED = new FreeGap(null, null);
+}
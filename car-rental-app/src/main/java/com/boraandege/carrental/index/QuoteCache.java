@@ -0,0 +1,97 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Computed price quotes keyed by {@link QuoteKey}. Entries are dropped once a car price or a catalog
+ * price they depend on changes and has committed; {@code quote.cache.ttl} bounds how long a change made
+ * on another node can go unnoticed.
+ */
+@Component
+public class QuoteCache {
+
+    private final Cache<QuoteKey, QuoteDTO> quotes;
+
+    // Bumped before every eviction, so a quote computed while prices were changing is never left behind.
+    private final AtomicLong generation = new AtomicLong();
+
+    public QuoteCache(MeterRegistry meterRegistry,
+                      @Value("${quote.cache.ttl:PT5M}") Duration ttl,
+                      @Value("${quote.cache.max-size:100000}") long maxSize) {
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "quotes");
+    }
+
+    public QuoteDTO get(QuoteKey key, Function<QuoteKey, QuoteDTO> loader) {
+        QuoteDTO cached = quotes.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        QuoteDTO quote = loader.apply(key);
+        quotes.put(key, quote);
+        if (generation.get() != seen) {
+            quotes.invalidate(key);
+        }
+        return quote;
+    }
+
+    // A type quote starts from the cheapest car of the type at a location, so any car of the type can change
+    // it, including by moving.
+    public void evictCarAfterCommit(String barcodeNumber, CarType carType) {
+        afterCommit(key -> (barcodeNumber != null && barcodeNumber.equals(key.carBarcodeNumber()))
+                || (carType != null && carType == key.carType()));
+    }
+
+    public void evictEquipmentAfterCommit(Long id) {
+        afterCommit(key -> key.equipmentIds().contains(id));
+    }
+
+    public void evictServiceAfterCommit(Long id) {
+        afterCommit(key -> key.serviceIds().contains(id));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        quotes.invalidateAll();
+    }
+
+    public long size() {
+        return quotes.estimatedSize();
+    }
+
+    private void afterCommit(Predicate<QuoteKey> stale) {
+        Runnable evict = () -> {
+            generation.incrementAndGet();
+            quotes.asMap().keySet().removeIf(stale);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
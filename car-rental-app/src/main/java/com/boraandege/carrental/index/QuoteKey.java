@@ -0,0 +1,30 @@
+package com.boraandege.carrental.index;
+
+import com.boraandege.carrental.enums.CarType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Normalized quote request: exactly one of {@code carBarcodeNumber} and {@code carType} is set, the pick-up
+ * location only for a type quote, whose price depends on it, and the item ids are distinct and sorted so that
+ * requests differing only in item order share one entry.
+ */
+public record QuoteKey(String carBarcodeNumber, CarType carType, String pickUpLocationCode, LocalDate pickUpDate,
+                       int dayCount, List<Long> equipmentIds, List<Long> serviceIds) {
+
+    public static QuoteKey of(String carBarcodeNumber, CarType carType, String pickUpLocationCode,
+                              LocalDate pickUpDate, int dayCount, List<Long> equipmentIds, List<Long> serviceIds) {
+        boolean byType = carBarcodeNumber == null;
+        return new QuoteKey(carBarcodeNumber, byType ? carType : null, byType ? pickUpLocationCode : null,
+                pickUpDate, dayCount, normalize(equipmentIds), normalize(serviceIds));
+    }
+
+    private static List<Long> normalize(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+}
@@ -0,0 +1,4 @@
+package com.boraandege.carrental.index;
+
+public record StockKey(Long equipmentId, Long locationId) {
+}
@@ -0,0 +1,4 @@
+package com.boraandege.carrental.index;
+
+public record StockLevel(Long equipmentId, Long locationId, Long units) {
+}
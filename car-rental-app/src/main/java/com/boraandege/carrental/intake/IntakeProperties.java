@@ -0,0 +1,22 @@
+package com.boraandege.carrental.intake;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the asynchronous booking pipeline run by {@link ReservationIntake}.
+ *
+ * @param workers           confirming threads; every car is always handled by the same one
+ * @param queueCapacity     requests waiting across all workers before new ones are turned away
+ * @param batchSize         requests a worker takes from its queue at once
+ * @param rejectedRetention how long a rejected request can still be polled
+ */
+@ConfigurationProperties("reservation.intake")
+public record IntakeProperties(
+        @DefaultValue("4") int workers,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("PT1H") Duration rejectedRetention) {
+}
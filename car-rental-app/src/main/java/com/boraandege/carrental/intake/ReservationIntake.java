@@ -0,0 +1,207 @@
+package com.boraandege.carrental.intake;
+
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.ReservationIntakeDTO;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.support.ReservationNumberGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts bookings without touching the database and confirms them in the background. A request is
+ * checked, given its reservation number and put on the queue of the worker that owns its car, so all
+ * requests for one car are confirmed in arrival order by a single thread. Workers take up to
+ * {@code batchSize} requests at a time and confirm each car's share in one transaction.
+ * <p>
+ * Until a request is confirmed its state lives only here: pending requests are reported as PENDING,
+ * rejected ones as CANCELLED with the reason, and confirmed ones are read back from the database.
+ * Requests still queued when the application stops are confirmed before shutdown completes.
+ */
+@Component
+@EnableConfigurationProperties(IntakeProperties.class)
+public class ReservationIntake {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationIntake.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ReservationService reservationService;
+    private final ReservationNumberGenerator reservationNumberGenerator;
+    private final IntakeProperties properties;
+    private final List<BlockingQueue<ReservationDTO>> queues = new ArrayList<>();
+    private final ExecutorService workers;
+    private final Map<String, ReservationIntakeDTO> unconfirmed = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Rejection> rejections = new ConcurrentLinkedQueue<>();
+    private final Counter throttled;
+    private volatile boolean running = true;
+
+    public ReservationIntake(ReservationService reservationService, ReservationNumberGenerator reservationNumberGenerator,
+                             IntakeProperties properties, MeterRegistry meterRegistry) {
+        this.reservationService = reservationService;
+        this.reservationNumberGenerator = reservationNumberGenerator;
+        this.properties = properties;
+        int perWorker = Math.max(1, properties.queueCapacity() / properties.workers());
+        for (int i = 0; i < properties.workers(); i++) {
+            queues.add(new ArrayBlockingQueue<>(perWorker));
+        }
+        Gauge.builder("reservation.intake.queued", queues, all -> all.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Booking requests waiting to be confirmed")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("reservation.intake.throttled")
+                .description("Booking requests turned away because the queue was full")
+                .register(meterRegistry);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.workers(), runnable -> {
+            Thread thread = new Thread(runnable, "reservation-intake-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (BlockingQueue<ReservationDTO> queue : queues) {
+            workers.execute(() -> work(queue));
+        }
+    }
+
+    /**
+     * Queues a booking request. Returns empty when the owning worker's queue is full and the client
+     * should back off and retry.
+     */
+    public Optional<ReservationIntakeDTO> submit(ReservationDTO reservationDTO) {
+        validate(reservationDTO);
+        purgeExpiredRejections();
+        if (!running) {
+            return Optional.empty();
+        }
+
+        String reservationNumber = reservationNumberGenerator.next();
+        ReservationIntakeDTO pending = new ReservationIntakeDTO(reservationNumber, ReservationStatus.PENDING, null);
+        reservationDTO.setReservationNumber(reservationNumber);
+        reservationDTO.setStatus(ReservationStatus.PENDING);
+        unconfirmed.put(reservationNumber, pending);
+        if (!queueOf(reservationDTO.getCarBarcodeNumber()).offer(reservationDTO)) {
+            unconfirmed.remove(reservationNumber);
+            throttled.increment();
+            return Optional.empty();
+        }
+        return Optional.of(pending);
+    }
+
+    public ReservationIntakeDTO getStatus(String reservationNumber) {
+        ReservationIntakeDTO state = unconfirmed.get(reservationNumber);
+        if (state != null) {
+            return state;
+        }
+        ReservationDTO reservation = reservationService.getReservationByNumber(reservationNumber, false);
+        return new ReservationIntakeDTO(reservationNumber, reservation.getStatus(), null);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Reservation intake stopped with {} requests still queued",
+                    queues.stream().mapToInt(BlockingQueue::size).sum());
+            workers.shutdownNow();
+        }
+    }
+
+    private void validate(ReservationDTO reservationDTO) {
+        if (reservationDTO.getCarBarcodeNumber() == null || reservationDTO.getMemberId() == null
+                || reservationDTO.getPickUpLocationCode() == null || reservationDTO.getDropOffLocationCode() == null) {
+            throw new BusinessException("Car barcode number, member and pick-up and drop-off locations are required");
+        }
+        if (reservationDTO.getDayCount() <= 0) {
+            throw new BusinessException("Day count must be positive");
+        }
+    }
+
+    private BlockingQueue<ReservationDTO> queueOf(String carBarcodeNumber) {
+        return queues.get(Math.floorMod(carBarcodeNumber.hashCode(), queues.size()));
+    }
+
+    private void work(BlockingQueue<ReservationDTO> queue) {
+        List<ReservationDTO> batch = new ArrayList<>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                ReservationDTO first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                Map<String, List<ReservationDTO>> byCar = new LinkedHashMap<>();
+                for (ReservationDTO reservation : batch) {
+                    byCar.computeIfAbsent(reservation.getCarBarcodeNumber(), car -> new ArrayList<>()).add(reservation);
+                }
+                byCar.values().forEach(this::confirm);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void confirm(List<ReservationDTO> reservations) {
+        Map<String, String> rejected;
+        try {
+            rejected = reservationService.confirmReservations(reservations);
+        } catch (RuntimeException e) {
+            log.error("Could not confirm {} reservations for car {}", reservations.size(),
+                    reservations.get(0).getCarBarcodeNumber(), e);
+            rejected = new LinkedHashMap<>();
+            for (ReservationDTO reservation : reservations) {
+                rejected.put(reservation.getReservationNumber(), "Reservation could not be confirmed, please try again");
+            }
+        }
+        long expiresAt = System.nanoTime() + properties.rejectedRetention().toNanos();
+        for (ReservationDTO reservation : reservations) {
+            String reservationNumber = reservation.getReservationNumber();
+            String reason = rejected.get(reservationNumber);
+            if (reason == null) {
+                unconfirmed.remove(reservationNumber);
+            } else {
+                unconfirmed.put(reservationNumber,
+                        new ReservationIntakeDTO(reservationNumber, ReservationStatus.CANCELLED, reason));
+                rejections.add(new Rejection(reservationNumber, expiresAt));
+            }
+        }
+    }
+
+    private void purgeExpiredRejections() {
+        long now = System.nanoTime();
+        Rejection oldest;
+        while ((oldest = rejections.peek()) != null && oldest.expiresAt() - now <= 0) {
+            if (rejections.remove(oldest)) {
+                unconfirmed.remove(oldest.reservationNumber());
+            }
+        }
+    }
+
+    private record Rejection(String reservationNumber, long expiresAt) {
+    }
+}
@@ -3,6 +3,7 @@ package com.boraandege.carrental.mapper;
 import com.boraandege.carrental.dto.CarDTO;
 import com.boraandege.carrental.model.Car;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -10,7 +11,9 @@ public interface CarMapper {
 
     CarMapper INSTANCE = Mappers.getMapper(CarMapper.class);
 
+    @Mapping(source = "currentLocation.code", target = "currentLocationCode")
     CarDTO toDTO(Car car);
 
+    @Mapping(target = "currentLocation", ignore = true)
     Car toEntity(CarDTO carDTO);
 }
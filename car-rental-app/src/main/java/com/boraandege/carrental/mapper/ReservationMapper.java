@@ -31,17 +31,40 @@ public interface ReservationMapper {
             @Mapping(target = "additionalEquipmentNames", expression = "java(getEquipmentNames(reservation.getAdditionalEquipments()))"),
             @Mapping(target = "additionalServiceIds", expression = "java(getServiceIds(reservation.getAdditionalServices()))"),
             @Mapping(target = "additionalServiceNames", expression = "java(getServiceNames(reservation.getAdditionalServices()))"),
-            @Mapping(target = "totalAmount", expression = "java(calculateTotalAmount(reservation))")
+            @Mapping(target = "carType", ignore = true),
+            @Mapping(target = "transmissionType", ignore = true)
     })
     ReservationDTO toDTO(Reservation reservation);
 
+    // Same as toDTO without touching the equipment and service collections; callers fill those in.
+    @Mappings({
+            @Mapping(source = "member.id", target = "memberId"),
+            @Mapping(source = "member.name", target = "memberName"),
+            @Mapping(source = "car.barcodeNumber", target = "carBarcodeNumber"),
+            @Mapping(source = "car.brand", target = "carBrand"),
+            @Mapping(source = "car.model", target = "carModel"),
+            @Mapping(source = "pickUpLocation.code", target = "pickUpLocationCode"),
+            @Mapping(source = "pickUpLocation.name", target = "pickUpLocationName"),
+            @Mapping(source = "dropOffLocation.code", target = "dropOffLocationCode"),
+            @Mapping(source = "dropOffLocation.name", target = "dropOffLocationName"),
+            @Mapping(target = "additionalEquipmentIds", ignore = true),
+            @Mapping(target = "additionalEquipmentNames", ignore = true),
+            @Mapping(target = "additionalServiceIds", ignore = true),
+            @Mapping(target = "additionalServiceNames", ignore = true),
+            @Mapping(target = "carType", ignore = true),
+            @Mapping(target = "transmissionType", ignore = true)
+    })
+    ReservationDTO toSummaryDTO(Reservation reservation);
+
     @Mappings({
             @Mapping(source = "memberId", target = "member.id"),
             @Mapping(source = "carBarcodeNumber", target = "car.barcodeNumber"),
             @Mapping(source = "pickUpLocationCode", target = "pickUpLocation.code"),
             @Mapping(source = "dropOffLocationCode", target = "dropOffLocation.code"),
             @Mapping(target = "additionalEquipments", ignore = true),
-            @Mapping(target = "additionalServices", ignore = true)
+            @Mapping(target = "additionalServices", ignore = true),
+            @Mapping(target = "totalAmount", ignore = true),
+            @Mapping(target = "autoAllocated", ignore = true)
     })
     Reservation toEntity(ReservationDTO reservationDTO);
 
@@ -80,22 +103,4 @@ public interface ReservationMapper {
                 .map(AdditionalService::getName)
                 .collect(Collectors.toList());
     }
-
-    default Double calculateTotalAmount(Reservation reservation) {
-        if (reservation.getCar() != null && reservation.getCar().getDailyPrice() != null) {
-            double carCost = reservation.getDayCount() * reservation.getCar().getDailyPrice().doubleValue();
-            double equipmentCost = reservation.getAdditionalEquipments() != null
-                    ? reservation.getAdditionalEquipments().stream()
-                    .mapToDouble(e -> e.getPrice().doubleValue())
-                    .sum()
-                    : 0.0;
-            double serviceCost = reservation.getAdditionalServices() != null
-                    ? reservation.getAdditionalServices().stream()
-                    .mapToDouble(s -> s.getPrice().doubleValue())
-                    .sum()
-                    : 0.0;
-            return carCost + equipmentCost + serviceCost;
-        }
-        return 0.0;
-    }
 }
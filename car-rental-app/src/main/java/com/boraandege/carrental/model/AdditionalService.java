@@ -1,11 +1,14 @@
 package com.boraandege.carrental.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
 @Table(name = "services")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class AdditionalService {
 
     @Id
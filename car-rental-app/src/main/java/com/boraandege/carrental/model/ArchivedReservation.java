@@ -0,0 +1,139 @@
+package com.boraandege.carrental.model;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A finished reservation moved out of {@code reservations} by the archiver. Rows keep the id and number they
+ * had while hot and are only ever written by the archiver's bulk statements, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "reservations_archive")
+public class ArchivedReservation {
+
+    @Id
+    private int id;
+
+    @Column(length = 8, unique = true)
+    private String reservationNumber;
+
+    private LocalDateTime creationDate;
+    private LocalDateTime pickUpDateTime;
+    private LocalDateTime dropOffDateTime;
+    private LocalDateTime returnDate;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    private int dayCount;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    private LocalDateTime archivedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id")
+    private Member member;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "car_id")
+    private Car car;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pick_up_location_id")
+    private Location pickUpLocation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "drop_off_location_id")
+    private Location dropOffLocation;
+
+    @ManyToMany
+    @JoinTable(
+            name = "reservation_equipment_archive",
+            joinColumns = @JoinColumn(name = "reservation_id"),
+            inverseJoinColumns = @JoinColumn(name = "equipment_id")
+    )
+    private List<Equipment> additionalEquipments;
+
+    @ManyToMany
+    @JoinTable(
+            name = "reservation_service_archive",
+            joinColumns = @JoinColumn(name = "reservation_id"),
+            inverseJoinColumns = @JoinColumn(name = "service_id")
+    )
+    private List<AdditionalService> additionalServices;
+
+    public ArchivedReservation() {
+
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getReservationNumber() {
+        return reservationNumber;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public LocalDateTime getPickUpDateTime() {
+        return pickUpDateTime;
+    }
+
+    public LocalDateTime getDropOffDateTime() {
+        return dropOffDateTime;
+    }
+
+    public LocalDateTime getReturnDate() {
+        return returnDate;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public Member getMember() {
+        return member;
+    }
+
+    public Car getCar() {
+        return car;
+    }
+
+    public Location getPickUpLocation() {
+        return pickUpLocation;
+    }
+
+    public Location getDropOffLocation() {
+        return dropOffLocation;
+    }
+
+    public List<Equipment> getAdditionalEquipments() {
+        return additionalEquipments;
+    }
+
+    public List<AdditionalService> getAdditionalServices() {
+        return additionalServices;
+    }
+}
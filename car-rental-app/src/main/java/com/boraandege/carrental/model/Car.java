@@ -3,16 +3,24 @@ package com.boraandege.carrental.model;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.FleetIndexListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
 @Table(name = "cars")
+@EntityListeners(FleetIndexListener.class)
 public class Car {
 
+    // Pooled sequence: each value handed out covers the ids (value - ID_ALLOCATION_SIZE, value],
+    // so both Hibernate and the JDBC bulk importer can assign ids without a round trip per row.
+    public static final String ID_SEQUENCE = "car_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String barcodeNumber;
@@ -33,14 +41,28 @@ public class Car {
     @Enumerated(EnumType.STRING)
     private CarType carType;
 
+    // Where the car was last dropped off. Locations are few and held in the second-level cache, so the
+    // eager load is served from memory once warm.
+    @ManyToOne
+    @JoinColumn(name = "current_location_id")
+    private Location currentLocation;
+
     @OneToMany(mappedBy = "car", fetch = FetchType.LAZY)
     private List<Reservation> reservations;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
 
     public Long getId() {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getBarcodeNumber() {
         return barcodeNumber;
     }
@@ -81,6 +103,10 @@ public class Car {
         return mileage;
     }
 
+    public Location getCurrentLocation() {
+        return currentLocation;
+    }
+
     public List<Reservation> getReservations() {
         return reservations;
     }
@@ -129,6 +155,10 @@ public class Car {
         this.mileage = mileage;
     }
 
+    public void setCurrentLocation(Location currentLocation) {
+        this.currentLocation = currentLocation;
+    }
+
     public void setReservations(List<Reservation> reservations) {
         this.reservations = reservations != null ? reservations : List.of();
     }
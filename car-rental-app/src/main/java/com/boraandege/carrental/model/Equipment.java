@@ -1,10 +1,13 @@
 package com.boraandege.carrental.model;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
 @Table(name = "equipments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Equipment {
 
     @Id
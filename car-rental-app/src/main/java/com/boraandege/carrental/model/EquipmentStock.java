@@ -0,0 +1,56 @@
+package com.boraandege.carrental.model;
+
+import jakarta.persistence.*;
+
+/**
+ * How many units of an equipment a location owns. Units are handed out at the pick-up location and counted
+ * back there when the rental ends; what is currently free is kept in memory by the stock index.
+ */
+@Entity
+@Table(name = "equipment_stock", uniqueConstraints = @UniqueConstraint(columnNames = {"equipment_id", "location_id"}))
+public class EquipmentStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipment_id")
+    private Equipment equipment;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    private Location location;
+
+    private int quantity;
+
+    public EquipmentStock() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Equipment getEquipment() {
+        return equipment;
+    }
+
+    public void setEquipment(Equipment equipment) {
+        this.equipment = equipment;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public void setLocation(Location location) {
+        this.location = location;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
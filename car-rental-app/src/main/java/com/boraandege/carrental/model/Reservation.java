@@ -2,6 +2,8 @@ package com.boraandege.carrental.model;
 
 import com.boraandege.carrental.enums.ReservationStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -19,6 +21,8 @@ public class Reservation {
     private LocalDateTime creationDate;
     private LocalDateTime pickUpDateTime;
     private LocalDateTime dropOffDateTime;
+    // Set when the car is collected; without it a reservation past its pick-up time is a no-show.
+    private LocalDateTime pickedUpDate;
     private LocalDateTime returnDate;
 
     @Enumerated(EnumType.STRING)
@@ -26,6 +30,13 @@ public class Reservation {
 
     private int dayCount;
 
+    // Priced once at booking so that reads never recompute it.
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Set when the car was chosen by the allocator rather than the customer, so re-optimization may move it.
+    private Boolean autoAllocated;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
     private Member member;
@@ -43,6 +54,7 @@ public class Reservation {
     private Location dropOffLocation;
 
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "reservation_equipment",
             joinColumns = @JoinColumn(name = "reservation_id"),
@@ -51,6 +63,7 @@ public class Reservation {
     private List<Equipment> additionalEquipments;
 
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "reservation_service",
             joinColumns = @JoinColumn(name = "reservation_id"),
@@ -127,6 +140,10 @@ public class Reservation {
         this.reservationNumber = reservationNumber;
     }
 
+    public void setPickedUpDate(LocalDateTime pickedUpDate) {
+        this.pickedUpDate = pickedUpDate;
+    }
+
     public void setReturnDate(LocalDateTime returnDate) {
         this.returnDate = returnDate;
     }
@@ -151,6 +168,10 @@ public class Reservation {
         return pickUpDateTime;
     }
 
+    public LocalDateTime getPickedUpDate() {
+        return pickedUpDate;
+    }
+
     public LocalDateTime getReturnDate() {
         return returnDate;
     }
@@ -175,5 +196,20 @@ public class Reservation {
         return reservationNumber;
     }
 
-}
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
 
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public boolean isAutoAllocated() {
+        return Boolean.TRUE.equals(autoAllocated);
+    }
+
+    public void setAutoAllocated(boolean autoAllocated) {
+        this.autoAllocated = autoAllocated;
+    }
+
+}
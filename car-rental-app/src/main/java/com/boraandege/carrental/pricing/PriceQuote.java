@@ -0,0 +1,18 @@
+package com.boraandege.carrental.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Price of one rental in cents: the car cost after weekend and seasonal rates, the long-rental discount
+ * taken off it, and the flat price of the chosen equipments and services.
+ */
+public record PriceQuote(long rentalCents, long discountCents, long extrasCents) {
+
+    public long totalCents() {
+        return rentalCents - discountCents + extrasCents;
+    }
+
+    public BigDecimal total() {
+        return BigDecimal.valueOf(totalCents(), 2);
+    }
+}
@@ -0,0 +1,126 @@
+package com.boraandege.carrental.pricing;
+
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.CatalogItem;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices rentals in whole cents. The rate card is compiled once into two lookup tables: a running sum of
+ * per-day rate factors (seasonal adjustment plus weekend surcharge, in basis points) over a window around
+ * today, and the long-rental discount for every rental length up to the longest tier. A quote is then two
+ * table reads, a couple of multiplications and one rounding step, whatever the rental length.
+ */
+@Component
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingEngine {
+
+    private static final long BASIS_POINTS = 10_000;
+
+    // Keep a year of history in the tables so repricing recent bookings never falls back to the slow path.
+    private static final int HISTORY_DAYS = 366;
+
+    private final int[] monthFactors = new int[12];
+    private final int weekendSurcharge;
+    private final long firstEpochDay;
+    private final long[] factorSums;
+    private final int[] discountsByDays;
+
+    public PricingEngine(PricingProperties properties) {
+        for (Month month : Month.values()) {
+            int factor = (int) BASIS_POINTS + 100 * properties.seasonalAdjustmentPercent().getOrDefault(month, 0);
+            if (factor <= 0) {
+                throw new IllegalStateException("Seasonal adjustment for " + month + " must be above -100%");
+            }
+            monthFactors[month.ordinal()] = factor;
+        }
+        this.weekendSurcharge = 100 * properties.weekendSurchargePercent();
+
+        this.firstEpochDay = LocalDate.now().toEpochDay() - HISTORY_DAYS;
+        this.factorSums = new long[HISTORY_DAYS + properties.horizonDays() + 1];
+        for (int i = 1; i < factorSums.length; i++) {
+            factorSums[i] = factorSums[i - 1] + dayFactor(firstEpochDay + i - 1);
+        }
+
+        this.discountsByDays = compileDiscounts(properties.longRentalDiscountPercent());
+    }
+
+    public PriceQuote quote(BigDecimal dailyPrice, LocalDate pickUpDate, int dayCount,
+                            List<CatalogItem> equipments, List<CatalogItem> services) {
+        if (dayCount <= 0) {
+            throw new BusinessException("Day count must be positive");
+        }
+        long rental = divideRounded(Math.multiplyExact(toCents(dailyPrice), dayFactors(pickUpDate.toEpochDay(), dayCount)),
+                BASIS_POINTS);
+        long discount = divideRounded(rental * discountsByDays[Math.min(dayCount, discountsByDays.length - 1)], BASIS_POINTS);
+
+        long extras = 0;
+        for (CatalogItem equipment : equipments) {
+            extras += toCents(equipment.price());
+        }
+        for (CatalogItem service : services) {
+            extras += toCents(service.price());
+        }
+        return new PriceQuote(rental, discount, extras);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // Sum of the rate factors of the rented days; days outside the compiled window are added up one by one.
+    private long dayFactors(long startEpochDay, int dayCount) {
+        long from = startEpochDay - firstEpochDay;
+        long to = from + dayCount;
+        if (from >= 0 && to < factorSums.length) {
+            return factorSums[(int) to] - factorSums[(int) from];
+        }
+        long sum = 0;
+        for (long day = startEpochDay; day < startEpochDay + dayCount; day++) {
+            sum += dayFactor(day);
+        }
+        return sum;
+    }
+
+    private long dayFactor(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+        return monthFactors[date.getMonthValue() - 1] + (weekend ? weekendSurcharge : 0);
+    }
+
+    // discounts[d] holds the discount of the longest tier not exceeding d days; the last entry covers longer rentals.
+    private static int[] compileDiscounts(Map<Integer, Integer> tiers) {
+        int longestTier = tiers.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        int[] discounts = new int[Math.max(longestTier, 0) + 1];
+        for (Map.Entry<Integer, Integer> tier : tiers.entrySet()) {
+            if (tier.getValue() < 0 || tier.getValue() >= 100) {
+                throw new IllegalStateException("Long rental discount for " + tier.getKey() + " days must be between 0 and 99%");
+            }
+        }
+        for (int days = 0; days < discounts.length; days++) {
+            int best = 0;
+            int bestDays = -1;
+            for (Map.Entry<Integer, Integer> tier : tiers.entrySet()) {
+                if (tier.getKey() <= days && tier.getKey() > bestDays) {
+                    bestDays = tier.getKey();
+                    best = tier.getValue();
+                }
+            }
+            discounts[days] = best * 100;
+        }
+        return discounts;
+    }
+
+    private static long divideRounded(long value, long divisor) {
+        return (value + divisor / 2) / divisor;
+    }
+}
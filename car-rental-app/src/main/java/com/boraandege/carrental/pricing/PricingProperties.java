@@ -0,0 +1,29 @@
+package com.boraandege.carrental.pricing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Month;
+import java.util.Map;
+
+/**
+ * Rate card applied on top of a car's daily price. All adjustments are whole percentages; an empty card
+ * charges the plain daily price.
+ *
+ * @param weekendSurchargePercent   added to every rented Saturday and Sunday
+ * @param seasonalAdjustmentPercent per-month adjustment of the daily rate, e.g. {@code JULY=15}, {@code JANUARY=-10}
+ * @param longRentalDiscountPercent discount on the car cost by minimum rental length in days, e.g. {@code 7=5}
+ * @param horizonDays               days after today covered by the precomputed tables
+ */
+@ConfigurationProperties("pricing")
+public record PricingProperties(
+        @DefaultValue("0") int weekendSurchargePercent,
+        Map<Month, Integer> seasonalAdjustmentPercent,
+        Map<Integer, Integer> longRentalDiscountPercent,
+        @DefaultValue("1460") int horizonDays) {
+
+    public PricingProperties {
+        seasonalAdjustmentPercent = seasonalAdjustmentPercent != null ? Map.copyOf(seasonalAdjustmentPercent) : Map.of();
+        longRentalDiscountPercent = longRentalDiscountPercent != null ? Map.copyOf(longRentalDiscountPercent) : Map.of();
+    }
+}
@@ -0,0 +1,6 @@
+package com.boraandege.carrental.rebalancing;
+
+import java.time.LocalDateTime;
+
+public record BookedTrip(Long carId, Long dropOffLocationId, LocalDateTime dropOffDateTime) {
+}
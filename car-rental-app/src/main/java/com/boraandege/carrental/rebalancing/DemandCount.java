@@ -0,0 +1,6 @@
+package com.boraandege.carrental.rebalancing;
+
+import com.boraandege.carrental.enums.CarType;
+
+public record DemandCount(Long locationId, CarType carType, Long pickUps) {
+}
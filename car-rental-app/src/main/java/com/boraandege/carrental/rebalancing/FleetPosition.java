@@ -0,0 +1,6 @@
+package com.boraandege.carrental.rebalancing;
+
+import com.boraandege.carrental.enums.CarType;
+
+public record FleetPosition(Long carId, CarType carType, Long locationId) {
+}
@@ -0,0 +1,20 @@
+package com.boraandege.carrental.rebalancing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the rebalancing planner.
+ *
+ * @param horizon           period the plan positions the fleet for, unless a request asks for another one
+ * @param history           period of past pick-ups the demand forecast is drawn from
+ * @param unknownDistanceKm distance assumed between two locations when either has no coordinates
+ */
+@ConfigurationProperties("fleet.rebalancing")
+public record RebalancingProperties(
+        @DefaultValue("P7D") Duration horizon,
+        @DefaultValue("P28D") Duration history,
+        @DefaultValue("500") long unknownDistanceKm) {
+}
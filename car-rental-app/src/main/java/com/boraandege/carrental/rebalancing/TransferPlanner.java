@@ -0,0 +1,216 @@
+package com.boraandege.carrental.rebalancing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the cheapest set of car transfers that evens out a fleet over a fixed set of locations. Locations are
+ * referred to by their index in the distance matrix. A balance is the number of cars a location has to spare
+ * (positive) or is short of (negative); transfers move as many cars as the surpluses can cover into the
+ * deficits while keeping the total distance driven as low as possible.
+ * <p>
+ * This is a min-cost flow on a complete bipartite graph, so the graph is held as dense surplus-by-deficit
+ * matrices of costs and flows rather than as edge lists. It is solved by successive shortest paths: each round
+ * runs Dijkstra on reduced costs, stopping as soon as the sink is settled, and sends as much as the path allows.
+ */
+public final class TransferPlanner {
+
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final long[][] distanceKm;
+
+    public TransferPlanner(long[][] distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public List<Transfer> plan(int[] balance) {
+        if (balance.length != distanceKm.length) {
+            throw new IllegalArgumentException("Expected a balance for each of the " + distanceKm.length + " locations");
+        }
+        int[] surplus = Arrays.stream(indexesWhere(balance, 1)).toArray();
+        int[] deficit = Arrays.stream(indexesWhere(balance, -1)).toArray();
+        if (surplus.length == 0 || deficit.length == 0) {
+            return List.of();
+        }
+        Network network = new Network(surplus.length, deficit.length);
+        for (int i = 0; i < surplus.length; i++) {
+            network.supply[i] = balance[surplus[i]];
+            for (int j = 0; j < deficit.length; j++) {
+                network.cost[i][j] = distanceKm[surplus[i]][deficit[j]];
+            }
+        }
+        for (int j = 0; j < deficit.length; j++) {
+            network.demand[j] = -balance[deficit[j]];
+        }
+        network.solve();
+
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < surplus.length; i++) {
+            for (int j = 0; j < deficit.length; j++) {
+                int cars = network.flow[i][j];
+                if (cars > 0) {
+                    transfers.add(new Transfer(surplus[i], deficit[j], cars, distanceKm[surplus[i]][deficit[j]]));
+                }
+            }
+        }
+        return transfers;
+    }
+
+    private static int[] indexesWhere(int[] balance, int sign) {
+        int[] indexes = new int[balance.length];
+        int count = 0;
+        for (int location = 0; location < balance.length; location++) {
+            if (Integer.signum(balance[location]) == sign) {
+                indexes[count++] = location;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    public record Transfer(int from, int to, int cars, long distanceKm) {
+    }
+
+    /**
+     * Surplus nodes are numbered from 0, deficit nodes follow them and the sink comes last. The source is
+     * implicit: a surplus node with supply left starts a path at its reduced cost from the source, whose
+     * potential stays zero.
+     */
+    private static final class Network {
+
+        final int surplusCount;
+        final int deficitCount;
+        final int sink;
+        final long[][] cost;
+        final int[][] flow;
+        final int[] supply;
+        final int[] demand;
+
+        private final long[] potential;
+        private final long[] distance;
+        private final int[] previous;
+        private final boolean[] settled;
+
+        Network(int surplusCount, int deficitCount) {
+            this.surplusCount = surplusCount;
+            this.deficitCount = deficitCount;
+            this.sink = surplusCount + deficitCount;
+            this.cost = new long[surplusCount][deficitCount];
+            this.flow = new int[surplusCount][deficitCount];
+            this.supply = new int[surplusCount];
+            this.demand = new int[deficitCount];
+            this.potential = new long[sink + 1];
+            this.distance = new long[sink + 1];
+            this.previous = new int[sink + 1];
+            this.settled = new boolean[sink + 1];
+        }
+
+        void solve() {
+            long supplyLeft = Arrays.stream(supply).asLongStream().sum();
+            long demandLeft = Arrays.stream(demand).asLongStream().sum();
+            // Every surplus node reaches every deficit node, so a path exists while both sides have cars left.
+            while (supplyLeft > 0 && demandLeft > 0) {
+                shortestPath();
+                int sent = augment();
+                supplyLeft -= sent;
+                demandLeft -= sent;
+            }
+        }
+
+        private void shortestPath() {
+            Arrays.fill(distance, UNREACHED);
+            Arrays.fill(settled, false);
+            for (int i = 0; i < surplusCount; i++) {
+                if (supply[i] > 0) {
+                    distance[i] = -potential[i];
+                    previous[i] = -1;
+                }
+            }
+            while (true) {
+                int node = closestUnsettled();
+                settled[node] = true;
+                if (node == sink) {
+                    break;
+                }
+                if (node < surplusCount) {
+                    long[] costs = cost[node];
+                    long base = distance[node] + potential[node];
+                    for (int j = 0; j < deficitCount; j++) {
+                        relax(surplusCount + j, base + costs[j] - potential[surplusCount + j], node);
+                    }
+                } else {
+                    int j = node - surplusCount;
+                    long base = distance[node] + potential[node];
+                    if (demand[j] > 0) {
+                        relax(sink, base - potential[sink], node);
+                    }
+                    for (int i = 0; i < surplusCount; i++) {
+                        if (flow[i][j] > 0) {
+                            relax(i, base - cost[i][j] - potential[i], node);
+                        }
+                    }
+                }
+            }
+            // Nodes not settled before the sink are treated as being as far as the sink, which keeps every
+            // reduced cost non-negative for the next round.
+            long sinkDistance = distance[sink];
+            for (int node = 0; node <= sink; node++) {
+                potential[node] += Math.min(distance[node], sinkDistance);
+            }
+        }
+
+        private void relax(int node, long candidate, int from) {
+            if (!settled[node] && candidate < distance[node]) {
+                distance[node] = candidate;
+                previous[node] = from;
+            }
+        }
+
+        private int closestUnsettled() {
+            int closest = -1;
+            for (int node = 0; node <= sink; node++) {
+                if (!settled[node] && distance[node] != UNREACHED
+                        && (closest == -1 || distance[node] < distance[closest])) {
+                    closest = node;
+                }
+            }
+            return closest;
+        }
+
+        // Walks the path back from the sink: deficit-to-sink and surplus-to-deficit steps have room for any
+        // number of cars, while a deficit-to-surplus step undoes part of an earlier transfer.
+        private int augment() {
+            int last = previous[sink];
+            int sent = demand[last - surplusCount];
+            int node = last;
+            while (true) {
+                int from = previous[node];
+                if (node >= surplusCount) {
+                    node = from;
+                } else if (from == -1) {
+                    sent = Math.min(sent, supply[node]);
+                    break;
+                } else {
+                    sent = Math.min(sent, flow[node][from - surplusCount]);
+                    node = from;
+                }
+            }
+
+            demand[last - surplusCount] -= sent;
+            node = last;
+            while (true) {
+                int from = previous[node];
+                if (node >= surplusCount) {
+                    flow[from][node - surplusCount] += sent;
+                    node = from;
+                } else if (from == -1) {
+                    supply[node] -= sent;
+                    return sent;
+                } else {
+                    flow[node][from - surplusCount] -= sent;
+                    node = from;
+                }
+            }
+        }
+    }
+}
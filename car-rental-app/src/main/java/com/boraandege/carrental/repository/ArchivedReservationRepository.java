@@ -0,0 +1,93 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.ReservationItemDTO;
+import com.boraandege.carrental.model.ArchivedReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads of {@code reservations_archive}, mirroring the view queries of {@link ReservationRepository}, and the
+ * statements that copy reservations into it.
+ */
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Integer> {
+
+    String SELECT_VIEW = "select new com.boraandege.carrental.dto.ReservationDTO(" +
+            "r.id, r.reservationNumber, r.creationDate, r.pickUpDateTime, r.dropOffDateTime, r.returnDate, " +
+            "r.status, r.dayCount, m.id, m.name, c.barcodeNumber, c.brand, c.model, " +
+            "pl.code, pl.name, dl.code, dl.name, r.totalAmount) " +
+            "from ArchivedReservation r left join r.member m left join r.car c " +
+            "left join r.pickUpLocation pl left join r.dropOffLocation dl ";
+
+    boolean existsByCarId(Long carId);
+
+    boolean existsByMemberId(Long memberId);
+
+    @Query("select count(r) > 0 from ArchivedReservation r " +
+            "where r.pickUpLocation.id = :locationId or r.dropOffLocation.id = :locationId")
+    boolean existsByLocationId(@Param("locationId") Long locationId);
+
+    boolean existsByAdditionalEquipmentsId(Long equipmentId);
+
+    boolean existsByAdditionalServicesId(Long serviceId);
+
+    @Query(SELECT_VIEW + "where r.id > :after order by r.id")
+    List<ReservationDTO> findViewsAfter(@Param("after") Integer after, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where r.reservationNumber = :reservationNumber")
+    Optional<ReservationDTO> findViewByReservationNumber(@Param("reservationNumber") String reservationNumber);
+
+    @Query(SELECT_VIEW + "where r.pickUpDateTime between :startDate and :endDate order by r.id")
+    List<ReservationDTO> findViewsByPickUpDateTimeBetween(@Param("startDate") LocalDateTime startDate,
+                                                          @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ReservationRepository.EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW + "order by r.id")
+    Stream<ReservationDTO> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ReservationRepository.EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW + "where r.pickUpDateTime between :startDate and :endDate order by r.id")
+    Stream<ReservationDTO> streamViewsByPickUpDateTimeBetween(@Param("startDate") LocalDateTime startDate,
+                                                              @Param("endDate") LocalDateTime endDate);
+
+    @Query("select new com.boraandege.carrental.dto.ReservationItemDTO(r.id, e.id, e.name) " +
+            "from ArchivedReservation r join r.additionalEquipments e where r.id in :reservationIds order by r.id, e.id")
+    List<ReservationItemDTO> findEquipmentItems(@Param("reservationIds") Collection<Integer> reservationIds);
+
+    @Query("select new com.boraandege.carrental.dto.ReservationItemDTO(r.id, s.id, s.name) " +
+            "from ArchivedReservation r join r.additionalServices s where r.id in :reservationIds order by r.id, s.id")
+    List<ReservationItemDTO> findServiceItems(@Param("reservationIds") Collection<Integer> reservationIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into reservations_archive (id, reservation_number, creation_date, " +
+            "pick_up_date_time, drop_off_date_time, return_date, status, day_count, total_amount, archived_at, " +
+            "member_id, car_id, pick_up_location_id, drop_off_location_id) " +
+            "select id, reservation_number, creation_date, pick_up_date_time, drop_off_date_time, return_date, " +
+            "status, day_count, total_amount, current_timestamp, member_id, car_id, pick_up_location_id, " +
+            "drop_off_location_id from reservations where id in :ids")
+    int copyReservations(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into reservation_equipment_archive (reservation_id, equipment_id) " +
+            "select reservation_id, equipment_id from reservation_equipment where reservation_id in :ids")
+    int copyEquipmentLinks(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into reservation_service_archive (reservation_id, service_id) " +
+            "select reservation_id, service_id from reservation_service where reservation_id in :ids")
+    int copyServiceLinks(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,11 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+
+/**
+ * Entities a booking refers to, loaded together by {@link BookingContextLoader}.
+ */
+public record BookingContext(Car car, Member member, Location pickUpLocation, Location dropOffLocation) {
+}
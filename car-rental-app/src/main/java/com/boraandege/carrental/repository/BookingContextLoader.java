@@ -0,0 +1,106 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads everything a booking refers to in two queries instead of one per reference: the car with the
+ * member joined in, then both locations with a single {@code IN} query (answered from the query cache
+ * when warm). Every missing reference is reported in one {@link ResourceNotFoundException}.
+ */
+@Repository
+public class BookingContextLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Must run inside the booking transaction: the car's version is bumped at commit, so a concurrent
+     * booking of the same car fails with an optimistic lock error.
+     */
+    public BookingContext load(String carBarcodeNumber, Long memberId, String pickUpLocationCode, String dropOffLocationCode) {
+        return load("c.barcodeNumber", carBarcodeNumber, "Car not found with barcode number: " + carBarcodeNumber,
+                memberId, pickUpLocationCode, dropOffLocationCode);
+    }
+
+    /**
+     * Same as {@link #load(String, Long, String, String)} for a car already chosen by id.
+     */
+    public BookingContext load(Long carId, Long memberId, String pickUpLocationCode, String dropOffLocationCode) {
+        return load("c.id", carId, "Car not found with id: " + carId, memberId, pickUpLocationCode, dropOffLocationCode);
+    }
+
+    private BookingContext load(String carKeyPath, Object carKey, String carMissing, Long memberId,
+                                String pickUpLocationCode, String dropOffLocationCode) {
+        List<String> missing = new ArrayList<>();
+
+        List<Object[]> carRows = entityManager.createQuery(
+                        "select c, m from Car c left join Member m on m.id = :memberId where " + carKeyPath + " = :carKey",
+                        Object[].class)
+                .setParameter("carKey", carKey)
+                .setParameter("memberId", memberId)
+                .getResultList();
+        Car car = null;
+        Member member = null;
+        if (carRows.isEmpty()) {
+            missing.add(carMissing);
+        } else {
+            car = (Car) carRows.get(0)[0];
+            member = (Member) carRows.get(0)[1];
+            entityManager.lock(car, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            if (member == null) {
+                missing.add("Member not found with id: " + memberId);
+            }
+        }
+
+        Map<String, Location> locations = findLocations(pickUpLocationCode, dropOffLocationCode);
+        Location pickUpLocation = locations.get(pickUpLocationCode);
+        if (pickUpLocation == null) {
+            missing.add("Pick-up location not found with code: " + pickUpLocationCode);
+        }
+        Location dropOffLocation = locations.get(dropOffLocationCode);
+        if (dropOffLocation == null) {
+            missing.add("Drop-off location not found with code: " + dropOffLocationCode);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.join("; ", missing));
+        }
+        return new BookingContext(car, member, pickUpLocation, dropOffLocation);
+    }
+
+    private Map<String, Location> findLocations(String... codes) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String code : codes) {
+            if (code != null) {
+                distinct.add(code);
+            }
+        }
+        Map<String, Location> byCode = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return byCode;
+        }
+        List<Location> locations = entityManager.createQuery("select l from Location l where l.code in :codes", Location.class)
+                .setParameter("codes", distinct)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+        for (Location location : locations) {
+            byCode.put(location.getCode(), location);
+        }
+        return byCode;
+    }
+}
@@ -0,0 +1,68 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.model.Car;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes cars with plain JDBC batches. Ids come from the same pooled sequence Hibernate uses,
+ * so rows inserted here never collide with cars saved through JPA.
+ */
+@Repository
+public class CarBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO cars (id, barcode_number, license_plate_number, " +
+            "passenger_capacity, brand, model, mileage, transmission_type, daily_price, status, car_type, current_location_id, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CarBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Assigns ids to the given cars and inserts them in one JDBC batch.
+     */
+    public void insertAll(List<Car> cars) {
+        long nextId = 1;
+        long blockEnd = 0;
+        List<Object[]> rows = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            if (nextId > blockEnd) {
+                blockEnd = nextBlockEnd();
+                nextId = blockEnd - Car.ID_ALLOCATION_SIZE + 1;
+            }
+            car.setId(nextId++);
+            rows.add(new Object[]{
+                    car.getId(),
+                    car.getBarcodeNumber(),
+                    car.getLicensePlateNumber(),
+                    car.getPassengerCapacity(),
+                    car.getBrand(),
+                    car.getModel(),
+                    car.getMileage(),
+                    car.getTransmissionType() != null ? car.getTransmissionType().name() : null,
+                    car.getDailyPrice(),
+                    car.getStatus() != null ? car.getStatus().name() : null,
+                    car.getCarType() != null ? car.getCarType().name() : null,
+                    car.getCurrentLocation() != null ? car.getCurrentLocation().getId() : null
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private long nextBlockEnd() {
+        while (true) {
+            Long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Car.ID_SEQUENCE, Long.class);
+            // Values below the allocation size belong to the sequence's initial block, which Hibernate's
+            // pooled optimizer treats specially; skip them rather than risk handing out the same id twice.
+            if (value >= Car.ID_ALLOCATION_SIZE) {
+                return value;
+            }
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.boraandege.carrental.repository;
 
+import com.boraandege.carrental.index.FleetEntry;
 import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.rebalancing.FleetPosition;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
 import com.boraandege.carrental.enums.TransmissionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +27,42 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     List<Car> findByStatusIn(List<CarStatus> statuses);
 
     Optional<Car> findByBarcodeNumber(String barcodeNumber);
+
+    @Query("select new com.boraandege.carrental.index.FleetEntry(c.id, c.status, c.carType, c.transmissionType, c.passengerCapacity, l.id) " +
+            "from Car c left join c.currentLocation l")
+    List<FleetEntry> findFleetEntries();
+
+    @Query("select new com.boraandege.carrental.index.FleetEntry(c.id, c.status, c.carType, c.transmissionType, c.passengerCapacity, l.id) " +
+            "from Car c left join c.currentLocation l where c.id in :ids")
+    List<FleetEntry> findFleetEntriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.boraandege.carrental.rebalancing.FleetPosition(c.id, c.carType, l.id) " +
+            "from Car c left join c.currentLocation l where c.carType is not null and c.status not in :excluded")
+    List<FleetPosition> findFleetPositions(@Param("excluded") Collection<CarStatus> excluded);
+
+    /**
+     * Sets loaned cars without any remaining booked reservation back to AVAILABLE, bumping their version
+     * so concurrent bookings of them retry.
+     */
+    @Modifying
+    @Query("update Car c set c.status = com.boraandege.carrental.enums.CarStatus.AVAILABLE, c.version = c.version + 1 " +
+            "where c.id in :ids and c.status = com.boraandege.carrental.enums.CarStatus.LOANED " +
+            "and not exists (select r.id from Reservation r where r.car = c and r.status in :bookedStatuses)")
+    int releaseLoanedCars(@Param("ids") Collection<Long> ids,
+                          @Param("bookedStatuses") Collection<ReservationStatus> bookedStatuses);
+
+    @Query("select c.barcodeNumber from Car c where c.barcodeNumber is not null")
+    List<String> findAllBarcodeNumbers();
+
+    @Query("select c.dailyPrice from Car c where c.barcodeNumber = :barcodeNumber")
+    Optional<BigDecimal> findDailyPriceByBarcodeNumber(@Param("barcodeNumber") String barcodeNumber);
+
+    // The daily rate of a booking by car type: the cheapest car of the type parked at the pick-up location.
+    @Query("select min(c.dailyPrice) from Car c where c.carType = :carType and c.currentLocation.id = :locationId " +
+            "and c.status in :statuses")
+    Optional<BigDecimal> findLowestDailyPriceByCarTypeAtLocation(@Param("carType") CarType carType,
+                                                                 @Param("locationId") Long locationId,
+                                                                 @Param("statuses") Collection<CarStatus> statuses);
+
+    List<Car> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 }
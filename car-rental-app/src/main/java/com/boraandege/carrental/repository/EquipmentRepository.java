@@ -1,15 +1,40 @@
 package com.boraandege.carrental.repository;
 
+import com.boraandege.carrental.index.CatalogItem;
 import com.boraandege.carrental.model.Equipment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Equipment> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Equipment> findByName(String name);
 
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.boraandege.carrental.index.CatalogItem(e.id, e.name, e.price) from Equipment e")
+    List<CatalogItem> findCatalogItems();
+
+    @Query("select new com.boraandege.carrental.index.CatalogItem(e.id, e.name, e.price) from Equipment e " +
+            "where e.id in :ids")
+    List<CatalogItem> findCatalogItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Equipment> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 }
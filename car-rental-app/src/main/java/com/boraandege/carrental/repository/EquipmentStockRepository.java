@@ -0,0 +1,29 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.index.StockLevel;
+import com.boraandege.carrental.model.EquipmentStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EquipmentStockRepository extends JpaRepository<EquipmentStock, Long> {
+
+    Optional<EquipmentStock> findByEquipmentIdAndLocationId(Long equipmentId, Long locationId);
+
+    @Query("select s from EquipmentStock s join fetch s.location where s.equipment.id = :equipmentId order by s.location.code")
+    List<EquipmentStock> findByEquipmentIdWithLocation(@Param("equipmentId") Long equipmentId);
+
+    @Query("select new com.boraandege.carrental.index.StockLevel(s.equipment.id, s.location.id, cast(s.quantity as Long)) " +
+            "from EquipmentStock s")
+    List<StockLevel> findStockLevels();
+
+    @Modifying
+    @Query("delete from EquipmentStock s where s.equipment.id = :equipmentId")
+    int deleteByEquipmentId(@Param("equipmentId") Long equipmentId);
+}
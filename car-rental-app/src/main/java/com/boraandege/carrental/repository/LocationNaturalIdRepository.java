@@ -0,0 +1,15 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.model.Location;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface LocationNaturalIdRepository {
+
+    /**
+     * Loads a location by its natural id, served from the natural-id and entity caches when warm.
+     */
+    @Transactional(readOnly = true)
+    Optional<Location> findByCode(String code);
+}
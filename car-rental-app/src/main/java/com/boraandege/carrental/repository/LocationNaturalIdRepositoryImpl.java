@@ -0,0 +1,24 @@
+package com.boraandege.carrental.repository;
+
+import com.boraandege.carrental.model.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class LocationNaturalIdRepositoryImpl implements LocationNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Location> findByCode(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Location.class)
+                .loadOptional(code);
+    }
+}
@@ -1,19 +1,26 @@
 package com.boraandege.carrental.repository;
 
 import com.boraandege.carrental.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {
-
-    Optional<Location> findByCode(String code);
+public interface LocationRepository extends JpaRepository<Location, Long>, LocationNaturalIdRepository {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Location> findAll();
 
     List<Location> findByNameContaining(String keyword);
 
 
     boolean existsByCode(String code);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Location> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 }
@@ -1,9 +1,11 @@
 package com.boraandege.carrental.repository;
 
 import com.boraandege.carrental.model.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +19,6 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
 
     boolean existsByDrivingLicenseNumber(String drivingLicenseNumber);
+
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 }
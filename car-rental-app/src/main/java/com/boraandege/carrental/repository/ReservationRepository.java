@@ -1,17 +1,46 @@
 package com.boraandege.carrental.repository;
 
+import com.boraandege.carrental.allocation.AllocatedBooking;
+import com.boraandege.carrental.dto.OccupancyRowDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.ReservationItemDTO;
+import com.boraandege.carrental.index.BookedInterval;
+import com.boraandege.carrental.index.StockKey;
+import com.boraandege.carrental.index.StockLevel;
 import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.rebalancing.BookedTrip;
+import com.boraandege.carrental.rebalancing.DemandCount;
+import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    int EXPORT_FETCH_SIZE = 500;
+
+    String SELECT_VIEW = "select new com.boraandege.carrental.dto.ReservationDTO(" +
+            "r.id, r.reservationNumber, r.creationDate, r.pickUpDateTime, r.dropOffDateTime, r.returnDate, " +
+            "r.status, r.dayCount, m.id, m.name, c.barcodeNumber, c.brand, c.model, " +
+            "pl.code, pl.name, dl.code, dl.name, r.totalAmount) " +
+            "from Reservation r left join r.member m left join r.car c " +
+            "left join r.pickUpLocation pl left join r.dropOffLocation dl ";
 
     List<Reservation> findByMemberId(Long memberId);
 
@@ -31,5 +60,151 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     Optional<Reservation> findByReservationNumber(String reservationNumber);
 
+    /**
+     * Loads the reservation locked for a status change, so the sweeper and a hand-made change cannot both
+     * close it and release its car and equipment twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Reservation r where r.reservationNumber = :reservationNumber")
+    Optional<Reservation> findForUpdateByReservationNumber(@Param("reservationNumber") String reservationNumber);
+
+    @Query("select new com.boraandege.carrental.index.BookedInterval(r.id, r.car.id, r.pickUpDateTime, r.dropOffDateTime) " +
+            "from Reservation r where r.status in :statuses and r.car is not null " +
+            "and r.pickUpDateTime is not null and r.dropOffDateTime is not null")
+    List<BookedInterval> findBookedIntervals(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("select new com.boraandege.carrental.index.BookedInterval(r.id, c.id, r.pickUpDateTime, r.dropOffDateTime) " +
+            "from Reservation r left join r.car c where r.status in :statuses and r.dropOffDateTime < :cutoff order by r.id")
+    List<BookedInterval> findDroppingOffBefore(@Param("statuses") Collection<ReservationStatus> statuses,
+                                               @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("select new com.boraandege.carrental.index.BookedInterval(r.id, c.id, r.pickUpDateTime, r.dropOffDateTime) " +
+            "from Reservation r left join r.car c where r.status in :statuses and r.pickedUpDate is null " +
+            "and r.pickUpDateTime < :cutoff order by r.id")
+    List<BookedInterval> findUncollectedPickingUpBefore(@Param("statuses") Collection<ReservationStatus> statuses,
+                                                        @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Locks the given reservations that are still in one of {@code statuses}, so a concurrent cancel or return
+     * waits for the caller's transaction and then sees the new status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Reservation r where r.id in :ids and r.status in :statuses")
+    List<Integer> lockIdsInStatus(@Param("ids") Collection<Integer> ids,
+                                      @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Same as {@link #lockIdsInStatus}, leaving out reservations whose car has been picked up in the meantime.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Reservation r where r.id in :ids and r.status in :statuses and r.pickedUpDate is null")
+    List<Integer> lockUncollectedIdsInStatus(@Param("ids") Collection<Integer> ids,
+                                             @Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Moves the given reservations to {@code status}, skipping any that are no longer in one of {@code from}.
+     */
+    @Modifying
+    @Query("update Reservation r set r.status = :status where r.id in :ids and r.status in :from")
+    int updateStatus(@Param("ids") Collection<Integer> ids, @Param("from") Collection<ReservationStatus> from,
+                     @Param("status") ReservationStatus status);
+
+    @Query("select r.id from Reservation r where r.status in :statuses and r.dropOffDateTime < :cutoff order by r.id")
+    List<Integer> findIdsDroppingOffBefore(@Param("statuses") Collection<ReservationStatus> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from reservation_equipment where reservation_id in :ids")
+    int deleteEquipmentLinks(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from reservation_service where reservation_id in :ids")
+    int deleteServiceLinks(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("delete from Reservation r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.boraandege.carrental.allocation.AllocatedBooking(r.id, c.id, c.carType, c.transmissionType, " +
+            "pl.id, r.pickUpDateTime, r.dropOffDateTime) from Reservation r join r.car c left join r.pickUpLocation pl " +
+            "where r.autoAllocated = true and r.status in :statuses and r.pickUpDateTime > :after " +
+            "order by r.pickUpDateTime, r.id")
+    List<AllocatedBooking> findAutoAllocatedStartingAfter(@Param("statuses") Collection<ReservationStatus> statuses,
+                                                          @Param("after") LocalDateTime after);
+
+    @Query("select new com.boraandege.carrental.index.StockLevel(e.id, pl.id, count(r)) " +
+            "from Reservation r join r.additionalEquipments e join r.pickUpLocation pl " +
+            "where r.status in :statuses group by e.id, pl.id")
+    List<StockLevel> countEquipmentHolds(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    @Query("select count(r) from Reservation r join r.additionalEquipments e " +
+            "where r.status in :statuses and e.id = :equipmentId and r.pickUpLocation.id = :locationId")
+    long countEquipmentHolds(@Param("statuses") Collection<ReservationStatus> statuses,
+                             @Param("equipmentId") Long equipmentId, @Param("locationId") Long locationId);
+
+    @Query("select new com.boraandege.carrental.index.StockKey(e.id, pl.id) " +
+            "from Reservation r join r.additionalEquipments e join r.pickUpLocation pl where r.id in :ids")
+    List<StockKey> findEquipmentUnits(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.boraandege.carrental.rebalancing.BookedTrip(c.id, dl.id, r.dropOffDateTime) " +
+            "from Reservation r join r.car c join r.dropOffLocation dl " +
+            "where r.status in :statuses and r.pickUpDateTime < :until order by c.id, r.pickUpDateTime")
+    List<BookedTrip> findBookedTripsStartingBefore(@Param("statuses") Collection<ReservationStatus> statuses,
+                                                   @Param("until") LocalDateTime until);
+
+    @Query("select new com.boraandege.carrental.rebalancing.DemandCount(pl.id, c.carType, count(r)) " +
+            "from Reservation r join r.car c join r.pickUpLocation pl " +
+            "where r.status in :statuses and r.pickUpDateTime >= :from and r.pickUpDateTime < :to " +
+            "group by pl.id, c.carType")
+    List<DemandCount> countPickUps(@Param("statuses") Collection<ReservationStatus> statuses,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // A returned car is free again from its return date, which may be before the booked drop-off.
+    @Query("select new com.boraandege.carrental.dto.OccupancyRowDTO(c.id, c.barcodeNumber, r.pickUpDateTime, " +
+            "coalesce(r.returnDate, r.dropOffDateTime)) " +
+            "from Reservation r join r.car c left join r.pickUpLocation pl " +
+            "where r.status in :statuses and r.pickUpDateTime < :to and coalesce(r.returnDate, r.dropOffDateTime) > :from " +
+            "and (:carType is null or c.carType = :carType) and (:locationCode is null or pl.code = :locationCode) " +
+            "order by c.id, r.pickUpDateTime")
+    List<OccupancyRowDTO> findOccupancy(@Param("statuses") Collection<ReservationStatus> statuses,
+                                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                        @Param("carType") CarType carType,
+                                        @Param("locationCode") String locationCode);
+
+    @Query("select count(r) > 0 from Reservation r where r.car.id = :carId and r.status in :statuses " +
+            "and r.pickUpDateTime < :end and r.dropOffDateTime > :start")
+    boolean existsOverlapping(@Param("carId") Long carId,
+                              @Param("statuses") Collection<ReservationStatus> statuses,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
+
+    @Query(SELECT_VIEW + "order by r.id")
+    List<ReservationDTO> findAllViews();
+
+    @Query(SELECT_VIEW + "where r.id > :after order by r.id")
+    List<ReservationDTO> findViewsAfter(@Param("after") Integer after, Pageable pageable);
+
+    @Query(SELECT_VIEW + "where r.reservationNumber = :reservationNumber")
+    Optional<ReservationDTO> findViewByReservationNumber(@Param("reservationNumber") String reservationNumber);
+
+    @Query(SELECT_VIEW + "where r.pickUpDateTime between :startDate and :endDate order by r.id")
+    List<ReservationDTO> findViewsByPickUpDateTimeBetween(@Param("startDate") LocalDateTime startDate,
+                                                          @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW + "order by r.id")
+    Stream<ReservationDTO> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW + "where r.pickUpDateTime between :startDate and :endDate order by r.id")
+    Stream<ReservationDTO> streamViewsByPickUpDateTimeBetween(@Param("startDate") LocalDateTime startDate,
+                                                              @Param("endDate") LocalDateTime endDate);
+
+    @Query("select new com.boraandege.carrental.dto.ReservationItemDTO(r.id, e.id, e.name) " +
+            "from Reservation r join r.additionalEquipments e where r.id in :reservationIds order by r.id, e.id")
+    List<ReservationItemDTO> findEquipmentItems(@Param("reservationIds") Collection<Integer> reservationIds);
+
+    @Query("select new com.boraandege.carrental.dto.ReservationItemDTO(r.id, s.id, s.name) " +
+            "from Reservation r join r.additionalServices s where r.id in :reservationIds order by r.id, s.id")
+    List<ReservationItemDTO> findServiceItems(@Param("reservationIds") Collection<Integer> reservationIds);
 }
-
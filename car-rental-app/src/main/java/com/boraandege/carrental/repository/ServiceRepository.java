@@ -1,15 +1,40 @@
 package com.boraandege.carrental.repository;
 
+import com.boraandege.carrental.index.CatalogItem;
 import com.boraandege.carrental.model.AdditionalService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<AdditionalService, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AdditionalService> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AdditionalService> findByName(String name);
 
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.boraandege.carrental.index.CatalogItem(s.id, s.name, s.price) from AdditionalService s")
+    List<CatalogItem> findCatalogItems();
+
+    @Query("select new com.boraandege.carrental.index.CatalogItem(s.id, s.name, s.price) from AdditionalService s " +
+            "where s.id in :ids")
+    List<CatalogItem> findCatalogItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AdditionalService> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 }
@@ -0,0 +1,374 @@
+package com.boraandege.carrental.seed;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+import com.boraandege.carrental.pricing.PricingEngine;
+import com.boraandege.carrental.repository.CarBatchRepository;
+import com.boraandege.carrental.support.ReservationNumberGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Loads a synthetic data set on startup when the {@code seed} profile is active, e.g.
+ * <pre>
+ * java -jar car-rental-app.jar --spring.profiles.active=seed --seed.cars=20000 --seed.reservations=2000000
+ * </pre>
+ * Rows are produced by {@link SyntheticDataGenerator} and written with plain JDBC batches, one transaction per
+ * batch, spread over {@code seed.threads} writers. Ids are assigned up front from the current maximum of each
+ * table, so the same seed on the same starting data always yields the same rows whatever the thread
+ * interleaving. The in-memory indexes and the second-level cache are rebuilt once everything is written.
+ */
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String INSERT_MEMBER = "INSERT INTO member (id, name, address, email, phone, " +
+            "driving_license_number) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOCATION = "INSERT INTO locations (id, code, name, address, latitude, longitude) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION = "INSERT INTO reservations (id, reservation_number, " +
+            "creation_date, pick_up_date_time, drop_off_date_time, picked_up_date, return_date, status, day_count, " +
+            "member_id, car_id, pick_up_location_id, drop_off_location_id, total_amount) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION_EQUIPMENT =
+            "INSERT INTO reservation_equipment (reservation_id, equipment_id) VALUES (?, ?)";
+    private static final String INSERT_RESERVATION_SERVICE =
+            "INSERT INTO reservation_service (reservation_id, service_id) VALUES (?, ?)";
+
+    // Cars are split into more tasks than threads so that a slow batch does not leave the other writers idle.
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final SeedProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CarBatchRepository carBatchRepository;
+    private final ReservationNumberGenerator reservationNumberGenerator;
+    private final PricingEngine pricingEngine;
+    private final FleetBitmapIndex fleetIndex;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final CatalogCache catalogCache;
+    private final QuoteCache quoteCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DataSeeder(SeedProperties properties, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      CarBatchRepository carBatchRepository, ReservationNumberGenerator reservationNumberGenerator,
+                      PricingEngine pricingEngine, FleetBitmapIndex fleetIndex, CarAvailabilityIndex availabilityIndex, CatalogCache catalogCache,
+                      QuoteCache quoteCache, EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.carBatchRepository = carBatchRepository;
+        this.reservationNumberGenerator = reservationNumberGenerator;
+        this.pricingEngine = pricingEngine;
+        this.fleetIndex = fleetIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogCache = catalogCache;
+        this.quoteCache = quoteCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed();
+    }
+
+    public void seed() {
+        validate();
+        long began = System.nanoTime();
+
+        List<CatalogItem> equipments = seedCatalog("equipments", SyntheticDataGenerator.EQUIPMENT_CATALOG);
+        List<CatalogItem> services = seedCatalog("services", SyntheticDataGenerator.SERVICE_CATALOG);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(properties, properties.resolvedStartDate(),
+                equipments.size(), services.size());
+        if (exists("cars", "barcode_number", generator.carBarcodeNumber(0))) {
+            throw new IllegalStateException("Synthetic data for seed " + properties.seed() + " is already loaded");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.resolvedThreads());
+        try {
+            long firstLocationId = insertIndexed("locations", INSERT_LOCATION, properties.locations(), executor,
+                    (index, id) -> locationRow(generator.location(index), id));
+            long firstMemberId = insertIndexed("member", INSERT_MEMBER, properties.members(), executor,
+                    (index, id) -> memberRow(generator.member(index), id));
+            List<Car> cars = insertCars(generator);
+            insertReservations(generator, new Ids(firstMemberId, firstLocationId, cars, equipments, services), executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE cars SET status = 'LOANED' WHERE id IN (SELECT car_id FROM reservations " +
+                "WHERE status = 'ACTIVE' AND pick_up_date_time <= ? AND drop_off_date_time > ?)", now, now);
+        // Cars without a known location stand where their last completed trip left them.
+        jdbcTemplate.update("UPDATE cars c SET current_location_id = (SELECT r.drop_off_location_id FROM reservations r " +
+                "WHERE r.car_id = c.id AND r.status = 'COMPLETED' ORDER BY r.drop_off_date_time DESC FETCH FIRST 1 ROW ONLY) " +
+                "WHERE c.current_location_id IS NULL");
+
+        entityManagerFactory.getCache().evictAll();
+        catalogCache.reload();
+        quoteCache.evictAll();
+        fleetIndex.rebuild();
+        availabilityIndex.rebuild();
+        log.info("Seeded {} locations, {} members, {} cars and {} reservations with seed {} in {} ms",
+                properties.locations(), properties.members(), properties.cars(), properties.reservations(),
+                properties.seed(), (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private void validate() {
+        if (properties.members() <= 0 || properties.cars() <= 0 || properties.locations() <= 0) {
+            throw new IllegalStateException("seed.members, seed.cars and seed.locations must be positive");
+        }
+        if (properties.days() <= 0 || properties.batchSize() <= 0) {
+            throw new IllegalStateException("seed.days and seed.batch-size must be positive");
+        }
+        if (properties.reservations() < 0) {
+            throw new IllegalStateException("seed.reservations must not be negative");
+        }
+    }
+
+    /**
+     * Adds the catalog entries that are not there yet and returns the whole catalog in id order.
+     */
+    private List<CatalogItem> seedCatalog(String table, Map<String, BigDecimal> catalog) {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT name FROM " + table, String.class));
+        long nextId = nextId(table);
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, BigDecimal> entry : catalog.entrySet()) {
+            if (!existing.contains(entry.getKey())) {
+                rows.add(new Object[]{nextId++, entry.getKey(), entry.getValue()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, name, price) VALUES (?, ?, ?)", rows);
+            restartIdentity(table, nextId);
+        }
+        return jdbcTemplate.query("SELECT id, name, price FROM " + table + " ORDER BY id",
+                (resultSet, rowNum) -> new CatalogItem(resultSet.getLong("id"), resultSet.getString("name"),
+                        resultSet.getBigDecimal("price")));
+    }
+
+    /**
+     * Inserts {@code count} rows with consecutive ids in parallel batches and returns the first id.
+     */
+    private long insertIndexed(String table, String sql, int count, ExecutorService executor, RowFactory rowFactory) {
+        long firstId = nextId(table);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < count; from += properties.batchSize()) {
+            int start = from;
+            int end = Math.min(count, from + properties.batchSize());
+            tasks.add(executor.submit(() -> {
+                List<Object[]> rows = new ArrayList<>(end - start);
+                for (int index = start; index < end; index++) {
+                    rows.add(rowFactory.row(index, firstId + index));
+                }
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            }));
+        }
+        awaitAll(tasks);
+        restartIdentity(table, firstId + count);
+        return firstId;
+    }
+
+    // Car ids come from the shared pooled sequence, so cars are written in order on the calling thread.
+    private List<Car> insertCars(SyntheticDataGenerator generator) {
+        List<Car> cars = new ArrayList<>(properties.cars());
+        for (int from = 0; from < properties.cars(); from += properties.batchSize()) {
+            List<Car> batch = new ArrayList<>();
+            for (int index = from; index < Math.min(properties.cars(), from + properties.batchSize()); index++) {
+                batch.add(generator.car(index));
+            }
+            transactionTemplate.executeWithoutResult(status -> carBatchRepository.insertAll(batch));
+            cars.addAll(batch);
+        }
+        return cars;
+    }
+
+    private void insertReservations(SyntheticDataGenerator generator, Ids ids, ExecutorService executor) {
+        int total = properties.reservations();
+        long firstId = nextId("reservations");
+        IntFunction<String> numbers = reservationNumberGenerator.reserve(total);
+        LocalDateTime now = LocalDateTime.now();
+
+        int cars = properties.cars();
+        int carsPerTask = Math.max(1, cars / (properties.resolvedThreads() * TASKS_PER_THREAD));
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int from = 0; from < cars; from += carsPerTask) {
+            int start = from;
+            int end = Math.min(cars, from + carsPerTask);
+            tasks.add(executor.submit(() -> {
+                ReservationBatch batch = new ReservationBatch();
+                for (int carIndex = start; carIndex < end; carIndex++) {
+                    // Cars before carIndex hold total / cars bookings each, plus one for each of the first total % cars.
+                    long ordinal = (long) carIndex * (total / cars) + Math.min(carIndex, total % cars);
+                    for (SyntheticReservation reservation : generator.timeline(carIndex)) {
+                        batch.add(firstId + ordinal, numbers.apply((int) ordinal), reservation, ids.car(carIndex), ids, now);
+                        ordinal++;
+                        if (batch.size() >= properties.batchSize()) {
+                            batch.flush();
+                        }
+                    }
+                }
+                batch.flush();
+            }));
+        }
+        awaitAll(tasks);
+        restartIdentity("reservations", firstId + total);
+    }
+
+    private static Object[] memberRow(Member member, long id) {
+        return new Object[]{id, member.getName(), member.getAddress(), member.getEmail(), member.getPhone(),
+                member.getDrivingLicenseNumber()};
+    }
+
+    private static Object[] locationRow(Location location, long id) {
+        return new Object[]{id, location.getCode(), location.getName(), location.getAddress(),
+                location.getLatitude(), location.getLongitude()};
+    }
+
+    private static ReservationStatus status(SyntheticReservation reservation, LocalDateTime now) {
+        if (reservation.cancelled()) {
+            return ReservationStatus.CANCELLED;
+        }
+        return reservation.dropOffDateTime().isAfter(now) ? ReservationStatus.ACTIVE : ReservationStatus.COMPLETED;
+    }
+
+    private static LocalDateTime notAfter(LocalDateTime time, LocalDateTime limit) {
+        return time.isAfter(limit) ? limit : time;
+    }
+
+    private boolean exists(String table, String column, String value) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, value);
+        return count != null && count > 0;
+    }
+
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+    }
+
+    // Rows were inserted with explicit ids; move the identity past them so later inserts do not collide.
+    private void restartIdentity(String table, long nextId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+    }
+
+    private static void awaitAll(List<Future<?>> tasks) {
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Seeding was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(int index, long id);
+    }
+
+    private record Ids(long firstMemberId, long firstLocationId, List<Car> cars, List<CatalogItem> equipments,
+                       List<CatalogItem> services) {
+
+        Car car(int index) {
+            return cars.get(index);
+        }
+    }
+
+    /**
+     * Rows of one writer, flushed as one transaction covering the reservations and their join rows.
+     */
+    private final class ReservationBatch {
+
+        private final List<Object[]> reservations = new ArrayList<>();
+        private final List<Object[]> equipmentRows = new ArrayList<>();
+        private final List<Object[]> serviceRows = new ArrayList<>();
+
+        void add(long id, String number, SyntheticReservation reservation, Car car, Ids ids, LocalDateTime now) {
+            ReservationStatus status = status(reservation, now);
+            List<CatalogItem> equipments = reservation.equipmentIndexes().stream().map(ids.equipments()::get).toList();
+            List<CatalogItem> services = reservation.serviceIndexes().stream().map(ids.services()::get).toList();
+            // Every rental that was not cancelled has been collected on time once its pick-up time has passed.
+            LocalDateTime pickedUpDate = status != ReservationStatus.CANCELLED && reservation.pickUpDateTime().isBefore(now)
+                    ? reservation.pickUpDateTime()
+                    : null;
+            LocalDateTime returnDate = status == ReservationStatus.COMPLETED
+                    ? notAfter(reservation.dropOffDateTime().plusMinutes(reservation.returnDelayMinutes()), now)
+                    : null;
+            reservations.add(new Object[]{
+                    id,
+                    number,
+                    notAfter(reservation.creationDate(), now),
+                    reservation.pickUpDateTime(),
+                    reservation.dropOffDateTime(),
+                    pickedUpDate,
+                    returnDate,
+                    status.name(),
+                    reservation.dayCount(),
+                    ids.firstMemberId() + reservation.memberIndex(),
+                    car.getId(),
+                    ids.firstLocationId() + reservation.pickUpLocationIndex(),
+                    ids.firstLocationId() + reservation.dropOffLocationIndex(),
+                    pricingEngine.quote(car.getDailyPrice(), reservation.pickUpDateTime().toLocalDate(),
+                            reservation.dayCount(), equipments, services).total()
+            });
+            for (CatalogItem equipment : equipments) {
+                equipmentRows.add(new Object[]{id, equipment.id()});
+            }
+            for (CatalogItem service : services) {
+                serviceRows.add(new Object[]{id, service.id()});
+            }
+        }
+
+        int size() {
+            return reservations.size();
+        }
+
+        void flush() {
+            if (reservations.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_RESERVATION, reservations);
+                if (!equipmentRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_RESERVATION_EQUIPMENT, equipmentRows);
+                }
+                if (!serviceRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_RESERVATION_SERVICE, serviceRows);
+                }
+            });
+            reservations.clear();
+            equipmentRows.clear();
+            serviceRows.clear();
+        }
+    }
+}
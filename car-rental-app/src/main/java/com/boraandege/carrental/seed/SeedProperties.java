@@ -0,0 +1,37 @@
+package com.boraandege.carrental.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of the synthetic data set loaded by {@link DataSeeder}.
+ *
+ * @param seed         drives every random choice; the same seed and start date always produce the same rows
+ * @param startDate    first day of the booking window, defaults to {@code days / 2} days before today
+ * @param days         length of the booking window; each car's timeline is spread over it
+ * @param threads      writer threads, {@code 0} means one per available processor
+ * @param batchSize    rows per JDBC batch and per transaction
+ */
+@ConfigurationProperties("seed")
+public record SeedProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("10000") int members,
+        @DefaultValue("2000") int cars,
+        @DefaultValue("50") int locations,
+        @DefaultValue("200000") int reservations,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @DefaultValue("730") int days,
+        @DefaultValue("0") int threads,
+        @DefaultValue("5000") int batchSize) {
+
+    public LocalDate resolvedStartDate() {
+        return startDate != null ? startDate : LocalDate.now().minusDays(days / 2);
+    }
+
+    public int resolvedThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
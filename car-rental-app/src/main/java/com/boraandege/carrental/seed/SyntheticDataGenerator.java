@@ -0,0 +1,346 @@
+package com.boraandege.carrental.seed;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic source of synthetic members, locations, cars and booking timelines. Every value is drawn
+ * from a random stream keyed by (seed, kind, index), so any slice can be generated on any thread and in
+ * any order and still comes out the same.
+ * <p>
+ * Each car gets one timeline of non-overlapping bookings walked forward through the booking window. Gaps
+ * between bookings shrink in high-demand months, locations and members follow a long-tailed popularity,
+ * and rental lengths, lead times, one-way trips and extras are drawn from fixed distributions.
+ */
+public class SyntheticDataGenerator {
+
+    public static final Map<String, BigDecimal> EQUIPMENT_CATALOG = catalog(
+            "GPS", "15.00", "Child Seat", "10.00", "Booster Seat", "8.00", "Ski Rack", "12.00",
+            "Snow Chains", "9.00", "Roof Box", "18.00", "Bike Rack", "14.00", "Wi-Fi Hotspot", "7.50",
+            "Dash Cam", "6.00", "Phone Holder", "2.50");
+
+    public static final Map<String, BigDecimal> SERVICE_CATALOG = catalog(
+            "Full Insurance", "25.00", "Additional Driver", "12.00", "Roadside Assistance", "6.00",
+            "Young Driver", "15.00", "Airport Delivery", "20.00", "Fuel Prepay", "40.00",
+            "Toll Pass", "5.00", "Interior Cleaning", "9.00");
+
+    private static final long MEMBER_STREAM = 1;
+    private static final long LOCATION_STREAM = 2;
+    private static final long CAR_STREAM = 3;
+    private static final long TIMELINE_STREAM = 4;
+
+    // Relative booking demand per month, January first.
+    private static final double[] MONTHLY_DEMAND = {0.6, 0.6, 0.8, 0.9, 1.0, 1.3, 1.6, 1.6, 1.1, 0.9, 0.7, 0.9};
+
+    private static final int[] DAY_COUNTS = {1, 2, 3, 4, 5, 7, 10, 14, 21};
+    private static final Weights DAY_COUNT_WEIGHTS = new Weights(new double[]{14, 20, 18, 12, 9, 14, 6, 5, 2});
+
+    private static final CarType[] CAR_TYPES = {CarType.ECONOMY, CarType.STANDARD, CarType.SUV, CarType.ESTATE,
+            CarType.PEOPLE_CARRIER, CarType.LUXURY, CarType.CONVERTIBLE};
+    private static final Weights CAR_TYPE_WEIGHTS = new Weights(new double[]{30, 20, 18, 10, 8, 7, 7});
+
+    private static final int FIRST_PICK_UP_HOUR = 8;
+    private static final int LAST_PICK_UP_HOUR = 20;
+    private static final double MEAN_LEAD_DAYS = 14;
+    private static final double ONE_WAY_SHARE = 0.2;
+    private static final double CANCELLATION_RATE = 0.08;
+
+    private static final String[] FIRST_NAMES = {"Ahmet", "Mehmet", "Ayse", "Fatma", "Mustafa", "Emine", "Ali",
+            "Zeynep", "Can", "Elif", "Deniz", "Ece", "Burak", "Selin", "Emre", "Merve", "John", "Anna", "Lukas",
+            "Sofia", "Omar", "Maria", "David", "Yuki"};
+    private static final String[] LAST_NAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Aydin",
+            "Ozturk", "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt", "Smith", "Muller",
+            "Rossi", "Garcia", "Novak", "Tanaka", "Haddad", "Jensen"};
+    private static final String[] CITIES = {"Istanbul", "Ankara", "Izmir", "Antalya", "Bursa", "Adana", "Trabzon",
+            "Konya", "Gaziantep", "Kayseri", "Eskisehir", "Mersin", "Samsun", "Denizli", "Mugla"};
+    // Latitude and longitude of each city's centre, in the order of CITIES.
+    private static final double[][] CITY_COORDINATES = {{41.0082, 28.9784}, {39.9334, 32.8597}, {38.4237, 27.1428},
+            {36.8969, 30.7133}, {40.1885, 29.0610}, {37.0000, 35.3213}, {41.0027, 39.7168}, {37.8746, 32.4932},
+            {37.0662, 37.3833}, {38.7312, 35.4787}, {39.7767, 30.5206}, {36.8121, 34.6415}, {41.2867, 36.3300},
+            {37.7765, 29.0864}, {37.2153, 28.3636}};
+    // Sites are scattered up to this many degrees (about 20 km) around their city's centre.
+    private static final double SITE_SPREAD_DEGREES = 0.2;
+    private static final String[] SITES = {"Airport", "City Center", "Train Station", "Harbour"};
+    private static final int[] PLATE_PROVINCES = {34, 6, 35, 7, 16, 1, 61, 42, 27, 38, 26, 33, 55, 20, 48};
+
+    private final long seed;
+    private final String prefix;
+    private final LocalDate startDate;
+    private final int days;
+    private final int cars;
+    private final int reservations;
+    private final Weights memberWeights;
+    private final Weights locationWeights;
+    private final Weights equipmentWeights;
+    private final Weights serviceWeights;
+
+    public SyntheticDataGenerator(SeedProperties properties, LocalDate startDate, int equipmentCount, int serviceCount) {
+        this.seed = properties.seed();
+        this.prefix = "SYN" + properties.seed() + "-";
+        this.startDate = startDate;
+        this.days = properties.days();
+        this.cars = properties.cars();
+        this.reservations = properties.reservations();
+        this.memberWeights = Weights.zipf(properties.members(), 0.6);
+        this.locationWeights = Weights.zipf(properties.locations(), 1.0);
+        this.equipmentWeights = Weights.zipf(equipmentCount, 1.0);
+        this.serviceWeights = Weights.zipf(serviceCount, 1.0);
+    }
+
+    public String carBarcodeNumber(int index) {
+        return prefix + String.format("C%07d", index);
+    }
+
+    public String locationCode(int index) {
+        return prefix + String.format("L%04d", index);
+    }
+
+    public Member member(int index) {
+        SplittableRandom random = random(MEMBER_STREAM, index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        Member member = new Member();
+        member.setName(firstName + " " + lastName);
+        member.setEmail((firstName + "." + lastName + "." + index + "@example.com").toLowerCase(Locale.ROOT));
+        member.setPhone(String.format("+90 5%02d %03d %04d", random.nextInt(100), random.nextInt(1000), random.nextInt(10_000)));
+        member.setAddress(random.nextInt(1, 200) + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " Sk., "
+                + CITIES[random.nextInt(CITIES.length)]);
+        member.setDrivingLicenseNumber(prefix + String.format("DL%08d", index));
+        return member;
+    }
+
+    public Location location(int index) {
+        SplittableRandom random = random(LOCATION_STREAM, index);
+        String city = CITIES[index % CITIES.length];
+        String site = SITES[(index / CITIES.length) % SITES.length];
+        int round = index / (CITIES.length * SITES.length);
+
+        Location location = new Location();
+        location.setCode(locationCode(index));
+        location.setName(city + " " + site + (round > 0 ? " " + (round + 1) : ""));
+        location.setAddress(random.nextInt(1, 500) + " " + site + " Cd., " + city);
+        double[] centre = CITY_COORDINATES[index % CITIES.length];
+        location.setLatitude(round4(centre[0] + random.nextDouble(-SITE_SPREAD_DEGREES, SITE_SPREAD_DEGREES)));
+        location.setLongitude(round4(centre[1] + random.nextDouble(-SITE_SPREAD_DEGREES, SITE_SPREAD_DEGREES)));
+        return location;
+    }
+
+    public Car car(int index) {
+        SplittableRandom random = random(CAR_STREAM, index);
+        CarType carType = CAR_TYPES[CAR_TYPE_WEIGHTS.sample(random)];
+        String[][] models = models(carType);
+        String[] model = models[random.nextInt(models.length)];
+        double automaticShare = switch (carType) {
+            case SUV, LUXURY, CONVERTIBLE -> 0.85;
+            default -> 0.45;
+        };
+
+        Car car = new Car();
+        car.setBarcodeNumber(carBarcodeNumber(index));
+        car.setLicensePlateNumber(String.format("%02d %c%c%c %03d",
+                PLATE_PROVINCES[random.nextInt(PLATE_PROVINCES.length)],
+                letter(random), letter(random), letter(random), random.nextInt(1, 1000)));
+        car.setBrand(model[0]);
+        car.setModel(model[1]);
+        car.setCarType(carType);
+        car.setTransmissionType(random.nextDouble() < automaticShare ? TransmissionType.AUTOMATIC : TransmissionType.MANUAL);
+        car.setPassengerCapacity(switch (carType) {
+            case PEOPLE_CARRIER -> 7 + random.nextInt(2);
+            case SUV -> random.nextBoolean() ? 5 : 7;
+            case CONVERTIBLE -> random.nextBoolean() ? 2 : 4;
+            case ECONOMY -> random.nextBoolean() ? 4 : 5;
+            default -> 5;
+        });
+        car.setMileage(random.nextInt(5_000, 150_000));
+        car.setDailyPrice(BigDecimal.valueOf(baseDailyPrice(carType) * (0.85 + 0.3 * random.nextDouble()))
+                .setScale(2, RoundingMode.HALF_UP));
+        car.setStatus(CarStatus.AVAILABLE);
+        return car;
+    }
+
+    public int reservationCount(int carIndex) {
+        return reservations / cars + (carIndex < reservations % cars ? 1 : 0);
+    }
+
+    /**
+     * Bookings of one car in pick-up order. Consecutive bookings never overlap, cancelled ones included.
+     */
+    public List<SyntheticReservation> timeline(int carIndex) {
+        int count = reservationCount(carIndex);
+        List<SyntheticReservation> timeline = new ArrayList<>(count);
+        if (count == 0) {
+            return timeline;
+        }
+        SplittableRandom random = random(TIMELINE_STREAM, carIndex);
+        double meanGapMinutes = Math.max(6 * 60, (days * 24.0 * 60) / count - meanDayCount() * 24 * 60);
+        LocalDateTime cursor = startDate.atStartOfDay().plusMinutes((long) (random.nextDouble() * meanGapMinutes));
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime pickUp = openingHours(cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1));
+            int dayCount = DAY_COUNTS[DAY_COUNT_WEIGHTS.sample(random)];
+            LocalDateTime dropOff = pickUp.plusDays(dayCount);
+            long leadMinutes = (long) (-Math.log(1 - random.nextDouble()) * MEAN_LEAD_DAYS * 24 * 60);
+            int pickUpLocation = locationWeights.sample(random);
+            int dropOffLocation = random.nextDouble() < ONE_WAY_SHARE ? locationWeights.sample(random) : pickUpLocation;
+
+            timeline.add(new SyntheticReservation(
+                    pickUp.minusMinutes(leadMinutes),
+                    pickUp,
+                    dropOff,
+                    dayCount,
+                    memberWeights.sample(random),
+                    pickUpLocation,
+                    dropOffLocation,
+                    attach(random, equipmentWeights, 0.4, 0.15),
+                    attach(random, serviceWeights, 0.3, 0.1),
+                    random.nextDouble() < CANCELLATION_RATE,
+                    (int) Math.round(random.nextGaussian() * 90)));
+
+            double demand = MONTHLY_DEMAND[dropOff.getMonthValue() - 1];
+            cursor = dropOff.plusMinutes((long) (meanGapMinutes * 2 * random.nextDouble() / demand));
+        }
+        return timeline;
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private static LocalDateTime openingHours(LocalDateTime time) {
+        if (time.getHour() < FIRST_PICK_UP_HOUR) {
+            return time.withHour(FIRST_PICK_UP_HOUR);
+        }
+        if (time.getHour() > LAST_PICK_UP_HOUR) {
+            return time.plusDays(1).withHour(FIRST_PICK_UP_HOUR);
+        }
+        return time;
+    }
+
+    private static List<Integer> attach(SplittableRandom random, Weights weights, double first, double second) {
+        if (weights.size() == 0 || random.nextDouble() >= first) {
+            return List.of();
+        }
+        int a = weights.sample(random);
+        if (random.nextDouble() >= second) {
+            return List.of(a);
+        }
+        int b = weights.sample(random);
+        return a == b ? List.of(a) : List.of(a, b);
+    }
+
+    private static double round4(double degrees) {
+        return Math.round(degrees * 10_000) / 10_000.0;
+    }
+
+    private static char letter(SplittableRandom random) {
+        return (char) ('A' + random.nextInt(26));
+    }
+
+    private static double meanDayCount() {
+        double total = 0;
+        for (int i = 0; i < DAY_COUNTS.length; i++) {
+            total += DAY_COUNTS[i] * DAY_COUNT_WEIGHTS.probability(i);
+        }
+        return total;
+    }
+
+    private static double baseDailyPrice(CarType carType) {
+        return switch (carType) {
+            case ECONOMY -> 45;
+            case STANDARD -> 60;
+            case ESTATE -> 70;
+            case SUV -> 95;
+            case PEOPLE_CARRIER -> 110;
+            case CONVERTIBLE -> 140;
+            case LUXURY -> 220;
+        };
+    }
+
+    private static String[][] models(CarType carType) {
+        return switch (carType) {
+            case ECONOMY -> new String[][]{{"Fiat", "Egea"}, {"Renault", "Clio"}, {"Toyota", "Yaris"}, {"Hyundai", "i20"}};
+            case STANDARD -> new String[][]{{"Toyota", "Corolla"}, {"Volkswagen", "Golf"}, {"Honda", "Civic"}, {"Renault", "Megane"}};
+            case ESTATE -> new String[][]{{"Skoda", "Octavia Combi"}, {"Volkswagen", "Passat Variant"}, {"Ford", "Focus Wagon"}};
+            case SUV -> new String[][]{{"Nissan", "Qashqai"}, {"Peugeot", "3008"}, {"Dacia", "Duster"}, {"Toyota", "RAV4"}};
+            case PEOPLE_CARRIER -> new String[][]{{"Ford", "Tourneo"}, {"Volkswagen", "Caravelle"}, {"Mercedes-Benz", "Vito"}};
+            case CONVERTIBLE -> new String[][]{{"Mini", "Cooper Cabrio"}, {"BMW", "4 Cabrio"}, {"Fiat", "500C"}};
+            case LUXURY -> new String[][]{{"Mercedes-Benz", "E 200"}, {"BMW", "520i"}, {"Audi", "A6"}, {"Volvo", "S90"}};
+        };
+    }
+
+    private static Map<String, BigDecimal> catalog(String... namesAndPrices) {
+        Map<String, BigDecimal> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndPrices.length; i += 2) {
+            catalog.put(namesAndPrices[i], new BigDecimal(namesAndPrices[i + 1]));
+        }
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    /**
+     * Samples indexes in proportion to fixed weights using a cumulative table and binary search.
+     */
+    private static final class Weights {
+
+        private final double[] cumulative;
+
+        private Weights(double[] weights) {
+            cumulative = new double[weights.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        // Popularity that falls off with rank: weight(i) = 1 / (i + 1)^exponent.
+        private static Weights zipf(int size, double exponent) {
+            double[] weights = new double[size];
+            for (int i = 0; i < size; i++) {
+                weights[i] = 1 / Math.pow(i + 1, exponent);
+            }
+            return new Weights(weights);
+        }
+
+        private int size() {
+            return cumulative.length;
+        }
+
+        private double probability(int index) {
+            double previous = index == 0 ? 0 : cumulative[index - 1];
+            return (cumulative[index] - previous) / cumulative[cumulative.length - 1];
+        }
+
+        private int sample(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] <= target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
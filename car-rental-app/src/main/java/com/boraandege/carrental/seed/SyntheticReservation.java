@@ -0,0 +1,15 @@
+package com.boraandege.carrental.seed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One generated booking. Members, locations and catalog items are referenced by their index in the
+ * generated (or loaded) lists; {@link DataSeeder} maps them to database ids.
+ */
+public record SyntheticReservation(LocalDateTime creationDate, LocalDateTime pickUpDateTime,
+                                   LocalDateTime dropOffDateTime, int dayCount, int memberIndex,
+                                   int pickUpLocationIndex, int dropOffLocationIndex,
+                                   List<Integer> equipmentIndexes, List<Integer> serviceIndexes,
+                                   boolean cancelled, int returnDelayMinutes) {
+}
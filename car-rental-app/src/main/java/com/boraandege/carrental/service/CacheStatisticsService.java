@@ -0,0 +1,10 @@
+package com.boraandege.carrental.service;
+
+import com.boraandege.carrental.dto.CacheStatisticsDTO;
+
+public interface CacheStatisticsService {
+
+    CacheStatisticsDTO getStatistics();
+
+    void resetStatistics();
+}
@@ -0,0 +1,13 @@
+package com.boraandege.carrental.service;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.CarImportResultDTO;
+import java.io.Reader;
+import java.util.List;
+
+public interface CarImportService {
+
+    CarImportResultDTO importCars(List<CarDTO> cars);
+
+    CarImportResultDTO importCarsCsv(Reader csv);
+}
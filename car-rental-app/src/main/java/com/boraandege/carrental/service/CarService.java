@@ -1,9 +1,11 @@
 package com.boraandege.carrental.service;
 
 import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.TransmissionType;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CarService {
@@ -14,12 +16,20 @@ public interface CarService {
 
     List<CarDTO> getAllCars();
 
+    PageDTO<CarDTO> getCarsPage(Long after, int limit);
+
     CarDTO updateCar(Long id, CarDTO carDTO);
 
     void deleteCar(Long id);
 
     List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType);
 
+    List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType, Integer minPassengers,
+                                     LocalDateTime from, LocalDateTime to);
+
+    List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType, Integer minPassengers,
+                                     LocalDateTime from, LocalDateTime to, String locationCode);
+
     List<CarDTO> getRentedCars();
 
     boolean deleteCarByBarcode(String barcodeNumber);
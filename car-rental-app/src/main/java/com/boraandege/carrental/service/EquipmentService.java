@@ -1,6 +1,8 @@
 package com.boraandege.carrental.service;
 
 import com.boraandege.carrental.dto.EquipmentDTO;
+import com.boraandege.carrental.dto.EquipmentStockDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import java.util.List;
 
 public interface EquipmentService {
@@ -11,7 +13,13 @@ public interface EquipmentService {
 
     List<EquipmentDTO> getAllEquipments();
 
+    PageDTO<EquipmentDTO> getEquipmentsPage(Long after, int limit);
+
     EquipmentDTO updateEquipment(Long id, EquipmentDTO equipmentDTO);
 
     void deleteEquipment(Long id);
+
+    List<EquipmentStockDTO> getStock(Long id);
+
+    EquipmentStockDTO setStock(Long id, String locationCode, int quantity);
 }
@@ -1,6 +1,7 @@
 package com.boraandege.carrental.service;
 
 import com.boraandege.carrental.dto.LocationDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import java.util.List;
 
 public interface LocationService {
@@ -13,6 +14,8 @@ public interface LocationService {
 
     List<LocationDTO> getAllLocations();
 
+    PageDTO<LocationDTO> getLocationsPage(Long after, int limit);
+
     LocationDTO updateLocation(Long id, LocationDTO locationDTO);
 
     void deleteLocation(Long id);
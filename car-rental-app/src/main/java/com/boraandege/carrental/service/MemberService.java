@@ -1,6 +1,7 @@
 package com.boraandege.carrental.service;
 
 import com.boraandege.carrental.dto.MemberDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import java.util.List;
 
 public interface MemberService {
@@ -12,6 +13,8 @@ public interface MemberService {
 
     List<MemberDTO> getAllMembers();
 
+    PageDTO<MemberDTO> getMembersPage(Long after, int limit);
+
     MemberDTO updateMember(Long id, MemberDTO memberDTO);
 
     void deleteMember(Long id);
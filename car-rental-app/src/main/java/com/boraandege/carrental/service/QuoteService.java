@@ -0,0 +1,12 @@
+package com.boraandege.carrental.service;
+
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.enums.CarType;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface QuoteService {
+
+    QuoteDTO quote(String carBarcodeNumber, CarType carType, String pickUpLocationCode, LocalDate pickUpDate,
+                   int dayCount, List<Long> equipmentIds, List<Long> serviceIds);
+}
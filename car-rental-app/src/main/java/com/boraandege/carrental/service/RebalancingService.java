@@ -0,0 +1,8 @@
+package com.boraandege.carrental.service;
+
+import com.boraandege.carrental.dto.RebalancingPlanDTO;
+
+public interface RebalancingService {
+
+    RebalancingPlanDTO getPlan(Integer horizonDays);
+}
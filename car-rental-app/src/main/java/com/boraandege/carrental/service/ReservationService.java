@@ -1,27 +1,56 @@
 package com.boraandege.carrental.service;
 
+import com.boraandege.carrental.dto.OccupancyCalendarDTO;
 import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ExportFormat;
 import com.boraandege.carrental.enums.ReservationStatus;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface ReservationService {
 
     ReservationDTO makeReservation(ReservationDTO reservationDTO);
 
-    ReservationDTO getReservationByNumber(String reservationNumber);
+    /**
+     * Books queued requests, whose reservation numbers are already assigned, as CONFIRMED. Returns the
+     * rejection message of every request that could not be booked, keyed by reservation number.
+     */
+    Map<String, String> confirmReservations(List<ReservationDTO> reservations);
+
+    /**
+     * Looks the reservation up in the hot table and, if {@code includeHistory} is set and it is not there, in the
+     * archive. The list reads below take the same flag and then merge both tables in id order.
+     */
+    ReservationDTO getReservationByNumber(String reservationNumber, boolean includeHistory);
 
     List<ReservationDTO> getAllReservations();
 
+    PageDTO<ReservationDTO> getReservationsPage(Long after, int limit, boolean includeHistory);
+
     boolean addServiceToReservation(String reservationNumber, Long serviceId);
 
     boolean addEquipmentToReservation(String reservationNumber, Long equipmentId);
 
+    boolean pickUpCar(String reservationNumber);
+
     boolean returnCar(String reservationNumber);
 
     boolean cancelReservation(String reservationNumber);
 
     boolean deleteReservation(String reservationNumber);
 
-    List<ReservationDTO> getReservationsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
+    List<ReservationDTO> getReservationsBetweenDates(LocalDateTime startDate, LocalDateTime endDate, boolean includeHistory);
+
+    /**
+     * Returns when each car is taken between {@code from} and {@code to}, optionally only for cars of one type or
+     * reservations picked up at one location. Booked and completed reservations count; cancelled ones do not.
+     */
+    OccupancyCalendarDTO getOccupancyCalendar(LocalDateTime from, LocalDateTime to, CarType carType, String locationCode);
+
+    void exportReservations(LocalDateTime startDate, LocalDateTime endDate, boolean includeHistory, ExportFormat format,
+                            OutputStream out);
 }
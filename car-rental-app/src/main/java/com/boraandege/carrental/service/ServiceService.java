@@ -1,6 +1,7 @@
 package com.boraandege.carrental.service;
 
 import com.boraandege.carrental.dto.ServiceDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import java.util.List;
 
 public interface ServiceService {
@@ -11,6 +12,8 @@ public interface ServiceService {
 
     List<ServiceDTO> getAllServices();
 
+    PageDTO<ServiceDTO> getServicesPage(Long after, int limit);
+
     ServiceDTO updateService(Long id, ServiceDTO serviceDTO);
 
     void deleteService(Long id);
@@ -0,0 +1,58 @@
+package com.boraandege.carrental.service.impl;
+
+import com.boraandege.carrental.dto.CacheRegionStatisticsDTO;
+import com.boraandege.carrental.dto.CacheStatisticsDTO;
+import com.boraandege.carrental.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    @Autowired
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public CacheStatisticsDTO getStatistics() {
+        CacheStatisticsDTO result = new CacheStatisticsDTO();
+        result.setSecondLevelCache(new CacheRegionStatisticsDTO("second-level",
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount()));
+        result.setQueryCache(new CacheRegionStatisticsDTO("query",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        result.setNaturalIdCache(new CacheRegionStatisticsDTO("natural-id",
+                statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount(),
+                statistics.getNaturalIdCachePutCount()));
+
+        List<CacheRegionStatisticsDTO> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionStatisticsDTO(regionName,
+                        region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        result.setRegions(regions);
+        return result;
+    }
+
+    @Override
+    public void resetStatistics() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,274 @@
+package com.boraandege.carrental.service.impl;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.CarImportResultDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.index.FleetEntry;
+import com.boraandege.carrental.mapper.CarMapper;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.repository.CarBatchRepository;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.service.CarImportService;
+import com.boraandege.carrental.support.CsvReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Imports cars in chunks of {@link #CHUNK_SIZE}: each chunk is validated, deduplicated by barcode,
+ * written with one JDBC batch and added to the fleet index in its own transaction. A failed chunk
+ * rolls back alone, and running the same import again only adds the cars that are still missing.
+ * A car naming a {@code currentLocationCode} is parked at that location; an unknown code rejects the car.
+ */
+@Service
+public class CarImportServiceImpl implements CarImportService {
+
+    static final int CHUNK_SIZE = 5_000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("barcodeNumber", "dailyPrice", "carType", "transmissionType");
+
+    private final CarRepository carRepository;
+    private final LocationRepository locationRepository;
+    private final CarBatchRepository carBatchRepository;
+    private final CarMapper carMapper;
+    private final FleetBitmapIndex fleetIndex;
+    private final QuoteCache quoteCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CarImportServiceImpl(CarRepository carRepository, LocationRepository locationRepository,
+                                CarBatchRepository carBatchRepository, CarMapper carMapper,
+                                FleetBitmapIndex fleetIndex, QuoteCache quoteCache,
+                                TransactionTemplate transactionTemplate) {
+        this.carRepository = carRepository;
+        this.locationRepository = locationRepository;
+        this.carBatchRepository = carBatchRepository;
+        this.carMapper = carMapper;
+        this.fleetIndex = fleetIndex;
+        this.quoteCache = quoteCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public CarImportResultDTO importCars(List<CarDTO> cars) {
+        Import carImport = new Import();
+        for (int i = 0; i < cars.size(); i++) {
+            carImport.accept("row", i + 1, cars.get(i));
+        }
+        return carImport.finish();
+    }
+
+    @Override
+    public CarImportResultDTO importCarsCsv(Reader csv) {
+        CsvReader reader = new CsvReader(csv);
+        try {
+            CsvReader.Row header = reader.next();
+            if (header == null) {
+                throw new BusinessException("CSV import needs a header row");
+            }
+            if (header.error() != null) {
+                throw new BusinessException("CSV import header row is malformed: " + header.error());
+            }
+            Map<String, Integer> columns = parseHeader(header.fields());
+
+            Import carImport = new Import();
+            CsvReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.error() != null) {
+                    carImport.reject("line", row.line(), row.error());
+                    continue;
+                }
+                if (row.fields().size() == 1 && row.fields().get(0).isBlank()) {
+                    continue;
+                }
+                CarDTO car;
+                try {
+                    car = parseRow(row.fields(), columns);
+                } catch (IllegalArgumentException e) {
+                    carImport.reject("line", row.line(), e.getMessage());
+                    continue;
+                }
+                carImport.accept("line", row.line(), car);
+            }
+            return carImport.finish();
+        } catch (IOException e) {
+            throw new BusinessException("Could not read CSV import: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> names) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            // A byte order mark left in front of the first name would hide that column.
+            columns.put(names.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BusinessException("CSV import is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static CarDTO parseRow(List<String> fields, Map<String, Integer> columns) {
+        CarDTO car = new CarDTO();
+        car.setBarcodeNumber(field(fields, columns, "barcodeNumber"));
+        car.setLicensePlateNumber(field(fields, columns, "licensePlateNumber"));
+        car.setBrand(field(fields, columns, "brand"));
+        car.setModel(field(fields, columns, "model"));
+        car.setCurrentLocationCode(field(fields, columns, "currentLocationCode"));
+
+        String passengerCapacity = field(fields, columns, "passengerCapacity");
+        String mileage = field(fields, columns, "mileage");
+        String dailyPrice = field(fields, columns, "dailyPrice");
+        String carType = field(fields, columns, "carType");
+        String transmissionType = field(fields, columns, "transmissionType");
+        try {
+            car.setPassengerCapacity(passengerCapacity != null ? Integer.parseInt(passengerCapacity) : 0);
+            car.setMileage(mileage != null ? Integer.parseInt(mileage) : 0);
+            car.setDailyPrice(dailyPrice != null ? new BigDecimal(dailyPrice) : null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid number");
+        }
+        car.setCarType(parseEnum(CarType.class, carType, "carType"));
+        car.setTransmissionType(parseEnum(TransmissionType.class, transmissionType, "transmissionType"));
+        return car;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static String validate(CarDTO car) {
+        if (car == null) {
+            return "empty entry";
+        }
+        if (car.getBarcodeNumber() == null || car.getBarcodeNumber().isBlank()) {
+            return "barcodeNumber is required";
+        }
+        if (car.getDailyPrice() == null || car.getDailyPrice().signum() < 0) {
+            return "dailyPrice must be zero or positive";
+        }
+        if (car.getCarType() == null) {
+            return "carType is required";
+        }
+        if (car.getTransmissionType() == null) {
+            return "transmissionType is required";
+        }
+        if (car.getPassengerCapacity() < 0 || car.getMileage() < 0) {
+            return "passengerCapacity and mileage must not be negative";
+        }
+        return null;
+    }
+
+    private final class Import {
+
+        private final CarImportResultDTO result = new CarImportResultDTO();
+        private final Set<String> barcodes = new HashSet<>(carRepository.findAllBarcodeNumbers());
+        private final Map<String, Location> locations = new HashMap<>();
+        private final List<Car> pending = new ArrayList<>(CHUNK_SIZE);
+
+        void accept(String unit, int number, CarDTO car) {
+            result.setReceived(result.getReceived() + 1);
+            String error = validate(car);
+            if (error != null) {
+                rejected(unit, number, error);
+                return;
+            }
+            Location location = null;
+            if (car.getCurrentLocationCode() != null) {
+                location = location(car.getCurrentLocationCode());
+                if (location == null) {
+                    rejected(unit, number, "unknown currentLocationCode '" + car.getCurrentLocationCode() + "'");
+                    return;
+                }
+            }
+            if (!barcodes.add(car.getBarcodeNumber())) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                return;
+            }
+
+            Car entity = carMapper.toEntity(car);
+            entity.setId(null);
+            entity.setStatus(CarStatus.AVAILABLE);
+            entity.setCurrentLocation(location);
+            pending.add(entity);
+            if (pending.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(String unit, int number, String error) {
+            result.setReceived(result.getReceived() + 1);
+            rejected(unit, number, error);
+        }
+
+        CarImportResultDTO finish() {
+            flush();
+            return result;
+        }
+
+        private Location location(String code) {
+            if (locations.isEmpty()) {
+                locationRepository.findAll().forEach(location -> locations.put(location.getCode(), location));
+            }
+            return locations.get(code);
+        }
+
+        private void rejected(String unit, int number, String error) {
+            result.setRejected(result.getRejected() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(unit + " " + number + ": " + error);
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                carBatchRepository.insertAll(pending);
+                List<FleetEntry> entries = new ArrayList<>(pending.size());
+                for (Car car : pending) {
+                    entries.add(new FleetEntry(car.getId(), car.getStatus(), car.getCarType(),
+                            car.getTransmissionType(), car.getPassengerCapacity(),
+                            car.getCurrentLocation() != null ? car.getCurrentLocation().getId() : null));
+                }
+                fleetIndex.putAll(entries);
+                pending.stream().map(Car::getCarType).distinct()
+                        .forEach(carType -> quoteCache.evictCarAfterCommit(null, carType));
+            });
+            result.setImported(result.getImported() + pending.size());
+            pending.clear();
+        }
+    }
+}
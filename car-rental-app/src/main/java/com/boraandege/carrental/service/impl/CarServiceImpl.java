@@ -1,19 +1,33 @@
 package com.boraandege.carrental.service.impl;
 
+import com.boraandege.carrental.allocation.FleetAllocator;
 import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.model.Car;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.QuoteCache;
 import com.boraandege.carrental.mapper.CarMapper;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
 import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
 import com.boraandege.carrental.service.CarService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,24 +36,39 @@ import java.util.stream.Collectors;
 public class CarServiceImpl implements CarService {
 
     private final CarRepository carRepository;
+    private final LocationRepository locationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
     private final CarMapper carMapper;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final FleetBitmapIndex fleetIndex;
+    private final QuoteCache quoteCache;
 
     @Autowired
-    public CarServiceImpl(CarRepository carRepository, CarMapper carMapper) {
+    public CarServiceImpl(CarRepository carRepository, LocationRepository locationRepository,
+                          ArchivedReservationRepository archivedReservationRepository, CarMapper carMapper,
+                          CarAvailabilityIndex availabilityIndex, FleetBitmapIndex fleetIndex,
+                          QuoteCache quoteCache) {
         this.carRepository = carRepository;
+        this.locationRepository = locationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
         this.carMapper = carMapper;
+        this.availabilityIndex = availabilityIndex;
+        this.fleetIndex = fleetIndex;
+        this.quoteCache = quoteCache;
     }
 
     @Override
     public CarDTO addCar(CarDTO carDTO) {
         Car car = carMapper.toEntity(carDTO);
         car.setStatus(CarStatus.AVAILABLE);
+        car.setCurrentLocation(resolveLocation(carDTO.getCurrentLocationCode()));
 
         if (car.getReservations() == null) {
             car.setReservations(Collections.emptyList());
         }
 
         Car savedCar = carRepository.save(car);
+        quoteCache.evictCarAfterCommit(savedCar.getBarcodeNumber(), savedCar.getCarType());
         return carMapper.toDTO(savedCar);
     }
 
@@ -58,10 +87,19 @@ public class CarServiceImpl implements CarService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<CarDTO> getCarsPage(Long after, int limit) {
+        int pageSize = PageDTO.clampLimit(limit);
+        List<Car> rows = carRepository.findByIdGreaterThanOrderByIdAsc(
+                PageDTO.startAfter(after), PageRequest.of(0, pageSize + 1));
+        return PageDTO.fromRows(rows, pageSize, Car::getId, carMapper::toDTO);
+    }
+
     @Override
     public CarDTO updateCar(Long id, CarDTO carDTO) {
         Car existingCar = carRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Car not found with id: " + id));
+        quoteCache.evictCarAfterCommit(existingCar.getBarcodeNumber(), existingCar.getCarType());
 
         existingCar.setBarcodeNumber(carDTO.getBarcodeNumber());
         existingCar.setLicensePlateNumber(carDTO.getLicensePlateNumber());
@@ -72,41 +110,96 @@ public class CarServiceImpl implements CarService {
         existingCar.setTransmissionType(carDTO.getTransmissionType());
         existingCar.setDailyPrice(carDTO.getDailyPrice());
         existingCar.setCarType(carDTO.getCarType());
+        if (carDTO.getCurrentLocationCode() != null) {
+            existingCar.setCurrentLocation(resolveLocation(carDTO.getCurrentLocationCode()));
+        }
 
         Car updatedCar = carRepository.save(existingCar);
+        quoteCache.evictCarAfterCommit(updatedCar.getBarcodeNumber(), updatedCar.getCarType());
         return carMapper.toDTO(updatedCar);
     }
 
     @Override
+    @Transactional
     public void deleteCar(Long id) {
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Car not found with id: " + id));
+        if (car.getReservations() != null && !car.getReservations().isEmpty()) {
+            throw new BusinessException("Car " + car.getBarcodeNumber() + " has reservations and cannot be deleted");
+        }
+        requireNoArchivedReservations(car);
         carRepository.delete(car);
+        quoteCache.evictCarAfterCommit(car.getBarcodeNumber(), car.getCarType());
     }
 
     @Override
     public List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType) {
+        return searchAvailableCars(carType, transmissionType, null, null, null);
+    }
+
+    @Override
+    public List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType, Integer minPassengers,
+                                            LocalDateTime from, LocalDateTime to) {
+        return searchAvailableCars(carType, transmissionType, minPassengers, from, to, null);
+    }
+
+    // With a location only that location's slice of the fleet index is searched.
+    @Override
+    public List<CarDTO> searchAvailableCars(CarType carType, TransmissionType transmissionType, Integer minPassengers,
+                                            LocalDateTime from, LocalDateTime to, String locationCode) {
         if (carType == null || transmissionType == null) {
             throw new IllegalArgumentException("CarType and TransmissionType must not be null");
         }
+        boolean windowed = from != null || to != null;
+        if (windowed && (from == null || to == null || !from.isBefore(to))) {
+            throw new BusinessException("A search window needs both ends and must end after it starts");
+        }
+        Long locationId = locationCode != null ? resolveLocation(locationCode).getId() : null;
+
+        flushPendingChanges();
+        List<CarStatus> statuses = windowed ? FleetAllocator.BOOKABLE_STATUSES : List.of(CarStatus.AVAILABLE);
+        List<Long> carIds = locationCode != null
+                ? fleetIndex.queryIdsAt(locationId, statuses, List.of(carType), List.of(transmissionType), minPassengers)
+                : fleetIndex.queryIds(statuses, List.of(carType), List.of(transmissionType), minPassengers);
+        if (windowed) {
+            carIds = availabilityIndex.filterAvailable(carIds, from, to);
+        }
 
-        List<Car> cars = carRepository.findByStatusAndCarTypeAndTransmissionType(
-                CarStatus.AVAILABLE, carType, transmissionType);
-
+        List<CarDTO> cars = loadInIdOrder(carIds);
         if (cars.isEmpty()) {
             throw new ResourceNotFoundException("No available cars found matching the criteria");
         }
-
-        return cars.stream()
-                .map(carMapper::toDTO)
-                .collect(Collectors.toList());
+        return cars;
     }
 
-
     @Override
     public List<CarDTO> getRentedCars() {
-        List<Car> cars = carRepository.findByStatusIn(List.of(CarStatus.RESERVED, CarStatus.LOANED));
-        return cars.stream()
+        flushPendingChanges();
+        return loadInIdOrder(fleetIndex.queryIds(List.of(CarStatus.RESERVED, CarStatus.LOANED), null, null, null));
+    }
+
+    private Location resolveLocation(String code) {
+        if (code == null) {
+            return null;
+        }
+        return locationRepository.findByCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found with code: " + code));
+    }
+
+    // The fleet index is maintained by entity callbacks that fire on flush, so pending inserts and updates
+    // of the surrounding transaction are flushed first, the same way a JPQL query would auto-flush.
+    private void flushPendingChanges() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            carRepository.flush();
+        }
+    }
+
+    private List<CarDTO> loadInIdOrder(List<Long> carIds) {
+        if (carIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return carRepository.findAllById(carIds).stream()
+                .sorted(Comparator.comparing(Car::getId))
                 .map(carMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -123,8 +216,17 @@ public class CarServiceImpl implements CarService {
         if (car.getStatus() != CarStatus.AVAILABLE || !car.getReservations().isEmpty()) {
             return false;
         }
+        requireNoArchivedReservations(car);
 
         carRepository.delete(car);
+        quoteCache.evictCarAfterCommit(car.getBarcodeNumber(), car.getCarType());
         return true;
     }
+
+    // Archived reservations keep a reference to their car, so a car with history in the archive stays.
+    private void requireNoArchivedReservations(Car car) {
+        if (archivedReservationRepository.existsByCarId(car.getId())) {
+            throw new BusinessException("Car " + car.getBarcodeNumber() + " has archived reservations and cannot be deleted");
+        }
+    }
 }
@@ -1,13 +1,30 @@
 package com.boraandege.carrental.service.impl;
 
 import com.boraandege.carrental.dto.EquipmentDTO;
+import com.boraandege.carrental.dto.EquipmentStockDTO;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.model.Equipment;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.index.EquipmentStockIndex;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.index.StockKey;
 import com.boraandege.carrental.mapper.EquipmentMapper;
+import com.boraandege.carrental.model.EquipmentStock;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
 import com.boraandege.carrental.repository.EquipmentRepository;
+import com.boraandege.carrental.repository.EquipmentStockRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
 import com.boraandege.carrental.service.EquipmentService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,17 +33,36 @@ public class EquipmentServiceImpl implements EquipmentService {
 
     private final EquipmentRepository equipmentRepository;
     private final EquipmentMapper equipmentMapper;
+    private final CatalogCache catalogCache;
+    private final QuoteCache quoteCache;
+    private final EquipmentStockRepository stockRepository;
+    private final LocationRepository locationRepository;
+    private final ReservationRepository reservationRepository;
+    private final EquipmentStockIndex stockIndex;
+    private final ArchivedReservationRepository archivedReservationRepository;
 
     @Autowired
-    public EquipmentServiceImpl(EquipmentRepository equipmentRepository, EquipmentMapper equipmentMapper) {
+    public EquipmentServiceImpl(EquipmentRepository equipmentRepository, EquipmentMapper equipmentMapper,
+                                CatalogCache catalogCache, QuoteCache quoteCache,
+                                EquipmentStockRepository stockRepository, LocationRepository locationRepository,
+                                ReservationRepository reservationRepository, EquipmentStockIndex stockIndex,
+                                ArchivedReservationRepository archivedReservationRepository) {
         this.equipmentRepository = equipmentRepository;
         this.equipmentMapper = equipmentMapper;
+        this.catalogCache = catalogCache;
+        this.quoteCache = quoteCache;
+        this.stockRepository = stockRepository;
+        this.locationRepository = locationRepository;
+        this.reservationRepository = reservationRepository;
+        this.stockIndex = stockIndex;
+        this.archivedReservationRepository = archivedReservationRepository;
     }
 
     @Override
     public EquipmentDTO addEquipment(EquipmentDTO equipmentDTO) {
         Equipment equipment = equipmentMapper.toEntity(equipmentDTO);
         Equipment savedEquipment = equipmentRepository.save(equipment);
+        catalogCache.putEquipmentAfterCommit(toCatalogItem(savedEquipment));
         return equipmentMapper.toDTO(savedEquipment);
     }
 
@@ -45,6 +81,14 @@ public class EquipmentServiceImpl implements EquipmentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<EquipmentDTO> getEquipmentsPage(Long after, int limit) {
+        int pageSize = PageDTO.clampLimit(limit);
+        List<Equipment> rows = equipmentRepository.findByIdGreaterThanOrderByIdAsc(
+                PageDTO.startAfter(after), PageRequest.of(0, pageSize + 1));
+        return PageDTO.fromRows(rows, pageSize, Equipment::getId, equipmentMapper::toDTO);
+    }
+
     @Override
     public EquipmentDTO updateEquipment(Long id, EquipmentDTO equipmentDTO) {
         Equipment existingEquipment = equipmentRepository.findById(id)
@@ -54,13 +98,72 @@ public class EquipmentServiceImpl implements EquipmentService {
         existingEquipment.setPrice(equipmentDTO.getPrice());
 
         Equipment updatedEquipment = equipmentRepository.save(existingEquipment);
+        catalogCache.putEquipmentAfterCommit(toCatalogItem(updatedEquipment));
+        quoteCache.evictEquipmentAfterCommit(id);
         return equipmentMapper.toDTO(updatedEquipment);
     }
 
     @Override
+    @Transactional
     public void deleteEquipment(Long id) {
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Equipment not found with id: " + id));
+        // Archived reservations keep the equipment they rented, so equipment in the archive stays.
+        if (archivedReservationRepository.existsByAdditionalEquipmentsId(id)) {
+            throw new BusinessException("Equipment " + equipment.getName() + " has archived reservations and cannot be deleted");
+        }
+        stockRepository.deleteByEquipmentId(id);
         equipmentRepository.delete(equipment);
+        catalogCache.removeEquipmentAfterCommit(id);
+        quoteCache.evictEquipmentAfterCommit(id);
+        stockIndex.removeAfterCommit(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EquipmentStockDTO> getStock(Long id) {
+        if (!equipmentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Equipment not found with id: " + id);
+        }
+        return stockRepository.findByEquipmentIdWithLocation(id).stream()
+                .map(stock -> toStockDTO(id, stock))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public EquipmentStockDTO setStock(Long id, String locationCode, int quantity) {
+        if (quantity < 0) {
+            throw new BusinessException("Stock quantity cannot be negative");
+        }
+        Equipment equipment = equipmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Equipment not found with id: " + id));
+        Location location = locationRepository.findByCode(locationCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found with code: " + locationCode));
+
+        EquipmentStock stock = stockRepository.findByEquipmentIdAndLocationId(id, location.getId())
+                .orElseGet(() -> {
+                    EquipmentStock created = new EquipmentStock();
+                    created.setEquipment(equipment);
+                    created.setLocation(location);
+                    return created;
+                });
+        int delta = quantity - stock.getQuantity();
+        stock.setQuantity(quantity);
+        stockRepository.save(stock);
+
+        long held = reservationRepository.countEquipmentHolds(CarAvailabilityIndex.BOOKED_STATUSES, id, location.getId());
+        stockIndex.restockAfterCommit(new StockKey(id, location.getId()), delta, quantity, held);
+        return new EquipmentStockDTO(location.getCode(), quantity, (int) Math.max(0, quantity - held));
+    }
+
+    private EquipmentStockDTO toStockDTO(Long equipmentId, EquipmentStock stock) {
+        Location location = stock.getLocation();
+        int available = stockIndex.available(equipmentId, location.getId()).orElse(stock.getQuantity());
+        return new EquipmentStockDTO(location.getCode(), stock.getQuantity(), Math.max(0, available));
+    }
+
+    private static CatalogItem toCatalogItem(Equipment equipment) {
+        return new CatalogItem(equipment.getId(), equipment.getName(), equipment.getPrice());
     }
 }
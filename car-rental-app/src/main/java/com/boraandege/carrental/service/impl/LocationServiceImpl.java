@@ -1,11 +1,15 @@
 package com.boraandege.carrental.service.impl;
 
 import com.boraandege.carrental.dto.LocationDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
 import com.boraandege.carrental.mapper.LocationMapper;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
 import com.boraandege.carrental.repository.LocationRepository;
 import com.boraandege.carrental.service.LocationService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.List;
@@ -16,11 +20,14 @@ public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
+    private final ArchivedReservationRepository archivedReservationRepository;
 
     @Autowired
-    public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper) {
+    public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper,
+                               ArchivedReservationRepository archivedReservationRepository) {
         this.locationRepository = locationRepository;
         this.locationMapper = locationMapper;
+        this.archivedReservationRepository = archivedReservationRepository;
     }
 
     @Override
@@ -52,6 +59,14 @@ public class LocationServiceImpl implements LocationService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<LocationDTO> getLocationsPage(Long after, int limit) {
+        int pageSize = PageDTO.clampLimit(limit);
+        List<Location> rows = locationRepository.findByIdGreaterThanOrderByIdAsc(
+                PageDTO.startAfter(after), PageRequest.of(0, pageSize + 1));
+        return PageDTO.fromRows(rows, pageSize, Location::getId, locationMapper::toDTO);
+    }
+
     @Override
     public LocationDTO updateLocation(Long id, LocationDTO locationDTO) {
         Location existingLocation = locationRepository.findById(id)
@@ -60,6 +75,8 @@ public class LocationServiceImpl implements LocationService {
         existingLocation.setCode(locationDTO.getCode());
         existingLocation.setName(locationDTO.getName());
         existingLocation.setAddress(locationDTO.getAddress());
+        existingLocation.setLatitude(locationDTO.getLatitude());
+        existingLocation.setLongitude(locationDTO.getLongitude());
 
         Location updatedLocation = locationRepository.save(existingLocation);
         return locationMapper.toDTO(updatedLocation);
@@ -69,6 +86,10 @@ public class LocationServiceImpl implements LocationService {
     public void deleteLocation(Long id) {
         Location location = locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
+        // Archived reservations keep their pick-up and drop-off locations, so a location in the archive stays.
+        if (archivedReservationRepository.existsByLocationId(id)) {
+            throw new BusinessException("Location " + location.getCode() + " has archived reservations and cannot be deleted");
+        }
         locationRepository.delete(location);
     }
 }
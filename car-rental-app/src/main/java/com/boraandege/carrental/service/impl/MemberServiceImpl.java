@@ -1,12 +1,15 @@
 package com.boraandege.carrental.service.impl;
 
 import com.boraandege.carrental.dto.MemberDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.model.Member;
 import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
 import com.boraandege.carrental.mapper.MemberMapper;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
 import com.boraandege.carrental.repository.MemberRepository;
 import com.boraandege.carrental.service.MemberService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.List;
@@ -16,11 +19,14 @@ public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     private final MemberMapper memberMapper;
+    private final ArchivedReservationRepository archivedReservationRepository;
 
     @Autowired
-    public MemberServiceImpl(MemberRepository memberRepository, MemberMapper memberMapper) {
+    public MemberServiceImpl(MemberRepository memberRepository, MemberMapper memberMapper,
+                             ArchivedReservationRepository archivedReservationRepository) {
         this.memberRepository = memberRepository;
         this.memberMapper = memberMapper;
+        this.archivedReservationRepository = archivedReservationRepository;
     }
 
     @Override
@@ -48,6 +54,14 @@ public class MemberServiceImpl implements MemberService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<MemberDTO> getMembersPage(Long after, int limit) {
+        int pageSize = PageDTO.clampLimit(limit);
+        List<Member> rows = memberRepository.findByIdGreaterThanOrderByIdAsc(
+                PageDTO.startAfter(after), PageRequest.of(0, pageSize + 1));
+        return PageDTO.fromRows(rows, pageSize, Member::getId, memberMapper::toDTO);
+    }
+
     @Override
     public MemberDTO updateMember(Long id, MemberDTO memberDTO) {
         Member existingMember = memberRepository.findById(id)
@@ -65,6 +79,10 @@ public class MemberServiceImpl implements MemberService {
     public void deleteMember(Long id) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
+        // Archived reservations keep a reference to their member, so a member with history in the archive stays.
+        if (archivedReservationRepository.existsByMemberId(id)) {
+            throw new BusinessException("Member " + id + " has archived reservations and cannot be deleted");
+        }
         memberRepository.delete(member);
     }
 }
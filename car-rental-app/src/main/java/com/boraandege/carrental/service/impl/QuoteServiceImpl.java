@@ -0,0 +1,90 @@
+package com.boraandege.carrental.service.impl;
+
+import com.boraandege.carrental.allocation.FleetAllocator;
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.index.QuoteKey;
+import com.boraandege.carrental.pricing.PriceQuote;
+import com.boraandege.carrental.pricing.PricingEngine;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.service.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Prices a rental without booking it. Quotes are served from {@link QuoteCache}; a miss reads one daily
+ * price through a read-only repository query and takes the catalog prices from {@link CatalogCache}.
+ * A type quote uses the cheapest bookable car of that type at the pick-up location, the same daily rate
+ * a booking by type is charged whichever car it is allocated.
+ */
+@Service
+public class QuoteServiceImpl implements QuoteService {
+
+    private final CarRepository carRepository;
+    private final LocationRepository locationRepository;
+    private final CatalogCache catalogCache;
+    private final PricingEngine pricingEngine;
+    private final QuoteCache quoteCache;
+
+    @Autowired
+    public QuoteServiceImpl(CarRepository carRepository, LocationRepository locationRepository,
+                            CatalogCache catalogCache, PricingEngine pricingEngine, QuoteCache quoteCache) {
+        this.carRepository = carRepository;
+        this.locationRepository = locationRepository;
+        this.catalogCache = catalogCache;
+        this.pricingEngine = pricingEngine;
+        this.quoteCache = quoteCache;
+    }
+
+    @Override
+    public QuoteDTO quote(String carBarcodeNumber, CarType carType, String pickUpLocationCode, LocalDate pickUpDate,
+                          int dayCount, List<Long> equipmentIds, List<Long> serviceIds) {
+        if ((carBarcodeNumber == null) == (carType == null)) {
+            throw new BusinessException("A quote needs either a car barcode number or a car type");
+        }
+        if (carType != null && pickUpLocationCode == null) {
+            throw new BusinessException("A quote by car type needs a pick-up location code");
+        }
+        if (dayCount <= 0) {
+            throw new BusinessException("Day count must be positive");
+        }
+        LocalDate date = pickUpDate != null ? pickUpDate : LocalDate.now().plusDays(1);
+        return quoteCache.get(QuoteKey.of(carBarcodeNumber, carType, pickUpLocationCode, date, dayCount,
+                equipmentIds, serviceIds), this::price);
+    }
+
+    private QuoteDTO price(QuoteKey key) {
+        BigDecimal dailyPrice = key.carBarcodeNumber() != null
+                ? carRepository.findDailyPriceByBarcodeNumber(key.carBarcodeNumber())
+                        .orElseThrow(() -> new ResourceNotFoundException("Car not found with barcode number: " + key.carBarcodeNumber()))
+                : typeRate(key.carType(), key.pickUpLocationCode());
+
+        List<CatalogItem> equipments = catalogCache.requireEquipments(key.equipmentIds());
+        List<CatalogItem> services = catalogCache.requireServices(key.serviceIds());
+
+        PriceQuote quote = pricingEngine.quote(dailyPrice, key.pickUpDate(), key.dayCount(), equipments, services);
+        return new QuoteDTO(key.carBarcodeNumber(), key.carType(), key.pickUpLocationCode(), key.pickUpDate(),
+                key.dayCount(), key.equipmentIds(), key.serviceIds(), dailyPrice,
+                BigDecimal.valueOf(quote.rentalCents(), 2),
+                BigDecimal.valueOf(quote.discountCents(), 2),
+                BigDecimal.valueOf(quote.extrasCents(), 2),
+                quote.total());
+    }
+
+    private BigDecimal typeRate(CarType carType, String pickUpLocationCode) {
+        Long locationId = locationRepository.findByCode(pickUpLocationCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Pick-up location not found with code: " + pickUpLocationCode))
+                .getId();
+        return carRepository.findLowestDailyPriceByCarTypeAtLocation(carType, locationId, FleetAllocator.BOOKABLE_STATUSES)
+                .orElseThrow(() -> new ResourceNotFoundException("No bookable " + carType + " car found at " + pickUpLocationCode));
+    }
+}
@@ -0,0 +1,171 @@
+package com.boraandege.carrental.service.impl;
+
+import com.boraandege.carrental.dto.RebalancingPlanDTO;
+import com.boraandege.carrental.dto.ShortfallDTO;
+import com.boraandege.carrental.dto.TransferMoveDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.rebalancing.BookedTrip;
+import com.boraandege.carrental.rebalancing.DemandCount;
+import com.boraandege.carrental.rebalancing.FleetPosition;
+import com.boraandege.carrental.rebalancing.RebalancingProperties;
+import com.boraandege.carrental.rebalancing.TransferPlanner;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.service.RebalancingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Plans transfers that put cars where the coming pick-ups will need them. Each car is projected to where its
+ * booked trips starting before the horizon end leave it (cars still out at the horizon end are not counted),
+ * and each location is expected to see its recent pick-up rate, per car type, less the pick-ups already booked
+ * there, since those already have their car. Surpluses are matched with shortages per car type by
+ * {@link TransferPlanner} at the least total distance. Trips not booked yet that would bring cars in are left
+ * out, so the plan errs towards moving cars to where they are needed.
+ * <p>
+ * Everything is read as projections and aggregates, so a plan over hundreds of locations and tens of thousands
+ * of cars never loads an entity per car.
+ */
+@Service
+@EnableConfigurationProperties(RebalancingProperties.class)
+public class RebalancingServiceImpl implements RebalancingService {
+
+    static final int MAX_HORIZON_DAYS = 90;
+
+    private static final List<CarStatus> OUT_OF_SERVICE = List.of(CarStatus.LOST, CarStatus.BEING_SERVICED);
+    private static final List<ReservationStatus> DEMAND_STATUSES = List.of(ReservationStatus.ACTIVE,
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final CarRepository carRepository;
+    private final LocationRepository locationRepository;
+    private final ReservationRepository reservationRepository;
+    private final RebalancingProperties properties;
+
+    @Autowired
+    public RebalancingServiceImpl(CarRepository carRepository, LocationRepository locationRepository,
+                                  ReservationRepository reservationRepository, RebalancingProperties properties) {
+        this.carRepository = carRepository;
+        this.locationRepository = locationRepository;
+        this.reservationRepository = reservationRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RebalancingPlanDTO getPlan(Integer horizonDays) {
+        if (horizonDays != null && (horizonDays <= 0 || horizonDays > MAX_HORIZON_DAYS)) {
+            throw new BusinessException("Horizon must be between 1 and " + MAX_HORIZON_DAYS + " days");
+        }
+        Duration horizon = horizonDays != null ? Duration.ofDays(horizonDays) : properties.horizon();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(horizon);
+
+        List<Location> locations = locationRepository.findAll();
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < locations.size(); i++) {
+            indexById.put(locations.get(i).getId(), i);
+        }
+        CarType[] carTypes = CarType.values();
+        int[][] balance = new int[carTypes.length][locations.size()];
+        addProjectedFleet(balance, indexById, until);
+        subtractExpectedPickUps(balance, indexById, now, until);
+
+        TransferPlanner planner = new TransferPlanner(distances(locations));
+        List<TransferMoveDTO> moves = new ArrayList<>();
+        List<ShortfallDTO> shortfalls = new ArrayList<>();
+        long totalDistanceKm = 0;
+        for (CarType carType : carTypes) {
+            int[] typeBalance = balance[carType.ordinal()];
+            for (TransferPlanner.Transfer transfer : planner.plan(typeBalance)) {
+                moves.add(new TransferMoveDTO(carType, locations.get(transfer.from()).getCode(),
+                        locations.get(transfer.to()).getCode(), transfer.cars(), transfer.distanceKm()));
+                typeBalance[transfer.to()] += transfer.cars();
+                totalDistanceKm += transfer.cars() * transfer.distanceKm();
+            }
+            for (int location = 0; location < typeBalance.length; location++) {
+                if (typeBalance[location] < 0) {
+                    shortfalls.add(new ShortfallDTO(carType, locations.get(location).getCode(), -typeBalance[location]));
+                }
+            }
+        }
+        return new RebalancingPlanDTO(now, until, moves, totalDistanceKm, shortfalls);
+    }
+
+    private void addProjectedFleet(int[][] balance, Map<Long, Integer> indexById, LocalDateTime until) {
+        // Trips come ordered by pick-up, so the last one of each car decides where it ends up; a car whose
+        // last trip is still running at the horizon end maps to null.
+        Map<Long, Long> projected = new HashMap<>();
+        for (BookedTrip trip : reservationRepository.findBookedTripsStartingBefore(CarAvailabilityIndex.BOOKED_STATUSES, until)) {
+            projected.put(trip.carId(), trip.dropOffDateTime().isBefore(until) ? trip.dropOffLocationId() : null);
+        }
+        for (FleetPosition car : carRepository.findFleetPositions(OUT_OF_SERVICE)) {
+            Long locationId = projected.containsKey(car.carId()) ? projected.get(car.carId()) : car.locationId();
+            Integer location = locationId != null ? indexById.get(locationId) : null;
+            if (location != null) {
+                balance[car.carType().ordinal()][location]++;
+            }
+        }
+    }
+
+    private void subtractExpectedPickUps(int[][] balance, Map<Long, Integer> indexById,
+                                         LocalDateTime now, LocalDateTime until) {
+        double scale = (double) Duration.between(now, until).toMinutes() / properties.history().toMinutes();
+        int[][] expected = new int[balance.length][balance[0].length];
+        for (DemandCount demand : reservationRepository.countPickUps(DEMAND_STATUSES, now.minus(properties.history()), now)) {
+            Integer location = indexById.get(demand.locationId());
+            if (location != null) {
+                expected[demand.carType().ordinal()][location] = (int) Math.ceil(demand.pickUps() * scale);
+            }
+        }
+        for (DemandCount booked : reservationRepository.countPickUps(CarAvailabilityIndex.BOOKED_STATUSES, now, until)) {
+            Integer location = indexById.get(booked.locationId());
+            if (location != null) {
+                expected[booked.carType().ordinal()][location] -= booked.pickUps().intValue();
+            }
+        }
+        for (int type = 0; type < balance.length; type++) {
+            for (int location = 0; location < balance[type].length; location++) {
+                balance[type][location] -= Math.max(0, expected[type][location]);
+            }
+        }
+    }
+
+    private long[][] distances(List<Location> locations) {
+        int count = locations.size();
+        long[][] distanceKm = new long[count][count];
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                long km = distanceKm(locations.get(i), locations.get(j));
+                distanceKm[i][j] = km;
+                distanceKm[j][i] = km;
+            }
+        }
+        return distanceKm;
+    }
+
+    // Great-circle distance, at least 1 km so that a transfer is never free.
+    private long distanceKm(Location from, Location to) {
+        if (from.getLatitude() == null || from.getLongitude() == null
+                || to.getLatitude() == null || to.getLongitude() == null) {
+            return properties.unknownDistanceKm();
+        }
+        double latitudeDelta = Math.toRadians(to.getLatitude() - from.getLatitude());
+        double longitudeDelta = Math.toRadians(to.getLongitude() - from.getLongitude());
+        double a = Math.pow(Math.sin(latitudeDelta / 2), 2) + Math.cos(Math.toRadians(from.getLatitude()))
+                * Math.cos(Math.toRadians(to.getLatitude())) * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return Math.max(1, Math.round(2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a))));
+    }
+}
@@ -1,120 +1,300 @@
 package com.boraandege.carrental.service.impl;
 
+import com.boraandege.carrental.allocation.FleetAllocator;
+import com.boraandege.carrental.dto.CarOccupancyDTO;
+import com.boraandege.carrental.dto.OccupancyCalendarDTO;
+import com.boraandege.carrental.dto.OccupancyRowDTO;
 import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.dto.ReservationItemDTO;
 import com.boraandege.carrental.model.*;
 import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ExportFormat;
 import com.boraandege.carrental.enums.ReservationStatus;
 import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.index.EquipmentStockIndex;
+import com.boraandege.carrental.index.QuoteCache;
 import com.boraandege.carrental.mapper.ReservationMapper;
+import com.boraandege.carrental.pricing.PricingEngine;
 import com.boraandege.carrental.repository.*;
 import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.support.ReservationNumberGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
+    static final int MAX_BOOKING_ATTEMPTS = 3;
+    static final Duration MAX_CALENDAR_RANGE = Duration.ofDays(366);
+
+    private static final List<ReservationStatus> OCCUPYING_STATUSES = List.of(ReservationStatus.ACTIVE,
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED);
+
+    private static final String CSV_HEADER = "id,reservationNumber,creationDate,pickUpDateTime,dropOffDateTime," +
+            "returnDate,status,dayCount,memberId,memberName,carBarcodeNumber,carBrand,carModel," +
+            "pickUpLocationCode,dropOffLocationCode,totalAmount,additionalEquipmentNames,additionalServiceNames\n";
+
     private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
     private final CarRepository carRepository;
-    private final MemberRepository memberRepository;
     private final LocationRepository locationRepository;
     private final EquipmentRepository equipmentRepository;
     private final ServiceRepository serviceRepository;
+    private final BookingContextLoader bookingContextLoader;
 
     private final ReservationMapper reservationMapper;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final FleetAllocator fleetAllocator;
+    private final EquipmentStockIndex equipmentStock;
+    private final CatalogCache catalogCache;
+    private final QuoteCache quoteCache;
+    private final PricingEngine pricingEngine;
+    private final ReservationNumberGenerator reservationNumberGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public ReservationServiceImpl(
             ReservationRepository reservationRepository,
+            ArchivedReservationRepository archivedReservationRepository,
             CarRepository carRepository,
-            MemberRepository memberRepository,
             LocationRepository locationRepository,
             EquipmentRepository equipmentRepository,
             ServiceRepository serviceRepository,
-            ReservationMapper reservationMapper) {
+            BookingContextLoader bookingContextLoader,
+            ReservationMapper reservationMapper,
+            CarAvailabilityIndex availabilityIndex,
+            FleetAllocator fleetAllocator,
+            EquipmentStockIndex equipmentStock,
+            CatalogCache catalogCache,
+            QuoteCache quoteCache,
+            PricingEngine pricingEngine,
+            ReservationNumberGenerator reservationNumberGenerator,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper) {
         this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
         this.carRepository = carRepository;
-        this.memberRepository = memberRepository;
         this.locationRepository = locationRepository;
         this.equipmentRepository = equipmentRepository;
         this.serviceRepository = serviceRepository;
+        this.bookingContextLoader = bookingContextLoader;
         this.reservationMapper = reservationMapper;
+        this.availabilityIndex = availabilityIndex;
+        this.fleetAllocator = fleetAllocator;
+        this.equipmentStock = equipmentStock;
+        this.catalogCache = catalogCache;
+        this.quoteCache = quoteCache;
+        this.pricingEngine = pricingEngine;
+        this.reservationNumberGenerator = reservationNumberGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
     }
 
     @Override
-    @Transactional
     public ReservationDTO makeReservation(ReservationDTO reservationDTO) {
-        Car car = carRepository.findByBarcodeNumber(reservationDTO.getCarBarcodeNumber())
-                .orElseThrow(() -> new ResourceNotFoundException("Car not found"));
+        return book(reservationDTO, reservationNumberGenerator.next(), ReservationStatus.ACTIVE);
+    }
 
-        if (car.getStatus() != CarStatus.AVAILABLE) {
-            throw new BusinessException("Selected car is not available");
+    @Override
+    public Map<String, String> confirmReservations(List<ReservationDTO> reservations) {
+        Map<String, String> rejected = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ReservationDTO reservation : reservations) {
+                    try {
+                        bookReservation(reservation, reservation.getReservationNumber(), ReservationStatus.CONFIRMED);
+                    } catch (BusinessException | ResourceNotFoundException e) {
+                        rejected.put(reservation.getReservationNumber(), e.getMessage());
+                    }
+                }
+            });
+            return rejected;
+        } catch (OptimisticLockingFailureException e) {
+            // Another booking of one of these cars committed first; confirm them one by one against the new state.
+            rejected.clear();
+            for (ReservationDTO reservation : reservations) {
+                try {
+                    book(reservation, reservation.getReservationNumber(), ReservationStatus.CONFIRMED);
+                } catch (BusinessException | ResourceNotFoundException bookingFailure) {
+                    rejected.put(reservation.getReservationNumber(), bookingFailure.getMessage());
+                }
+            }
+            return rejected;
         }
+    }
 
-        Member member = memberRepository.findById(reservationDTO.getMemberId())
-                .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
-
-        Location pickUpLocation = locationRepository.findByCode(reservationDTO.getPickUpLocationCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Pick-up location not found"));
-        Location dropOffLocation = locationRepository.findByCode(reservationDTO.getDropOffLocationCode())
-                .orElseThrow(() -> new ResourceNotFoundException("Drop-off location not found"));
-
-        List<Equipment> equipments = new ArrayList<>();
-        if (reservationDTO.getAdditionalEquipmentIds() != null) {
-            equipments = equipmentRepository.findAllById(reservationDTO.getAdditionalEquipmentIds());
+    private ReservationDTO book(ReservationDTO reservationDTO, String reservationNumber, ReservationStatus status) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(transaction -> bookReservation(reservationDTO, reservationNumber, status));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_BOOKING_ATTEMPTS) {
+                    throw new BusinessException("Selected car is being booked by another request, please try again");
+                }
+            }
         }
+    }
 
+    // Runs in its own transaction: the car's version is bumped at commit, so a concurrent booking of the
+    // same car fails with an optimistic lock error and is retried against the committed state. Business
+    // rule violations are all detected before anything is written.
+    private ReservationDTO bookReservation(ReservationDTO reservationDTO, String reservationNumber, ReservationStatus status) {
+        if (reservationDTO.getDayCount() <= 0) {
+            throw new BusinessException("Day count must be positive");
+        }
+        LocalDateTime pickUpDateTime = reservationDTO.getPickUpDateTime() != null
+                ? reservationDTO.getPickUpDateTime()
+                : LocalDateTime.now().plusDays(1);
+        LocalDateTime dropOffDateTime = pickUpDateTime.plusDays(reservationDTO.getDayCount());
+
+        // Without a chosen car the booking is for a type; the allocator picks a car parked at the pick-up
+        // location, and a retry after a concurrent booking of that car allocates again.
+        boolean allocated = reservationDTO.getCarBarcodeNumber() == null && reservationDTO.getCarType() != null;
+        BookingContext context;
+        if (allocated) {
+            String pickUpLocationCode = reservationDTO.getPickUpLocationCode();
+            Location pickUpLocation = (pickUpLocationCode != null ? locationRepository.findByCode(pickUpLocationCode)
+                    : Optional.<Location>empty())
+                    .orElseThrow(() -> new ResourceNotFoundException("Pick-up location not found with code: " + pickUpLocationCode));
+            Long carId = fleetAllocator.allocate(pickUpLocation.getId(), reservationDTO.getCarType(),
+                            reservationDTO.getTransmissionType(), pickUpDateTime, dropOffDateTime)
+                    .orElseThrow(() -> new BusinessException("No " + reservationDTO.getCarType()
+                            + " car is available at " + pickUpLocation.getCode() + " for the requested period"));
+            context = bookingContextLoader.load(carId, reservationDTO.getMemberId(),
+                    reservationDTO.getPickUpLocationCode(), reservationDTO.getDropOffLocationCode());
+        } else {
+            context = bookingContextLoader.load(reservationDTO.getCarBarcodeNumber(), reservationDTO.getMemberId(),
+                    reservationDTO.getPickUpLocationCode(), reservationDTO.getDropOffLocationCode());
+        }
+        // Catalog items come from the in-memory snapshot; the entities are only referenced by id.
+        List<CatalogItem> equipmentItems = reservationDTO.getAdditionalEquipmentIds() != null
+                ? catalogCache.requireEquipments(new LinkedHashSet<>(reservationDTO.getAdditionalEquipmentIds()))
+                : List.of();
+        List<CatalogItem> serviceItems = reservationDTO.getAdditionalServiceIds() != null
+                ? catalogCache.requireServices(new LinkedHashSet<>(reservationDTO.getAdditionalServiceIds()))
+                : List.of();
+
+        Car car = context.car();
+        if (car.getStatus() == CarStatus.LOST || car.getStatus() == CarStatus.BEING_SERVICED) {
+            throw new BusinessException("Selected car is not available");
+        }
 
-        List<AdditionalService> services = new ArrayList<>();
-        if (reservationDTO.getAdditionalServiceIds() != null) {
-            services = serviceRepository.findAllById(reservationDTO.getAdditionalServiceIds());
+        if (!availabilityIndex.isAvailable(car.getId(), pickUpDateTime, dropOffDateTime)
+                || reservationRepository.existsOverlapping(car.getId(), CarAvailabilityIndex.BOOKED_STATUSES,
+                        pickUpDateTime, dropOffDateTime)) {
+            throw new BusinessException("Selected car is already booked for the requested period");
         }
 
+        List<Equipment> equipments = equipmentItems.stream()
+                .map(item -> equipmentRepository.getReferenceById(item.id()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<AdditionalService> services = serviceItems.stream()
+                .map(item -> serviceRepository.getReferenceById(item.id()))
+                .collect(Collectors.toCollection(ArrayList::new));
+
         Reservation reservation = new Reservation();
-        reservation.setReservationNumber(generateReservationNumber());
+        reservation.setReservationNumber(reservationNumber);
         reservation.setCreationDate(LocalDateTime.now());
-        reservation.setPickUpDateTime(LocalDateTime.now().plusDays(1));
-        reservation.setDropOffDateTime(reservation.getPickUpDateTime().plusDays(reservationDTO.getDayCount()));
-        reservation.setStatus(ReservationStatus.ACTIVE);
+        reservation.setPickUpDateTime(pickUpDateTime);
+        reservation.setDropOffDateTime(dropOffDateTime);
+        reservation.setStatus(status);
         reservation.setDayCount(reservationDTO.getDayCount());
-        reservation.setMember(member);
+        reservation.setMember(context.member());
         reservation.setCar(car);
-        reservation.setPickUpLocation(pickUpLocation);
-        reservation.setDropOffLocation(dropOffLocation);
+        reservation.setPickUpLocation(context.pickUpLocation());
+        reservation.setDropOffLocation(context.dropOffLocation());
         reservation.setAdditionalEquipments(equipments);
         reservation.setAdditionalServices(services);
+        reservation.setAutoAllocated(allocated);
+        // A booking by type pays the type's rate at the pick-up location, as quoted, whichever car it was given.
+        BigDecimal dailyPrice = allocated
+                ? carRepository.findLowestDailyPriceByCarTypeAtLocation(reservationDTO.getCarType(),
+                        context.pickUpLocation().getId(), FleetAllocator.BOOKABLE_STATUSES).orElse(car.getDailyPrice())
+                : car.getDailyPrice();
+        reservation.setTotalAmount(pricingEngine.quote(dailyPrice, pickUpDateTime.toLocalDate(),
+                reservation.getDayCount(), equipmentItems, serviceItems).total());
+
+        List<Long> outOfStock = equipmentStock.tryReserve(
+                equipmentItems.stream().map(CatalogItem::id).toList(), context.pickUpLocation().getId());
+        if (!outOfStock.isEmpty()) {
+            throw new BusinessException("Equipment " + outOfStock + " is out of stock at "
+                    + context.pickUpLocation().getCode());
+        }
 
         car.setStatus(CarStatus.LOANED);
         carRepository.save(car);
 
         Reservation savedReservation = reservationRepository.save(reservation);
+        if (!availabilityIndex.tryBook(car.getId(), savedReservation.getId(), pickUpDateTime, dropOffDateTime)) {
+            throw new OptimisticLockingFailureException("Selected car was booked concurrently for the requested period");
+        }
 
-
-        double totalAmount = calculateTotalAmount(reservation);
-        ReservationDTO resultDTO = reservationMapper.toDTO(savedReservation);
-        resultDTO.setTotalAmount(totalAmount);
+        ReservationDTO resultDTO = reservationMapper.toSummaryDTO(savedReservation);
+        resultDTO.setAdditionalEquipmentIds(equipmentItems.stream().map(CatalogItem::id).collect(Collectors.toList()));
+        resultDTO.setAdditionalEquipmentNames(equipmentItems.stream().map(CatalogItem::name).collect(Collectors.toList()));
+        resultDTO.setAdditionalServiceIds(serviceItems.stream().map(CatalogItem::id).collect(Collectors.toList()));
+        resultDTO.setAdditionalServiceNames(serviceItems.stream().map(CatalogItem::name).collect(Collectors.toList()));
 
         return resultDTO;
     }
 
     @Override
-    public ReservationDTO getReservationByNumber(String reservationNumber) {
-        Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with number: " + reservationNumber));
-        return reservationMapper.toDTO(reservation);
+    public ReservationDTO getReservationByNumber(String reservationNumber, boolean includeHistory) {
+        Optional<ReservationDTO> reservation = reservationRepository.findViewByReservationNumber(reservationNumber);
+        boolean archived = reservation.isEmpty() && includeHistory;
+        if (archived) {
+            reservation = archivedReservationRepository.findViewByReservationNumber(reservationNumber);
+        }
+        return withItems(List.of(reservation.orElseThrow(
+                () -> new ResourceNotFoundException("Reservation not found with number: " + reservationNumber))), archived)
+                .get(0);
     }
 
     @Override
     public List<ReservationDTO> getAllReservations() {
-        List<Reservation> reservations = reservationRepository.findAll();
-        return reservations.stream()
-                .map(reservationMapper::toDTO)
-                .collect(Collectors.toList());
+        return withItems(reservationRepository.findAllViews());
+    }
+
+    @Override
+    public PageDTO<ReservationDTO> getReservationsPage(Long after, int limit, boolean includeHistory) {
+        int pageSize = PageDTO.clampLimit(limit);
+        long cursor = PageDTO.startAfter(after);
+        // Reservation ids are ints, so a cursor outside that range cannot have come from a previous page.
+        if (cursor != (int) cursor) {
+            throw new BusinessException("Cursor " + after + " is out of range");
+        }
+        int start = (int) cursor;
+        PageRequest rowsPage = PageRequest.of(0, pageSize + 1);
+        List<ReservationDTO> rows = reservationRepository.findViewsAfter(start, rowsPage);
+        if (includeHistory) {
+            rows = mergeById(rows, archivedReservationRepository.findViewsAfter(start, rowsPage), pageSize + 1);
+        }
+        PageDTO<ReservationDTO> page = PageDTO.fromRows(rows, pageSize, ReservationDTO::getId, row -> row);
+        withItems(page.getItems(), includeHistory);
+        return page;
     }
 
     @Override
@@ -122,14 +302,15 @@ public class ReservationServiceImpl implements ReservationService {
     public boolean addServiceToReservation(String reservationNumber, Long serviceId) {
         Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
-        AdditionalService service = serviceRepository.findById(serviceId)
+        CatalogItem service = catalogCache.service(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
 
-        if (reservation.getAdditionalServices().contains(service)) {
+        if (reservation.getAdditionalServices().stream().anyMatch(s -> service.id().equals(s.getId()))) {
             return false;
         }
 
-        reservation.getAdditionalServices().add(service);
+        reservation.getAdditionalServices().add(serviceRepository.getReferenceById(service.id()));
+        addToTotal(reservation, service);
         reservationRepository.save(reservation);
         return true;
     }
@@ -139,14 +320,44 @@ public class ReservationServiceImpl implements ReservationService {
     public boolean addEquipmentToReservation(String reservationNumber, Long equipmentId) {
         Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
-        Equipment equipment = equipmentRepository.findById(equipmentId)
+        CatalogItem equipment = catalogCache.equipment(equipmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Equipment not found"));
 
-        if (reservation.getAdditionalEquipments().contains(equipment)) {
+        if (reservation.getAdditionalEquipments().stream().anyMatch(e -> e.getId().equals(equipment.id()))) {
+            return false;
+        }
+        if (holdsEquipment(reservation)
+                && !equipmentStock.tryReserve(List.of(equipment.id()), reservation.getPickUpLocation().getId()).isEmpty()) {
+            throw new BusinessException("Equipment " + equipment.name() + " is out of stock at "
+                    + reservation.getPickUpLocation().getCode());
+        }
+
+        reservation.getAdditionalEquipments().add(equipmentRepository.getReferenceById(equipment.id()));
+        addToTotal(reservation, equipment);
+        reservationRepository.save(reservation);
+        return true;
+    }
+
+    // Extras are priced flat, so an item added after booking adds its price to the total quoted at booking.
+    private static void addToTotal(Reservation reservation, CatalogItem item) {
+        if (reservation.getTotalAmount() != null) {
+            reservation.setTotalAmount(BigDecimal.valueOf(
+                    PricingEngine.toCents(reservation.getTotalAmount()) + PricingEngine.toCents(item.price()), 2));
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean pickUpCar(String reservationNumber) {
+        Reservation reservation = reservationRepository.findForUpdateByReservationNumber(reservationNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+
+        if ((reservation.getStatus() != ReservationStatus.ACTIVE && reservation.getStatus() != ReservationStatus.CONFIRMED)
+                || reservation.getPickedUpDate() != null) {
             return false;
         }
 
-        reservation.getAdditionalEquipments().add(equipment);
+        reservation.setPickedUpDate(LocalDateTime.now());
         reservationRepository.save(reservation);
         return true;
     }
@@ -154,19 +365,24 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional
     public boolean returnCar(String reservationNumber) {
-        Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
+        Reservation reservation = reservationRepository.findForUpdateByReservationNumber(reservationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
 
-        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+        if (reservation.getStatus() != ReservationStatus.ACTIVE && reservation.getStatus() != ReservationStatus.CONFIRMED) {
             return false;
         }
 
+        releaseEquipment(reservation);
         reservation.setStatus(ReservationStatus.COMPLETED);
         reservation.setReturnDate(LocalDateTime.now());
 
         Car car = reservation.getCar();
-        car.setStatus(CarStatus.AVAILABLE);
-        carRepository.save(car);
+        if (car != null && reservation.getDropOffLocation() != null) {
+            car.setCurrentLocation(reservation.getDropOffLocation());
+            carRepository.save(car);
+            quoteCache.evictCarAfterCommit(null, car.getCarType());
+        }
+        releaseCar(car, reservation);
 
         reservationRepository.save(reservation);
         return true;
@@ -175,18 +391,18 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional
     public boolean cancelReservation(String reservationNumber) {
-        Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
+        Reservation reservation = reservationRepository.findForUpdateByReservationNumber(reservationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
 
-        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+        if (reservation.getStatus() != ReservationStatus.ACTIVE && reservation.getStatus() != ReservationStatus.CONFIRMED) {
             return false;
         }
 
+        releaseEquipment(reservation);
         reservation.setStatus(ReservationStatus.CANCELLED);
 
         Car car = reservation.getCar();
-        car.setStatus(CarStatus.AVAILABLE);
-        carRepository.save(car);
+        releaseCar(car, reservation);
 
         reservationRepository.save(reservation);
         return true;
@@ -195,9 +411,14 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional
     public boolean deleteReservation(String reservationNumber) {
-        Reservation reservation = reservationRepository.findByReservationNumber(reservationNumber)
+        Reservation reservation = reservationRepository.findForUpdateByReservationNumber(reservationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
 
+        if (reservation.getCar() != null) {
+            availabilityIndex.releaseAfterCommit(reservation.getCar().getId(), reservation.getId());
+        }
+        releaseEquipment(reservation);
+
         // Disassociate related entities
         reservation.setCar(null);
         reservation.setMember(null);
@@ -209,30 +430,246 @@ public class ReservationServiceImpl implements ReservationService {
     }
 
     @Override
-    public List<ReservationDTO> getReservationsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Reservation> reservations = reservationRepository.findByPickUpDateTimeBetween(startDate, endDate);
-        return reservations.stream()
-                .map(reservationMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<ReservationDTO> getReservationsBetweenDates(LocalDateTime startDate, LocalDateTime endDate,
+                                                            boolean includeHistory) {
+        List<ReservationDTO> rows = reservationRepository.findViewsByPickUpDateTimeBetween(startDate, endDate);
+        if (includeHistory) {
+            rows = mergeById(rows, archivedReservationRepository.findViewsByPickUpDateTimeBetween(startDate, endDate),
+                    Integer.MAX_VALUE);
+        }
+        return withItems(rows, includeHistory);
     }
 
+    @Override
+    public OccupancyCalendarDTO getOccupancyCalendar(LocalDateTime from, LocalDateTime to, CarType carType,
+                                                     String locationCode) {
+        if (!from.isBefore(to)) {
+            throw new BusinessException("Calendar start must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_CALENDAR_RANGE) > 0) {
+            throw new BusinessException("Calendar range must not be longer than " + MAX_CALENDAR_RANGE.toDays() + " days");
+        }
+        List<OccupancyRowDTO> rows = reservationRepository.findOccupancy(OCCUPYING_STATUSES, from, to, carType, locationCode);
+
+        // Rows come sorted by car and start, so one pass clips each interval to the range and merges it into the
+        // previous one of the same car when they touch.
+        List<CarOccupancyDTO> cars = new ArrayList<>();
+        Long carId = null;
+        List<int[]> intervals = null;
+        int[] last = null;
+        for (OccupancyRowDTO row : rows) {
+            if (!row.carId().equals(carId)) {
+                carId = row.carId();
+                intervals = new ArrayList<>();
+                cars.add(new CarOccupancyDTO(row.barcodeNumber(), intervals));
+                last = null;
+            }
+            int start = (int) Duration.between(from, row.start().isBefore(from) ? from : row.start()).toMinutes();
+            Duration untilEnd = Duration.between(from, row.end().isAfter(to) ? to : row.end());
+            int end = (int) (untilEnd.toMinutes() + (untilEnd.toSecondsPart() > 0 || untilEnd.toNanosPart() > 0 ? 1 : 0));
+            if (last != null && start <= last[1]) {
+                last[1] = Math.max(last[1], end);
+            } else {
+                last = new int[]{start, end};
+                intervals.add(last);
+            }
+        }
+        return new OccupancyCalendarDTO(from, to, cars);
+    }
 
-    private String generateReservationNumber() {
+    @Override
+    public void exportReservations(LocalDateTime startDate, LocalDateTime endDate, boolean includeHistory,
+                                   ExportFormat format, OutputStream out) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new BusinessException("Export date filter needs both a start and an end date");
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Rows are read through a forward-only cursor and written one page at a time; only the current
+        // page (and its equipment/service names) is ever held in memory.
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ReservationDTO> rows = startDate == null
+                    ? reservationRepository.streamAllViews()
+                    : reservationRepository.streamViewsByPickUpDateTimeBetween(startDate, endDate);
+                 Stream<ReservationDTO> archivedRows = !includeHistory ? Stream.empty() : startDate == null
+                         ? archivedReservationRepository.streamAllViews()
+                         : archivedReservationRepository.streamViewsByPickUpDateTimeBetween(startDate, endDate)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                List<ReservationDTO> page = new ArrayList<>(ReservationRepository.EXPORT_FETCH_SIZE);
+                Iterator<ReservationDTO> iterator = new MergingIterator(rows.iterator(), archivedRows.iterator());
+                while (iterator.hasNext()) {
+                    page.add(iterator.next());
+                    if (page.size() == ReservationRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                        writePage(withItems(page, includeHistory), format, writer);
+                        page.clear();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
-        return String.format("%08d", new Random().nextInt(100_000_000));
+    private void writePage(List<ReservationDTO> page, ExportFormat format, Writer writer) throws IOException {
+        for (ReservationDTO reservation : page) {
+            if (format == ExportFormat.CSV) {
+                writer.write(toCsvLine(reservation));
+            } else {
+                writer.write(objectMapper.writeValueAsString(reservation));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
     }
 
-    private double calculateTotalAmount(Reservation reservation) {
-        double total = reservation.getDayCount() * reservation.getCar().getDailyPrice().doubleValue();
+    private static String toCsvLine(ReservationDTO reservation) {
+        return String.join(",",
+                csv(reservation.getId()),
+                csv(reservation.getReservationNumber()),
+                csv(reservation.getCreationDate()),
+                csv(reservation.getPickUpDateTime()),
+                csv(reservation.getDropOffDateTime()),
+                csv(reservation.getReturnDate()),
+                csv(reservation.getStatus()),
+                csv(reservation.getDayCount()),
+                csv(reservation.getMemberId()),
+                csv(reservation.getMemberName()),
+                csv(reservation.getCarBarcodeNumber()),
+                csv(reservation.getCarBrand()),
+                csv(reservation.getCarModel()),
+                csv(reservation.getPickUpLocationCode()),
+                csv(reservation.getDropOffLocationCode()),
+                csv(reservation.getTotalAmount()),
+                csv(String.join(";", reservation.getAdditionalEquipmentNames())),
+                csv(String.join(";", reservation.getAdditionalServiceNames())));
+    }
 
-        for (AdditionalService service : reservation.getAdditionalServices()) {
-            total += service.getPrice().doubleValue();
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
         }
+        return text;
+    }
+
+    private List<ReservationDTO> withItems(List<ReservationDTO> reservations) {
+        return withItems(reservations, false);
+    }
 
-        for (Equipment equipment : reservation.getAdditionalEquipments()) {
-            total += equipment.getPrice().doubleValue();
+    // Ids are kept when a reservation is archived, so items of both tables can be looked up by the same keys.
+    private List<ReservationDTO> withItems(List<ReservationDTO> reservations, boolean includeHistory) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+        Map<Integer, ReservationDTO> byId = new HashMap<>();
+        for (ReservationDTO reservation : reservations) {
+            reservation.setAdditionalEquipmentIds(new ArrayList<>());
+            reservation.setAdditionalEquipmentNames(new ArrayList<>());
+            reservation.setAdditionalServiceIds(new ArrayList<>());
+            reservation.setAdditionalServiceNames(new ArrayList<>());
+            byId.put(reservation.getId().intValue(), reservation);
+        }
+        for (ReservationItemDTO item : reservationRepository.findEquipmentItems(byId.keySet())) {
+            ReservationDTO reservation = byId.get(item.reservationId());
+            reservation.getAdditionalEquipmentIds().add(item.itemId());
+            reservation.getAdditionalEquipmentNames().add(item.itemName());
         }
+        for (ReservationItemDTO item : reservationRepository.findServiceItems(byId.keySet())) {
+            ReservationDTO reservation = byId.get(item.reservationId());
+            reservation.getAdditionalServiceIds().add(item.itemId());
+            reservation.getAdditionalServiceNames().add(item.itemName());
+        }
+        if (includeHistory) {
+            for (ReservationItemDTO item : archivedReservationRepository.findEquipmentItems(byId.keySet())) {
+                ReservationDTO reservation = byId.get(item.reservationId());
+                reservation.getAdditionalEquipmentIds().add(item.itemId());
+                reservation.getAdditionalEquipmentNames().add(item.itemName());
+            }
+            for (ReservationItemDTO item : archivedReservationRepository.findServiceItems(byId.keySet())) {
+                ReservationDTO reservation = byId.get(item.reservationId());
+                reservation.getAdditionalServiceIds().add(item.itemId());
+                reservation.getAdditionalServiceNames().add(item.itemName());
+            }
+        }
+        return reservations;
+    }
+
+    private static List<ReservationDTO> mergeById(List<ReservationDTO> hot, List<ReservationDTO> archived, int limit) {
+        List<ReservationDTO> merged = new ArrayList<>(Math.min(limit, hot.size() + archived.size()));
+        Iterator<ReservationDTO> iterator = new MergingIterator(hot.iterator(), archived.iterator());
+        while (merged.size() < limit && iterator.hasNext()) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
 
-        return total;
+    /**
+     * Merges two id-ordered sequences of reservations into one. A reservation lives in exactly one of the
+     * tables at a time, so no id appears on both sides.
+     */
+    private static final class MergingIterator implements Iterator<ReservationDTO> {
+
+        private final Iterator<ReservationDTO> first;
+        private final Iterator<ReservationDTO> second;
+        private ReservationDTO nextFirst;
+        private ReservationDTO nextSecond;
+
+        MergingIterator(Iterator<ReservationDTO> first, Iterator<ReservationDTO> second) {
+            this.first = first;
+            this.second = second;
+            this.nextFirst = first.hasNext() ? first.next() : null;
+            this.nextSecond = second.hasNext() ? second.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFirst != null || nextSecond != null;
+        }
+
+        @Override
+        public ReservationDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ReservationDTO result;
+            if (nextSecond == null || (nextFirst != null && nextFirst.getId() < nextSecond.getId())) {
+                result = nextFirst;
+                nextFirst = first.hasNext() ? first.next() : null;
+            } else {
+                result = nextSecond;
+                nextSecond = second.hasNext() ? second.next() : null;
+            }
+            return result;
+        }
+    }
+
+
+    private void releaseCar(Car car, Reservation reservation) {
+        if (car == null) {
+            return;
+        }
+        if (!availabilityIndex.hasOtherBookings(car.getId(), reservation.getId())) {
+            car.setStatus(CarStatus.AVAILABLE);
+            carRepository.save(car);
+        }
+        availabilityIndex.releaseAfterCommit(car.getId(), reservation.getId());
+    }
+
+    // Equipment units are taken at the pick-up location and held for as long as the reservation is booked.
+    private static boolean holdsEquipment(Reservation reservation) {
+        return reservation.getPickUpLocation() != null
+                && CarAvailabilityIndex.BOOKED_STATUSES.contains(reservation.getStatus());
+    }
+
+    private void releaseEquipment(Reservation reservation) {
+        if (holdsEquipment(reservation) && reservation.getAdditionalEquipments() != null) {
+            equipmentStock.releaseAfterCommit(reservation.getAdditionalEquipments().stream().map(Equipment::getId).toList(),
+                    reservation.getPickUpLocation().getId());
+        }
     }
 }
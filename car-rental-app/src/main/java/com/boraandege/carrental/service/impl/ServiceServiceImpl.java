@@ -1,11 +1,18 @@
 package com.boraandege.carrental.service.impl;
 
 import com.boraandege.carrental.dto.ServiceDTO;
+import com.boraandege.carrental.dto.PageDTO;
 import com.boraandege.carrental.model.AdditionalService;
+import com.boraandege.carrental.exception.BusinessException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.index.QuoteCache;
 import com.boraandege.carrental.mapper.ServiceMapper;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
 import com.boraandege.carrental.repository.ServiceRepository;
 import com.boraandege.carrental.service.ServiceService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,17 +25,26 @@ public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ServiceMapper serviceMapper;
+    private final CatalogCache catalogCache;
+    private final QuoteCache quoteCache;
+    private final ArchivedReservationRepository archivedReservationRepository;
 
     @Autowired
-    public ServiceServiceImpl(ServiceRepository serviceRepository, ServiceMapper serviceMapper) {
+    public ServiceServiceImpl(ServiceRepository serviceRepository, ServiceMapper serviceMapper,
+                              CatalogCache catalogCache, QuoteCache quoteCache,
+                              ArchivedReservationRepository archivedReservationRepository) {
         this.serviceRepository = serviceRepository;
         this.serviceMapper = serviceMapper;
+        this.catalogCache = catalogCache;
+        this.quoteCache = quoteCache;
+        this.archivedReservationRepository = archivedReservationRepository;
     }
 
     @Override
     public ServiceDTO addService(ServiceDTO serviceDTO) {
         AdditionalService service = serviceMapper.toEntity(serviceDTO);
         AdditionalService savedService = serviceRepository.save(service);
+        catalogCache.putServiceAfterCommit(toCatalogItem(savedService));
         return serviceMapper.toDTO(savedService);
     }
 
@@ -47,6 +63,14 @@ public class ServiceServiceImpl implements ServiceService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PageDTO<ServiceDTO> getServicesPage(Long after, int limit) {
+        int pageSize = PageDTO.clampLimit(limit);
+        List<AdditionalService> rows = serviceRepository.findByIdGreaterThanOrderByIdAsc(
+                PageDTO.startAfter(after), PageRequest.of(0, pageSize + 1));
+        return PageDTO.fromRows(rows, pageSize, AdditionalService::getId, serviceMapper::toDTO);
+    }
+
     @Override
     public ServiceDTO updateService(Long id, ServiceDTO serviceDTO) {
         AdditionalService existingService = serviceRepository.findById(id)
@@ -56,6 +80,8 @@ public class ServiceServiceImpl implements ServiceService {
         existingService.setPrice(serviceDTO.getPrice());
 
         AdditionalService updatedService = serviceRepository.save(existingService);
+        catalogCache.putServiceAfterCommit(toCatalogItem(updatedService));
+        quoteCache.evictServiceAfterCommit(id);
         return serviceMapper.toDTO(updatedService);
     }
 
@@ -63,6 +89,16 @@ public class ServiceServiceImpl implements ServiceService {
     public void deleteService(Long id) {
         AdditionalService service = serviceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + id));
+        // Archived reservations keep the services they booked, so a service in the archive stays.
+        if (archivedReservationRepository.existsByAdditionalServicesId(id)) {
+            throw new BusinessException("Service " + service.getName() + " has archived reservations and cannot be deleted");
+        }
         serviceRepository.delete(service);
+        catalogCache.removeServiceAfterCommit(id);
+        quoteCache.evictServiceAfterCommit(id);
+    }
+
+    private static CatalogItem toCatalogItem(AdditionalService service) {
+        return new CatalogItem(service.getId(), service.getName(), service.getPrice());
     }
 }
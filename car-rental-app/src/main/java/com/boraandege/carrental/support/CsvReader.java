@@ -0,0 +1,117 @@
+package com.boraandege.carrental.support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records: comma separated fields, each optionally enclosed in double quotes, where a quoted
+ * field may hold commas, line breaks and quotes written twice. Records end at CRLF, LF or CR. A record with
+ * broken quoting is still read to its end, so the records after it stay aligned, and comes back with an error.
+ */
+public class CsvReader {
+
+    public record Row(int line, List<String> fields, String error) {
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, numbered by the line it starts on, or null at the end of the input.
+     * An empty line is a record with one empty field.
+     */
+    public Row next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        int start = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        String error = null;
+        boolean quoted = false;
+        while (true) {
+            if (c == -1 || c == '\n' || c == '\r') {
+                fields.add(field.toString());
+                endLine(c);
+                return new Row(start, fields, error);
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                quoted = true;
+                if (!readQuoted(field)) {
+                    fields.add(field.toString());
+                    return new Row(start, fields, "unterminated quoted field");
+                }
+            } else {
+                if (quoted && error == null) {
+                    error = "unexpected character after closing quote";
+                }
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Reads up to and including the closing quote; false when the input ends first.
+    private boolean readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return true;
+                }
+                read();
+            } else if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private void endLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        line++;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
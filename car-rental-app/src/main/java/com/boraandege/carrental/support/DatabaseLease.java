@@ -0,0 +1,48 @@
+package com.boraandege.carrental.support;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Named leases in the {@code scheduler_lease} table, used to let only one node at a time run a job.
+ * Expiry is compared against the database clock, so nodes with skewed clocks still agree on it.
+ * Acquiring a lease this instance already holds extends it.
+ */
+@Component
+public class DatabaseLease {
+
+    private static final String EXTEND_SQL = "UPDATE scheduler_lease SET owner = ?, " +
+            "expires_at = DATEADD('MILLISECOND', ?, CURRENT_TIMESTAMP) " +
+            "WHERE name = ? AND (owner = ? OR expires_at <= CURRENT_TIMESTAMP)";
+    private static final String INSERT_SQL = "INSERT INTO scheduler_lease (name, owner, expires_at) " +
+            "VALUES (?, ?, DATEADD('MILLISECOND', ?, CURRENT_TIMESTAMP))";
+    private static final String RELEASE_SQL = "UPDATE scheduler_lease SET expires_at = CURRENT_TIMESTAMP " +
+            "WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public DatabaseLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryAcquire(String name, Duration duration) {
+        long millis = duration.toMillis();
+        if (jdbcTemplate.update(EXTEND_SQL, owner, millis, name, owner) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, name, owner, millis) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE_SQL, name, owner);
+    }
+}
@@ -0,0 +1,171 @@
+package com.boraandege.carrental.support;
+
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.IdempotencyConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an idempotency key. The first request with a key runs; any
+ * duplicate arriving while it is in flight waits on the same future for up to {@code idempotency.wait-timeout},
+ * and duplicates arriving later get the stored result back. Each key is stored with a fingerprint of its
+ * request, and reusing the key for a different request is rejected. Keys are spread over {@link #STRIPES}
+ * independently locked maps, each bounded in size and expiring entries in insertion order after
+ * {@code idempotency.ttl}; an entry still in flight is never dropped, so a retry cannot run it twice. A request
+ * that fails is forgotten so the client can retry it; duplicates already waiting on it get the same failure.
+ */
+@Component
+public class IdempotencyStore {
+
+    static final int STRIPES = 64;
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long ttlNanos;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(@Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeout = waitTimeout;
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code fingerprint} identifies the request the key was first sent
+     * with, e.g. a hash of its body from {@link #fingerprint(byte[])}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, String fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters long");
+        }
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Entry existing = stripe.putIfAbsent(key, new Entry(future, fingerprint, System.nanoTime() + ttlNanos));
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+            }
+            return new Result<>((T) await(existing.future()), true);
+        }
+
+        try {
+            T value = action.get();
+            future.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            stripe.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public static String fingerprint(byte[] request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("A request with this idempotency key is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(CompletableFuture<Object> future, String fingerprint, long expiresAt) {
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        private final int capacity;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        Entry putIfAbsent(String key, Entry entry) {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                Entry existing = entries.get(key);
+                if (existing != null && (!existing.future().isDone() || existing.expiresAt() - now > 0)) {
+                    return existing;
+                }
+                purge(now);
+                entries.remove(key);
+                entries.put(key, entry);
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key, CompletableFuture<Object> future) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.future() == future) {
+                    entries.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Every entry lives for the same TTL, so insertion order is expiry order. Drops expired entries and,
+        // while the stripe is full, the oldest completed ones; entries still in flight are skipped, so a full
+        // stripe of in-flight requests may briefly grow past its capacity.
+        private void purge(long now) {
+            int excess = entries.size() + 1 - capacity;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (excess <= 0 && entry.expiresAt() - now > 0) {
+                    return;
+                }
+                if (entry.future().isDone()) {
+                    iterator.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+}
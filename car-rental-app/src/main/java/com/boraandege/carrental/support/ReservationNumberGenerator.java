@@ -0,0 +1,86 @@
+package com.boraandege.carrental.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Hands out 8-character reservation numbers that are unique across threads, restarts and nodes.
+ * Each node reserves a block of {@link #BLOCK_SIZE} values from a database sequence (hi/lo) and
+ * serves the block with a single atomic counter, so only one call per block touches the database.
+ * Values are spread over the whole base-36 space by a bijective affine map, which keeps them unique
+ * while making consecutive bookings hard to guess.
+ */
+@Component
+public class ReservationNumberGenerator {
+
+    // Must match the INCREMENT BY of reservation_number_seq in schema.sql.
+    static final int BLOCK_SIZE = 1000;
+
+    static final int LENGTH = 8;
+    private static final long SPACE = 2_821_109_907_456L; // 36^8
+    private static final long MULTIPLIER = 1_299_709L;     // coprime with 36^8 and small enough not to overflow
+    private static final long OFFSET = 1_679_616_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Block block;
+
+    public ReservationNumberGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String next() {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long value = current.next.getAndIncrement();
+                if (value < current.end) {
+                    return encode(value);
+                }
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * Reserves {@code count} numbers for a bulk load in one go. The returned function maps each index
+     * in {@code [0, count)} to its own number; the numbers never collide with any handed out by {@link #next()}.
+     */
+    public IntFunction<String> reserve(int count) {
+        long[] blockStarts = new long[(count + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        for (int i = 0; i < blockStarts.length; i++) {
+            blockStarts[i] = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR reservation_number_seq", Long.class);
+        }
+        return index -> encode(blockStarts[index / BLOCK_SIZE] + index % BLOCK_SIZE);
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block == exhausted) {
+            Long start = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR reservation_number_seq", Long.class);
+            block = new Block(start, start + BLOCK_SIZE);
+        }
+    }
+
+    static String encode(long value) {
+        long scrambled = (Math.floorMod(value, SPACE) * MULTIPLIER + OFFSET) % SPACE;
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = Character.toUpperCase(Character.forDigit((int) (scrambled % 36), 36));
+            scrambled /= 36;
+        }
+        return new String(chars);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
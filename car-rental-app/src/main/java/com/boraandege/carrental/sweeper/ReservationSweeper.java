@@ -0,0 +1,163 @@
+package com.boraandege.carrental.sweeper;
+
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.index.BookedInterval;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.EquipmentStockIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.support.DatabaseLease;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Closes reservations nobody will close by hand. An ACTIVE or CONFIRMED reservation whose car was never
+ * picked up becomes CANCELLED once it is well past its pick-up time (a no-show); one well past its drop-off
+ * time becomes COMPLETED, with no return date, as the return was never recorded. No-shows are swept first,
+ * so a car that was never collected is not closed as a finished rental. Each chunk is moved with bulk
+ * updates in its own transaction, and the cars it frees are set back to AVAILABLE once they have no booked
+ * reservation left; the equipment units the reservations held go back to stock.
+ * <p>
+ * Runs are guarded by a database lease, so with several nodes only one sweeps at a time; the status
+ * conditions in the updates keep a run harmless even if two ever overlap.
+ */
+@Component
+@EnableConfigurationProperties(SweeperProperties.class)
+public class ReservationSweeper {
+
+    static final String LEASE_NAME = "reservation-sweeper";
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationSweeper.class);
+
+    private static final List<ReservationStatus> OPEN_STATUSES =
+            List.of(ReservationStatus.ACTIVE, ReservationStatus.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+    private final CarRepository carRepository;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final FleetBitmapIndex fleetIndex;
+    private final EquipmentStockIndex equipmentStock;
+    private final DatabaseLease lease;
+    private final TransactionTemplate transactionTemplate;
+    private final SweeperProperties properties;
+    private final Timer runTimer;
+
+    public ReservationSweeper(ReservationRepository reservationRepository, CarRepository carRepository,
+                              CarAvailabilityIndex availabilityIndex, FleetBitmapIndex fleetIndex,
+                              EquipmentStockIndex equipmentStock, DatabaseLease lease,
+                              TransactionTemplate transactionTemplate, SweeperProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.carRepository = carRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.fleetIndex = fleetIndex;
+        this.equipmentStock = equipmentStock;
+        this.lease = lease;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.runTimer = Timer.builder("reservation.sweeper.run")
+                .description("Duration of reservation sweeper runs that held the lease")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${reservation.sweeper.interval:PT1M}",
+            fixedDelayString = "${reservation.sweeper.interval:PT1M}")
+    public void scheduledSweep() {
+        if (properties.enabled()) {
+            sweep();
+        }
+    }
+
+    public SweepResult sweep() {
+        if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+            return SweepResult.SKIPPED;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Totals noShows = sweep(ReservationStatus.CANCELLED, now.minus(properties.noShowGrace()), false);
+            Totals overdue = sweep(ReservationStatus.COMPLETED, now.minus(properties.overdueGrace()), true);
+            SweepResult result = new SweepResult(true, overdue.reservations, noShows.reservations,
+                    overdue.cars + noShows.cars);
+            if (result.overdue() > 0 || result.noShows() > 0) {
+                log.info("Closed {} overdue reservations and {} no-shows, released {} cars",
+                        result.overdue(), result.noShows(), result.carsReleased());
+            }
+            return result;
+        } finally {
+            sample.stop(runTimer);
+            lease.release(LEASE_NAME);
+        }
+    }
+
+    private Totals sweep(ReservationStatus to, LocalDateTime cutoff, boolean byDropOff) {
+        Totals totals = new Totals();
+        Pageable chunk = PageRequest.of(0, properties.chunkSize());
+        while (true) {
+            if (!lease.tryAcquire(LEASE_NAME, properties.leaseDuration())) {
+                log.warn("Reservation sweeper lost its lease, stopping this run");
+                return totals;
+            }
+            Chunk moved = transactionTemplate.execute(status -> {
+                List<BookedInterval> reservations = byDropOff
+                        ? reservationRepository.findDroppingOffBefore(OPEN_STATUSES, cutoff, chunk)
+                        : reservationRepository.findUncollectedPickingUpBefore(OPEN_STATUSES, cutoff, chunk);
+                if (reservations.isEmpty()) {
+                    return new Chunk(0, 0, 0);
+                }
+                // Only the rows still in a source status are moved and give their equipment back; one closed by
+                // hand since the select has already released its units, and a no-show picked up since is left open.
+                List<Integer> selected = reservations.stream().map(BookedInterval::reservationId).toList();
+                Set<Integer> ids = new HashSet<>(byDropOff
+                        ? reservationRepository.lockIdsInStatus(selected, OPEN_STATUSES)
+                        : reservationRepository.lockUncollectedIdsInStatus(selected, OPEN_STATUSES));
+                if (ids.isEmpty()) {
+                    return new Chunk(reservations.size(), 0, 0);
+                }
+                equipmentStock.releaseAfterCommit(reservationRepository.findEquipmentUnits(ids));
+                int updated = reservationRepository.updateStatus(ids, OPEN_STATUSES, to);
+                List<BookedInterval> closed = reservations.stream()
+                        .filter(reservation -> ids.contains(reservation.reservationId())).toList();
+                for (BookedInterval reservation : closed) {
+                    availabilityIndex.releaseAfterCommit(reservation.carId(), reservation.reservationId());
+                }
+
+                List<Long> carIds = closed.stream().map(BookedInterval::carId).filter(Objects::nonNull).distinct().toList();
+                int released = 0;
+                if (!carIds.isEmpty()) {
+                    released = carRepository.releaseLoanedCars(carIds, CarAvailabilityIndex.BOOKED_STATUSES);
+                    fleetIndex.putAll(carRepository.findFleetEntriesByIdIn(carIds));
+                }
+                return new Chunk(reservations.size(), updated, released);
+            });
+            totals.reservations += moved.updated();
+            totals.cars += moved.carsReleased();
+            if (moved.selected() < properties.chunkSize()) {
+                return totals;
+            }
+        }
+    }
+
+    private record Chunk(int selected, int updated, int carsReleased) {
+    }
+
+    private static final class Totals {
+        private int reservations;
+        private int cars;
+    }
+}
@@ -0,0 +1,9 @@
+package com.boraandege.carrental.sweeper;
+
+/**
+ * Outcome of one {@link ReservationSweeper} run; {@code leaseAcquired} is false when another node was running.
+ */
+public record SweepResult(boolean leaseAcquired, int overdue, int noShows, int carsReleased) {
+
+    static final SweepResult SKIPPED = new SweepResult(false, 0, 0, 0);
+}
@@ -0,0 +1,27 @@
+package com.boraandege.carrental.sweeper;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link ReservationSweeper}.
+ *
+ * @param enabled       whether the scheduled run is active; {@link ReservationSweeper#sweep()} can always be called
+ * @param interval      pause between the end of one run and the start of the next
+ * @param chunkSize     reservations moved per transaction
+ * @param overdueGrace  how long after its drop-off time an ACTIVE or CONFIRMED reservation is closed as overdue
+ * @param noShowGrace   how long after its pick-up time an ACTIVE or CONFIRMED reservation whose car was not picked
+ *                      up is cancelled as a no-show
+ * @param leaseDuration how long a run may hold the lease without renewing it; renewed before every chunk
+ */
+@ConfigurationProperties("reservation.sweeper")
+public record SweeperProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT1M") Duration interval,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("PT1H") Duration overdueGrace,
+        @DefaultValue("PT2H") Duration noShowGrace,
+        @DefaultValue("PT5M") Duration leaseDuration) {
+}
@@ -1,6 +1,6 @@
 
-INSERT INTO locations (code, name, address) VALUES ('BASE_LOC_1', 'İstanbul Airport Base', 'Base Address 1');
-INSERT INTO locations (code, name, address) VALUES ('BASE_LOC_2', 'İstanbul Sabiha Gökçen Airport Base', 'Base Address 2');
+INSERT INTO locations (code, name, address, latitude, longitude) VALUES ('BASE_LOC_1', 'İstanbul Airport Base', 'Base Address 1', 41.2753, 28.7519);
+INSERT INTO locations (code, name, address, latitude, longitude) VALUES ('BASE_LOC_2', 'İstanbul Sabiha Gökçen Airport Base', 'Base Address 2', 40.8986, 29.3092);
 
 
 INSERT INTO equipments (name, price) VALUES ('GPS_BASE', 15.00);
@@ -11,6 +11,7 @@ INSERT INTO member (name, address, email, phone, driving_license_number)
 VALUES ('John Doe Base', '123 Main St Base', 'john.doe.base@example.com', '555-1234', 'DL123456_BASE');
 
 INSERT INTO cars (
+    id,
     barcode_number,
     license_plate_number,
     passenger_capacity,
@@ -20,8 +21,10 @@ INSERT INTO cars (
     transmission_type,
     daily_price,
     status,
-    car_type
+    car_type,
+    current_location_id
 ) VALUES (
+    NEXT VALUE FOR car_seq,
     'CAR_BASE_123',
     '34ABC34',
     4,
@@ -31,7 +34,8 @@ INSERT INTO cars (
     'AUTOMATIC',
     150.00,
     'AVAILABLE',
-    'ECONOMY'
+    'ECONOMY',
+    (SELECT id FROM locations WHERE code = 'BASE_LOC_1')
 );
 
 INSERT INTO reservations (
@@ -45,7 +49,8 @@ INSERT INTO reservations (
     car_id,
     pick_up_location_id,
     drop_off_location_id,
-    reservation_number
+    reservation_number,
+    total_amount
 ) VALUES (
     2,
     CURRENT_TIMESTAMP,
@@ -57,7 +62,8 @@ INSERT INTO reservations (
     1,
     1,
     2,
-    'RESB1234'
+    'RESB1234',
+    325.00
 );
 
 INSERT INTO reservation_equipment (reservation_id, equipment_id)
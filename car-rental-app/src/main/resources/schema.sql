@@ -0,0 +1,7 @@
+CREATE SEQUENCE IF NOT EXISTS reservation_number_seq START WITH 1 INCREMENT BY 1000;
+
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,166 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.EquipmentStockIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.index.QuoteCache;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Cars, locations and reservations for the tests extending {@link BookingIntegrationTest}, and the clean-up
+ * that puts the shared database and the in-memory indexes back to the seed data after each test.
+ */
+class BookingFixtures {
+
+    static final BigDecimal DAILY_PRICE = BigDecimal.valueOf(50);
+
+    // Child tables first, so nothing is deleted while a row still refers to it.
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("reservation_equipment_archive", "reservation_id");
+        TABLES.put("reservation_service_archive", "reservation_id");
+        TABLES.put("reservations_archive", "id");
+        TABLES.put("reservation_equipment", "reservation_id");
+        TABLES.put("reservation_service", "reservation_id");
+        TABLES.put("reservations", "id");
+        TABLES.put("equipment_stock", "id");
+        TABLES.put("cars", "id");
+        TABLES.put("member", "id");
+        TABLES.put("locations", "id");
+        TABLES.put("equipments", "id");
+        TABLES.put("services", "id");
+    }
+
+    private final CarRepository carRepository;
+    private final LocationRepository locationRepository;
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final FleetBitmapIndex fleetIndex;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final EquipmentStockIndex stockIndex;
+    private final CatalogCache catalogCache;
+    private final QuoteCache quoteCache;
+
+    // Highest id per table before the first test ran, which is where the seed data ends.
+    private Map<String, Long> seeded;
+
+    BookingFixtures(CarRepository carRepository, LocationRepository locationRepository,
+                    ReservationRepository reservationRepository, JdbcTemplate jdbcTemplate,
+                    EntityManagerFactory entityManagerFactory, FleetBitmapIndex fleetIndex,
+                    CarAvailabilityIndex availabilityIndex, EquipmentStockIndex stockIndex,
+                    CatalogCache catalogCache, QuoteCache quoteCache) {
+        this.carRepository = carRepository;
+        this.locationRepository = locationRepository;
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.fleetIndex = fleetIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.stockIndex = stockIndex;
+        this.catalogCache = catalogCache;
+        this.quoteCache = quoteCache;
+    }
+
+    Location location(String code) {
+        return locationRepository.findByCode(code).orElseThrow();
+    }
+
+    Location location(String code, double latitude, double longitude) {
+        Location location = new Location();
+        location.setCode(code);
+        location.setName(code);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return locationRepository.save(location);
+    }
+
+    // A car that is not parked at any location.
+    Car car(String barcodeNumber, CarType carType, CarStatus status) {
+        return car(barcodeNumber, carType, status, null);
+    }
+
+    Car car(String barcodeNumber, CarType carType, CarStatus status, Location location) {
+        Car car = new Car();
+        car.setBarcodeNumber(barcodeNumber);
+        car.setDailyPrice(DAILY_PRICE);
+        car.setStatus(status);
+        car.setCarType(carType);
+        car.setTransmissionType(TransmissionType.MANUAL);
+        car.setPassengerCapacity(5);
+        car.setCurrentLocation(location);
+        return carRepository.save(car);
+    }
+
+    // Written straight to the database, bypassing the booking rules; picked up from where the car is parked.
+    Reservation reservation(String number, Car car, ReservationStatus status, LocalDateTime pickUp,
+                            LocalDateTime dropOff) {
+        return reservation(number, car, status, pickUp, dropOff, reservation -> {
+        });
+    }
+
+    Reservation reservation(String number, Car car, ReservationStatus status, LocalDateTime pickUp,
+                            LocalDateTime dropOff, Consumer<Reservation> details) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationNumber(number);
+        reservation.setCar(car);
+        reservation.setStatus(status);
+        reservation.setCreationDate(pickUp.minusDays(1));
+        reservation.setPickUpDateTime(pickUp);
+        reservation.setDropOffDateTime(dropOff);
+        reservation.setPickUpLocation(car != null ? car.getCurrentLocation() : null);
+        details.accept(reservation);
+        return reservationRepository.save(reservation);
+    }
+
+    // A booking request for the seeded member; the caller sets the car or the car type.
+    ReservationDTO booking(String pickUpLocationCode, String dropOffLocationCode, LocalDateTime pickUp, int dayCount) {
+        ReservationDTO request = new ReservationDTO();
+        request.setMemberId(1L);
+        request.setPickUpLocationCode(pickUpLocationCode);
+        request.setDropOffLocationCode(dropOffLocationCode);
+        request.setPickUpDateTime(pickUp);
+        request.setDayCount(dayCount);
+        return request;
+    }
+
+    void rememberSeed() {
+        if (seeded == null) {
+            Map<String, Long> highest = new LinkedHashMap<>();
+            TABLES.forEach((table, column) -> highest.put(table, jdbcTemplate.queryForObject(
+                    "select coalesce(max(" + column + "), 0) from " + table, Long.class)));
+            seeded = highest;
+        }
+    }
+
+    // Deletes every row a test added and rebuilds what is kept in memory from what is left.
+    void restoreSeed() {
+        TABLES.forEach((table, column) -> jdbcTemplate.update(
+                "delete from " + table + " where " + column + " > ?", seeded.get(table)));
+        entityManagerFactory.getCache().evictAll();
+        fleetIndex.rebuild();
+        availabilityIndex.rebuild();
+        stockIndex.rebuild();
+        catalogCache.reload();
+        quoteCache.evictAll();
+    }
+}
@@ -0,0 +1,37 @@
+package com.boraandege.carrental;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Base of the tests that drive bookings through their life cycle. They all run against one application
+ * context and database, with the scheduled jobs off so that only the test moves reservations, and small
+ * chunks so that the sweeper and the archiver go through several of them. Each test starts from the seed data.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookings;DB_CLOSE_DELAY=-1",
+        "fleet.allocation.reoptimize-enabled=false",
+        "reservation.sweeper.enabled=false",
+        "reservation.sweeper.chunk-size=2",
+        "reservation.archive.enabled=false",
+        "reservation.archive.batch-size=2"
+})
+@Import(BookingFixtures.class)
+abstract class BookingIntegrationTest {
+
+    @Autowired
+    protected BookingFixtures fixtures;
+
+    @BeforeEach
+    void rememberSeed() {
+        fixtures.rememberSeed();
+    }
+
+    @AfterEach
+    void restoreSeed() {
+        fixtures.restoreSeed();
+    }
+}
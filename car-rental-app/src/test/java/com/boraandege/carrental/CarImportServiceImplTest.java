@@ -0,0 +1,134 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.CarImportResultDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.service.impl.CarImportServiceImpl;
+import com.boraandege.carrental.service.impl.CarServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CarImportServiceImplTest {
+
+    @Autowired
+    private CarImportServiceImpl carImportService;
+
+    @Autowired
+    private CarServiceImpl carService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private FleetBitmapIndex fleetIndex;
+
+    @Test
+    void testImportCars_ValidatesAndDeduplicates() {
+        CarDTO missingType = newCar("IMPORT_BAD");
+        missingType.setCarType(null);
+
+        CarImportResultDTO result = carImportService.importCars(Arrays.asList(
+                newCar("IMPORT_1"),
+                newCar("IMPORT_2"),
+                newCar("IMPORT_1"),
+                newCar("CAR_BASE_123"),
+                missingType,
+                null));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of("row 5: carType is required", "row 6: empty entry"), result.getErrors());
+
+        Car imported = carRepository.findByBarcodeNumber("IMPORT_2").orElseThrow();
+        assertEquals(CarStatus.AVAILABLE, imported.getStatus());
+        assertTrue(carService.searchAvailableCars(CarType.SUV, TransmissionType.AUTOMATIC).stream()
+                .anyMatch(car -> car.getBarcodeNumber().equals("IMPORT_2")));
+    }
+
+    @Test
+    void testImportCarsCsv_IdsDoNotCollideWithJpaInserts() {
+        String csv = "barcodeNumber,brand,passengerCapacity,dailyPrice,carType,transmissionType\n" +
+                "CSV_1,Fiat,5,40.00,ECONOMY,MANUAL\n" +
+                "\n" +
+                "CSV_2,Fiat,five,40.00,ECONOMY,MANUAL\n" +
+                "CSV_3,Fiat,4,45.50,economy,automatic\n" +
+                "CSV_4,Fiat,4,45.50,BOAT,MANUAL\n";
+
+        CarImportResultDTO result = carImportService.importCarsCsv(new StringReader(csv));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of("line 4: invalid number", "line 6: invalid carType 'BOAT'"), result.getErrors());
+
+        CarDTO added = carService.addCar(newCar("JPA_AFTER_IMPORT"));
+        Car csvCar = carRepository.findByBarcodeNumber("CSV_3").orElseThrow();
+        assertEquals(new BigDecimal("45.50"), csvCar.getDailyPrice());
+        assertEquals(TransmissionType.AUTOMATIC, csvCar.getTransmissionType());
+        assertNotEquals(csvCar.getId(), added.getId());
+        assertEquals(1, carRepository.findAll().stream().filter(car -> car.getId().equals(added.getId())).count());
+    }
+
+    @Test
+    void testImportCarsCsv_ReadsQuotedFieldsAndLocations() {
+        String csv = "\uFEFFbarcodeNumber,brand,model,dailyPrice,carType,transmissionType,currentLocationCode\r\n" +
+                "CSV_Q1,\"Mercedes, Benz\",\"C \"\"Class\"\"\",80.00,LUXURY,AUTOMATIC,BASE_LOC_2\r\n" +
+                "CSV_Q2,Fiat,\"Panda\r\nCross\",40.00,ECONOMY,MANUAL,\r\n" +
+                "CSV_Q3,Fiat,Panda,40.00,ECONOMY,MANUAL,NOWHERE\r\n" +
+                "CSV_Q4,\"Fi\"at,Panda,40.00,ECONOMY,MANUAL,\r\n" +
+                "CSV_Q5,Fiat,\"Panda,40.00,ECONOMY,MANUAL\r\n";
+
+        CarImportResultDTO result = carImportService.importCarsCsv(new StringReader(csv));
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of("line 5: unknown currentLocationCode 'NOWHERE'",
+                "line 6: unexpected character after closing quote",
+                "line 7: unterminated quoted field"), result.getErrors());
+
+        Car quoted = carRepository.findByBarcodeNumber("CSV_Q1").orElseThrow();
+        assertEquals("Mercedes, Benz", quoted.getBrand());
+        assertEquals("C \"Class\"", quoted.getModel());
+        assertEquals("BASE_LOC_2", quoted.getCurrentLocation().getCode());
+        assertTrue(fleetIndex.queryIdsAt(quoted.getCurrentLocation().getId(), null, List.of(CarType.LUXURY), null, null)
+                .contains(quoted.getId()));
+        Car multiLine = carRepository.findByBarcodeNumber("CSV_Q2").orElseThrow();
+        assertEquals("Panda\r\nCross", multiLine.getModel());
+        assertNull(multiLine.getCurrentLocation());
+    }
+
+    @Test
+    void testImportCarsCsv_RequiresHeader() {
+        assertThrows(BusinessException.class,
+                () -> carImportService.importCarsCsv(new StringReader("barcodeNumber,brand\nX,Y\n")));
+    }
+
+    private static CarDTO newCar(String barcodeNumber) {
+        CarDTO car = new CarDTO();
+        car.setBarcodeNumber(barcodeNumber);
+        car.setBrand("Volvo");
+        car.setModel("XC60");
+        car.setPassengerCapacity(5);
+        car.setDailyPrice(BigDecimal.valueOf(90));
+        car.setCarType(CarType.SUV);
+        car.setTransmissionType(TransmissionType.AUTOMATIC);
+        return car;
+    }
+}
@@ -1,20 +1,26 @@
 package com.boraandege.carrental;
 
 import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
 import com.boraandege.carrental.enums.TransmissionType;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
 import com.boraandege.carrental.mapper.CarMapper;
 import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
 import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
 import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.service.ReservationService;
 import com.boraandege.carrental.service.impl.CarServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +41,12 @@ class CarServiceImplTest {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
     @Test
     void testAddCar() {
         CarDTO carDTO = new CarDTO();
@@ -97,6 +109,27 @@ class CarServiceImplTest {
         assertEquals(3, result.size());
     }
 
+    @Test
+    void testGetCarsPage() {
+        for (int i = 0; i < 4; i++) {
+            Car car = new Car();
+            car.setBarcodeNumber("CAR_PAGE_" + i);
+            carRepository.save(car);
+        }
+
+        PageDTO<CarDTO> first = carService.getCarsPage(null, 2);
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        PageDTO<CarDTO> second = carService.getCarsPage(first.getNextCursor(), 2);
+        assertEquals(2, second.getItems().size());
+        assertTrue(second.getItems().get(0).getId() > first.getNextCursor());
+
+        PageDTO<CarDTO> last = carService.getCarsPage(second.getNextCursor(), 2);
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
     @Test
     void testUpdateCar() {
         Car car = new Car();
@@ -143,6 +176,77 @@ class CarServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testSearchAvailableCars_MinPassengers() {
+        Car small = new Car();
+        small.setBarcodeNumber("CAR_SMALL");
+        small.setCarType(CarType.ESTATE);
+        small.setTransmissionType(TransmissionType.MANUAL);
+        small.setStatus(CarStatus.AVAILABLE);
+        small.setPassengerCapacity(4);
+        carRepository.save(small);
+
+        Car large = new Car();
+        large.setBarcodeNumber("CAR_LARGE");
+        large.setCarType(CarType.ESTATE);
+        large.setTransmissionType(TransmissionType.MANUAL);
+        large.setStatus(CarStatus.AVAILABLE);
+        large.setPassengerCapacity(7);
+        carRepository.save(large);
+
+        List<CarDTO> result = carService.searchAvailableCars(CarType.ESTATE, TransmissionType.MANUAL, 5, null, null);
+
+        assertEquals(1, result.size());
+        assertEquals("CAR_LARGE", result.get(0).getBarcodeNumber());
+    }
+
+    @Test
+    void testSearchAvailableCars_AtLocation() {
+        Location first = locationRepository.findByCode("BASE_LOC_1").orElseThrow();
+        Location second = locationRepository.findByCode("BASE_LOC_2").orElseThrow();
+        Car atFirst = new Car();
+        atFirst.setBarcodeNumber("CAR_LOC_1");
+        atFirst.setCarType(CarType.PEOPLE_CARRIER);
+        atFirst.setTransmissionType(TransmissionType.AUTOMATIC);
+        atFirst.setStatus(CarStatus.AVAILABLE);
+        atFirst.setDailyPrice(BigDecimal.valueOf(70));
+        atFirst.setCurrentLocation(first);
+        carRepository.save(atFirst);
+
+        Car atSecond = new Car();
+        atSecond.setBarcodeNumber("CAR_LOC_2");
+        atSecond.setCarType(CarType.PEOPLE_CARRIER);
+        atSecond.setTransmissionType(TransmissionType.AUTOMATIC);
+        atSecond.setStatus(CarStatus.AVAILABLE);
+        atSecond.setCurrentLocation(second);
+        carRepository.save(atSecond);
+
+        List<CarDTO> result = carService.searchAvailableCars(CarType.PEOPLE_CARRIER, TransmissionType.AUTOMATIC, null,
+                null, null, "BASE_LOC_2");
+        assertEquals(List.of("CAR_LOC_2"), result.stream().map(CarDTO::getBarcodeNumber).toList());
+        assertEquals("BASE_LOC_2", result.get(0).getCurrentLocationCode());
+        assertEquals(2, carService.searchAvailableCars(CarType.PEOPLE_CARRIER, TransmissionType.AUTOMATIC).size());
+        assertThrows(ResourceNotFoundException.class, () -> carService.searchAvailableCars(CarType.PEOPLE_CARRIER,
+                TransmissionType.AUTOMATIC, null, null, null, "NO_SUCH_LOC"));
+
+        // Returning the car moves it to the drop-off location.
+        ReservationDTO request = new ReservationDTO();
+        request.setCarBarcodeNumber("CAR_LOC_1");
+        request.setMemberId(1L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("BASE_LOC_2");
+        request.setPickUpDateTime(LocalDateTime.of(2034, 1, 10, 9, 0));
+        request.setDayCount(3);
+        ReservationDTO reservation = reservationService.makeReservation(request);
+        assertTrue(reservationService.returnCar(reservation.getReservationNumber()));
+
+        result = carService.searchAvailableCars(CarType.PEOPLE_CARRIER, TransmissionType.AUTOMATIC, null,
+                null, null, "BASE_LOC_2");
+        assertEquals(List.of("CAR_LOC_1", "CAR_LOC_2"), result.stream().map(CarDTO::getBarcodeNumber).toList());
+        assertThrows(ResourceNotFoundException.class, () -> carService.searchAvailableCars(CarType.PEOPLE_CARRIER,
+                TransmissionType.AUTOMATIC, null, null, null, "BASE_LOC_1"));
+    }
+
     @Test
     void testDeleteCarByBarcode_Success() {
         Car car = new Car();
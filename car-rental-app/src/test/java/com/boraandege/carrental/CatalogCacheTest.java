@@ -0,0 +1,117 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.EquipmentDTO;
+import com.boraandege.carrental.index.CatalogCache;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.repository.EquipmentRepository;
+import com.boraandege.carrental.repository.ServiceRepository;
+import com.boraandege.carrental.service.EquipmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogcache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CatalogCacheTest {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testLookups_ServedFromSnapshotWithoutQueries() {
+        catalogCache.reload();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        double hitsBefore = lookups("hit");
+
+        List<CatalogItem> items = catalogCache.equipments(List.of(2L, 1L));
+
+        assertEquals(List.of("Child Seat Base", "GPS_BASE"), items.stream().map(CatalogItem::name).toList());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 2, lookups("hit"));
+    }
+
+    @Test
+    void testEquipmentChanges_SwapSnapshotAfterCommit() {
+        EquipmentDTO dto = new EquipmentDTO();
+        dto.setName("Roof Box");
+        dto.setPrice(BigDecimal.valueOf(20));
+        Long id = equipmentService.addEquipment(dto).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(catalogCache.equipment(id).orElseThrow().price()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        dto.setPrice(BigDecimal.valueOf(25));
+        equipmentService.updateEquipment(id, dto);
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(catalogCache.equipment(id).orElseThrow().price()));
+
+        double missesBefore = lookups("miss");
+        equipmentService.deleteEquipment(id);
+        assertTrue(catalogCache.equipment(id).isEmpty());
+        assertEquals(missesBefore + 1, lookups("miss"));
+    }
+
+    @Test
+    void testReload_KeepsChangeSwappedInWhileTablesWereRead() {
+        EquipmentRepository equipments = mock(EquipmentRepository.class);
+        ServiceRepository services = mock(ServiceRepository.class);
+        CatalogCache cache = new CatalogCache(equipments, services, new SimpleMeterRegistry(), Duration.ofHours(1));
+        CatalogItem gps = new CatalogItem(1L, "GPS", BigDecimal.valueOf(15));
+        CatalogItem repriced = new CatalogItem(1L, "GPS", BigDecimal.valueOf(18));
+        when(equipments.findCatalogItems()).thenReturn(List.of(gps)).thenAnswer(invocation -> {
+            // The update commits after this read, so the rows read here still carry the old price.
+            cache.putEquipmentAfterCommit(repriced);
+            return List.of(gps);
+        });
+        cache.reload();
+
+        cache.reload();
+
+        assertEquals(repriced, cache.equipment(1L).orElseThrow());
+    }
+
+    @Test
+    void testExpiredSnapshot_ReloadedByOneReaderWhileOthersReadTheOldOne() {
+        EquipmentRepository equipments = mock(EquipmentRepository.class);
+        ServiceRepository services = mock(ServiceRepository.class);
+        CatalogCache cache = new CatalogCache(equipments, services, new SimpleMeterRegistry(), Duration.ZERO);
+        CatalogItem gps = new CatalogItem(1L, "GPS", BigDecimal.valueOf(15));
+        CatalogItem repriced = new CatalogItem(1L, "GPS", BigDecimal.valueOf(18));
+        when(equipments.findCatalogItems()).thenReturn(List.of(gps)).thenAnswer(invocation -> {
+            assertEquals(gps, cache.equipment(1L).orElseThrow());
+            return List.of(repriced);
+        });
+        cache.reload();
+
+        assertEquals(repriced, cache.equipment(1L).orElseThrow());
+        verify(equipments, times(2)).findCatalogItems();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("catalog.cache.lookups", "catalog", "equipment", "result", result).count();
+    }
+}
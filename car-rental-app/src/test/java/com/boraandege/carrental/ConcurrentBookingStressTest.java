@@ -0,0 +1,160 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.MemberRepository;
+import com.boraandege.carrental.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookingstress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConcurrentBookingStressTest {
+
+    private static final int FLEET_SIZE = 5;
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 2_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("Stress Member");
+        memberId = memberRepository.save(member).getId();
+
+        Location location = new Location();
+        location.setCode("STRESS_LOC");
+        location.setName("Stress Location");
+        locationRepository.save(location);
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            Car car = new Car();
+            car.setBarcodeNumber("STRESS_" + i);
+            car.setBrand("StressBrand");
+            car.setDailyPrice(BigDecimal.valueOf(50));
+            car.setStatus(CarStatus.AVAILABLE);
+            car.setCarType(CarType.ECONOMY);
+            car.setTransmissionType(TransmissionType.MANUAL);
+            carRepository.save(car);
+        }
+    }
+
+    @Test
+    void testMakeReservation_SameWindowBooksEachCarOnce() throws Exception {
+        int booked = runBookings(request -> BASE);
+
+        assertEquals(FLEET_SIZE, booked);
+        assertEquals(0, countOverlappingBookings());
+        assertEquals(FLEET_SIZE, countStressBookings());
+    }
+
+    @Test
+    void testMakeReservation_RandomWindowsNeverOverlap() throws Exception {
+        int booked = runBookings(request -> BASE.plusDays(new Random(request).nextInt(60)));
+
+        assertTrue(booked > 0);
+        assertEquals(0, countOverlappingBookings());
+        assertEquals(booked, countStressBookings());
+    }
+
+    private int runBookings(IntFunction<LocalDateTime> pickUpOf) throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            int request = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                ReservationDTO dto = new ReservationDTO();
+                dto.setCarBarcodeNumber("STRESS_" + request % FLEET_SIZE);
+                dto.setMemberId(memberId);
+                dto.setPickUpLocationCode("STRESS_LOC");
+                dto.setDropOffLocationCode("STRESS_LOC");
+                dto.setPickUpDateTime(pickUpOf.apply(request));
+                dto.setDayCount(1 + request % 3);
+                try {
+                    reservationService.makeReservation(dto);
+                    booked.incrementAndGet();
+                } catch (BusinessException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        assertEquals(BOOKINGS, booked.get() + rejected.get());
+        return booked.get();
+    }
+
+    private int countOverlappingBookings() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations a JOIN reservations b " +
+                        "ON a.car_id = b.car_id AND a.id < b.id " +
+                        "AND a.pick_up_date_time < b.drop_off_date_time AND b.pick_up_date_time < a.drop_off_date_time " +
+                        "JOIN cars c ON c.id = a.car_id " +
+                        "WHERE c.barcode_number LIKE 'STRESS%' AND a.status = 'ACTIVE' AND b.status = 'ACTIVE'",
+                Integer.class);
+    }
+
+    private int countStressBookings() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations r JOIN cars c ON c.id = r.car_id WHERE c.barcode_number LIKE 'STRESS%'",
+                Integer.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.model.Member;
+import com.boraandege.carrental.repository.MemberRepository;
+import com.boraandege.carrental.seed.DataSeeder;
+import com.boraandege.carrental.seed.SeedProperties;
+import com.boraandege.carrental.seed.SyntheticDataGenerator;
+import com.boraandege.carrental.seed.SyntheticReservation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed;DB_CLOSE_DELAY=-1",
+        "seed.seed=7",
+        "seed.members=300",
+        "seed.cars=40",
+        "seed.locations=12",
+        "seed.reservations=2003",
+        "seed.start-date=2026-01-01",
+        "seed.days=365",
+        "seed.threads=4",
+        "seed.batch-size=250"
+})
+@ActiveProfiles("seed")
+class DataSeederTest {
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private SeedProperties seedProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FleetBitmapIndex fleetIndex;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void testSeed_LoadsConfiguredVolumesOnStartup() {
+        assertEquals(41, count("cars"));
+        assertEquals(301, count("member"));
+        assertEquals(14, count("locations"));
+        assertEquals(2004, count("reservations"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM locations WHERE latitude IS NULL OR longitude IS NULL", Integer.class));
+        assertEquals(41, fleetIndex.size());
+        assertTrue(count("reservation_equipment") > 2);
+        assertTrue(count("reservation_service") > 0);
+
+        Member member = new Member();
+        member.setName("After Seeding");
+        assertEquals(302L, memberRepository.save(member).getId());
+        assertThrows(IllegalStateException.class, () -> dataSeeder.seed());
+    }
+
+    @Test
+    void testSeed_BookingsOfACarNeverOverlap() {
+        Integer overlapping = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations a JOIN reservations b " +
+                "ON a.car_id = b.car_id AND a.id < b.id " +
+                "AND a.pick_up_date_time < b.drop_off_date_time AND b.pick_up_date_time < a.drop_off_date_time", Integer.class);
+        assertEquals(0, overlapping);
+    }
+
+    @Test
+    void testSeed_RowsFollowTheGeneratorForTheSeed() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seedProperties,
+                seedProperties.resolvedStartDate(), count("equipments"), count("services"));
+        List<SyntheticReservation> timeline = generator.timeline(2);
+        assertEquals(timeline, generator.timeline(2));
+        assertEquals(51, timeline.size());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT r.pick_up_date_time, r.day_count, " +
+                "l.code FROM reservations r JOIN cars c ON c.id = r.car_id " +
+                "JOIN locations l ON l.id = r.pick_up_location_id " +
+                "WHERE c.barcode_number = ? ORDER BY r.pick_up_date_time", generator.carBarcodeNumber(2));
+        assertEquals(timeline.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            SyntheticReservation expected = timeline.get(i);
+            assertEquals(expected.pickUpDateTime(), ((Timestamp) rows.get(i).get("PICK_UP_DATE_TIME")).toLocalDateTime());
+            assertEquals(expected.dayCount(), rows.get(i).get("DAY_COUNT"));
+            assertEquals(generator.locationCode(expected.pickUpLocationIndex()), rows.get(i).get("CODE"));
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
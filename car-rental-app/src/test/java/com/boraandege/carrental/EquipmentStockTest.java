@@ -0,0 +1,151 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.EquipmentStockDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.EquipmentStockIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.service.EquipmentService;
+import com.boraandege.carrental.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquipmentStockTest extends BookingIntegrationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2033, 3, 1, 10, 0);
+    private static final Long GPS = 1L;
+    private static final Long CHILD_SEAT = 2L;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private EquipmentStockIndex stockIndex;
+
+    @Test
+    void testMakeReservation_ConcurrentBookingsNeverOversellStock() throws Exception {
+        Long baseLocation = locationId("BASE_LOC_1");
+        // The seeded reservation already holds one GPS at BASE_LOC_1.
+        EquipmentStockDTO stock = equipmentService.setStock(GPS, "BASE_LOC_1", 6);
+        assertEquals(5, stock.available());
+        assertEquals(5, stockIndex.available(GPS, baseLocation).orElseThrow());
+
+        int bookings = 24;
+        List<String> barcodes = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            barcodes.add(car("STK_" + i).getBarcodeNumber());
+        }
+
+        AtomicBoolean wentNegative = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread watcher = new Thread(() -> {
+            while (!done.get()) {
+                if (stockIndex.available(GPS, baseLocation).orElseThrow() < 0) {
+                    wentNegative.set(true);
+                }
+            }
+        });
+        watcher.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger outOfStock = new AtomicInteger();
+        List<Future<ReservationDTO>> results = new ArrayList<>();
+        for (String barcode : barcodes) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return book(barcode, "BASE_LOC_1", List.of(GPS));
+                } catch (BusinessException e) {
+                    assertTrue(e.getMessage().contains("out of stock"), e.getMessage());
+                    outOfStock.incrementAndGet();
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        List<ReservationDTO> booked = new ArrayList<>();
+        for (Future<ReservationDTO> result : results) {
+            ReservationDTO reservation = result.get(30, TimeUnit.SECONDS);
+            if (reservation != null) {
+                booked.add(reservation);
+            }
+        }
+        executor.shutdown();
+        done.set(true);
+        watcher.join();
+
+        assertEquals(5, booked.size());
+        assertEquals(bookings - 5, outOfStock.get());
+        assertFalse(wentNegative.get());
+        assertEquals(0, stockIndex.available(GPS, baseLocation).orElseThrow());
+
+        // The counters rebuilt from the database agree with the ones kept in memory.
+        stockIndex.rebuild();
+        assertEquals(0, stockIndex.available(GPS, baseLocation).orElseThrow());
+
+        assertTrue(reservationService.cancelReservation(booked.get(0).getReservationNumber()));
+        assertEquals(1, stockIndex.available(GPS, baseLocation).orElseThrow());
+        assertTrue(reservationService.returnCar(booked.get(1).getReservationNumber()));
+        assertEquals(2, stockIndex.available(GPS, baseLocation).orElseThrow());
+        assertTrue(equipmentService.getStock(GPS).contains(new EquipmentStockDTO("BASE_LOC_1", 6, 2)));
+    }
+
+    @Test
+    void testMakeReservation_TakesAllEquipmentOrNone() {
+        Long otherLocation = locationId("BASE_LOC_2");
+        equipmentService.setStock(GPS, "BASE_LOC_2", 2);
+        equipmentService.setStock(CHILD_SEAT, "BASE_LOC_2", 1);
+
+        ReservationDTO first = book(car("ALL_1").getBarcodeNumber(), "BASE_LOC_2", List.of(GPS, CHILD_SEAT));
+        BusinessException rejected = assertThrows(BusinessException.class,
+                () -> book(car("ALL_2").getBarcodeNumber(), "BASE_LOC_2", List.of(GPS, CHILD_SEAT)));
+        assertEquals("Equipment [2] is out of stock at BASE_LOC_2", rejected.getMessage());
+        assertEquals(1, stockIndex.available(GPS, otherLocation).orElseThrow());
+        assertEquals(0, stockIndex.available(CHILD_SEAT, otherLocation).orElseThrow());
+
+        // Adding equipment to a booked reservation takes a unit too.
+        ReservationDTO second = book(car("ALL_3").getBarcodeNumber(), "BASE_LOC_2", List.of());
+        assertThrows(BusinessException.class,
+                () -> reservationService.addEquipmentToReservation(second.getReservationNumber(), CHILD_SEAT));
+        assertTrue(reservationService.addEquipmentToReservation(second.getReservationNumber(), GPS));
+        assertEquals(0, stockIndex.available(GPS, otherLocation).orElseThrow());
+
+        assertTrue(reservationService.deleteReservation(first.getReservationNumber()));
+        assertEquals(1, stockIndex.available(GPS, otherLocation).orElseThrow());
+        assertEquals(1, stockIndex.available(CHILD_SEAT, otherLocation).orElseThrow());
+
+        // Raising the quantity frees the new units straight away.
+        assertEquals(3, equipmentService.setStock(GPS, "BASE_LOC_2", 4).available());
+        assertEquals(3, stockIndex.available(GPS, otherLocation).orElseThrow());
+        assertThrows(BusinessException.class, () -> equipmentService.setStock(GPS, "BASE_LOC_2", -1));
+    }
+
+    private ReservationDTO book(String barcodeNumber, String pickUpLocationCode, List<Long> equipmentIds) {
+        ReservationDTO request = fixtures.booking(pickUpLocationCode, "BASE_LOC_2", BASE, 2);
+        request.setCarBarcodeNumber(barcodeNumber);
+        request.setAdditionalEquipmentIds(new ArrayList<>(equipmentIds));
+        return reservationService.makeReservation(request);
+    }
+
+    private Car car(String barcodeNumber) {
+        return fixtures.car(barcodeNumber, CarType.ECONOMY, CarStatus.AVAILABLE);
+    }
+
+    private Long locationId(String code) {
+        return fixtures.location(code).getId();
+    }
+}
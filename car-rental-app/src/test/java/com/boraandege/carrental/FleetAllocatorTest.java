@@ -0,0 +1,118 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.allocation.FleetReoptimizer;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetAllocatorTest extends BookingIntegrationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2032, 5, 1, 10, 0);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private FleetReoptimizer reoptimizer;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Test
+    void testMakeReservation_ByTypeAllocatesTheTightestFittingCar() {
+        car("FIT_EARLY", CarType.CONVERTIBLE, CarStatus.AVAILABLE);
+        car("FIT_LATE", CarType.CONVERTIBLE, CarStatus.AVAILABLE);
+        car("FIT_EMPTY", CarType.CONVERTIBLE, CarStatus.AVAILABLE);
+        car("FIT_ELSEWHERE", CarType.CONVERTIBLE, CarStatus.AVAILABLE, "BASE_LOC_2");
+        ReservationDTO chosen = book("FIT_EARLY", null, BASE, 2);
+        book("FIT_LATE", null, BASE.plusDays(10), 2);
+
+        ReservationDTO adjacent = book(null, CarType.CONVERTIBLE, BASE.plusDays(2), 2);
+        assertEquals("FIT_EARLY", adjacent.getCarBarcodeNumber());
+        assertTrue(reservationRepository.findByReservationNumber(adjacent.getReservationNumber()).orElseThrow()
+                .isAutoAllocated());
+
+        // FIT_EARLY now leaves three days before the window, FIT_LATE only one day after it.
+        assertEquals("FIT_LATE", book(null, CarType.CONVERTIBLE, BASE.plusDays(7), 2).getCarBarcodeNumber());
+        // Neither booked car is free, so the empty one is used; the car parked at another location never is.
+        assertEquals("FIT_EMPTY", book(null, CarType.CONVERTIBLE, BASE.plusDays(3), 5).getCarBarcodeNumber());
+        BusinessException noCar = assertThrows(BusinessException.class,
+                () -> book(null, CarType.CONVERTIBLE, BASE.plusDays(3), 5));
+        assertEquals("No CONVERTIBLE car is available at BASE_LOC_1 for the requested period", noCar.getMessage());
+
+        assertFalse(reservationRepository.findByReservationNumber(chosen.getReservationNumber()).orElseThrow()
+                .isAutoAllocated());
+    }
+
+    @Test
+    void testReoptimize_MovesFutureAllocatedBookingsIntoTighterGaps() {
+        Car busy = car("OPT_BUSY", CarType.ESTATE, CarStatus.AVAILABLE);
+        Car spare = car("OPT_SPARE", CarType.ESTATE, CarStatus.LOANED);
+        // Would fit the movable booking exactly, but is parked at another location.
+        Car elsewhere = car("OPT_ELSEWHERE", CarType.ESTATE, CarStatus.LOANED, "BASE_LOC_2");
+        reservation("OPTELS1", elsewhere, false, BASE.plusDays(2), BASE.plusDays(4));
+        reservation("OPTELS2", elsewhere, false, BASE.plusDays(6), BASE.plusDays(7));
+        book("OPT_BUSY", null, BASE, 3);
+        Reservation movable = reservation("OPTMOVE", spare, true, BASE.plusDays(4), BASE.plusDays(6));
+        Reservation pinned = reservation("OPTPIN", spare, false, BASE.plusDays(8), BASE.plusDays(9));
+        Reservation soon = reservation("OPTSOON", spare, true, LocalDateTime.now().plusMinutes(30),
+                LocalDateTime.now().plusDays(1));
+        availabilityIndex.rebuild();
+
+        assertEquals(1, reoptimizer.reoptimize());
+
+        assertEquals(busy.getId(), carOf(movable).getId());
+        assertEquals(spare.getId(), carOf(pinned).getId());
+        assertEquals(spare.getId(), carOf(soon).getId());
+        assertTrue(carRepository.findById(busy.getId()).orElseThrow().getVersion() > busy.getVersion());
+        assertFalse(availabilityIndex.isAvailable(busy.getId(), BASE.plusDays(4), BASE.plusDays(6)));
+        assertTrue(availabilityIndex.isAvailable(spare.getId(), BASE.plusDays(4), BASE.plusDays(6)));
+        assertEquals(CarStatus.LOANED, carRepository.findById(spare.getId()).orElseThrow().getStatus());
+
+        assertEquals(0, reoptimizer.reoptimize());
+    }
+
+    private ReservationDTO book(String barcodeNumber, CarType carType, LocalDateTime pickUp, int dayCount) {
+        ReservationDTO request = fixtures.booking("BASE_LOC_1", "BASE_LOC_2", pickUp, dayCount);
+        request.setCarBarcodeNumber(barcodeNumber);
+        request.setCarType(carType);
+        return reservationService.makeReservation(request);
+    }
+
+    private Car car(String barcodeNumber, CarType carType, CarStatus status) {
+        return car(barcodeNumber, carType, status, "BASE_LOC_1");
+    }
+
+    private Car car(String barcodeNumber, CarType carType, CarStatus status, String locationCode) {
+        return fixtures.car(barcodeNumber, carType, status, fixtures.location(locationCode));
+    }
+
+    private Reservation reservation(String number, Car car, boolean autoAllocated, LocalDateTime pickUp,
+                                    LocalDateTime dropOff) {
+        return fixtures.reservation(number, car, ReservationStatus.ACTIVE, pickUp, dropOff,
+                reservation -> reservation.setAutoAllocated(autoAllocated));
+    }
+
+    private Car carOf(Reservation reservation) {
+        return reservationRepository.findByReservationNumber(reservation.getReservationNumber()).orElseThrow().getCar();
+    }
+}
@@ -0,0 +1,143 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.IdempotencyConflictException;
+import com.boraandege.carrental.support.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void testExecute_ConcurrentDuplicatesRunOnce() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000, Duration.ofSeconds(10));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<IdempotencyStore.Result<Object>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> store.execute("key", "body", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return new Object();
+            })));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < THREADS; i++) {
+                results.add(executor.submit(() -> store.execute("key", "body", () -> {
+                    runs.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            release.countDown();
+
+            Object first = results.get(0).get(10, TimeUnit.SECONDS).value();
+            assertFalse(results.get(0).get().replayed());
+            for (int i = 1; i < THREADS; i++) {
+                assertSame(first, results.get(i).get(10, TimeUnit.SECONDS).value());
+                assertTrue(results.get(i).get().replayed());
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_FailureIsNotStored() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000, Duration.ofSeconds(10));
+
+        assertThrows(BusinessException.class, () -> store.execute("key", "body", () -> {
+            throw new BusinessException("Car is not available");
+        }));
+        IdempotencyStore.Result<String> retry = store.execute("key", "body", () -> "booked");
+
+        assertEquals("booked", retry.value());
+        assertFalse(retry.replayed());
+        assertTrue(store.execute("key", "body", () -> "again").replayed());
+    }
+
+    @Test
+    void testExecute_EntriesExpire() throws InterruptedException {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMillis(20), 1000, Duration.ofSeconds(10));
+        store.execute("key", "body", () -> "first");
+
+        Thread.sleep(50);
+
+        IdempotencyStore.Result<String> result = store.execute("key", "body", () -> "second");
+        assertEquals("second", result.value());
+        assertFalse(result.replayed());
+    }
+
+    @Test
+    void testExecute_InvalidKey() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000, Duration.ofSeconds(10));
+
+        assertThrows(BusinessException.class, () -> store.execute(" ", "body", () -> "value"));
+        assertThrows(BusinessException.class, () -> store.execute("k".repeat(256), "body", () -> "value"));
+    }
+
+    @Test
+    void testExecute_KeyReusedForAnotherRequestIsRejected() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000, Duration.ofSeconds(10));
+        store.execute("key", IdempotencyStore.fingerprint("{\"dayCount\":2}".getBytes()), () -> "booked");
+
+        assertThrows(IdempotencyConflictException.class, () -> store.execute("key",
+                IdempotencyStore.fingerprint("{\"dayCount\":3}".getBytes()), () -> "booked again"));
+        assertTrue(store.execute("key", IdempotencyStore.fingerprint("{\"dayCount\":2}".getBytes()), () -> "again").replayed());
+    }
+
+    @Test
+    void testExecute_InFlightEntryIsNeverEvicted() throws Exception {
+        // One entry per stripe, so every further key competes with the in-flight one for its slot.
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1, Duration.ofMillis(50));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyStore.Result<String>> first = executor.submit(() -> store.execute("key", "body", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "booked";
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 500; i++) {
+                store.execute("other-" + i, "body", () -> "filler");
+            }
+
+            assertThrows(IdempotencyConflictException.class, () -> store.execute("key", "body", () -> {
+                runs.incrementAndGet();
+                return "booked twice";
+            }));
+            release.countDown();
+            assertEquals("booked", first.get(10, TimeUnit.SECONDS).value());
+            assertEquals("booked", store.execute("key", "body", () -> "booked twice").value());
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.CarOccupancyDTO;
+import com.boraandege.carrental.dto.OccupancyCalendarDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyCalendarTest extends BookingIntegrationTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2031, 3, 10, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void testGetOccupancyCalendar_ClipsAndMergesIntervalsPerCar() {
+        Location airport = fixtures.location("BASE_LOC_1");
+        Location city = fixtures.location("BASE_LOC_2");
+        Car economy = car("CAL_ECONOMY", CarType.ECONOMY);
+        Car luxury = car("CAL_LUXURY", CarType.LUXURY);
+
+        reservation("CALE1", economy, ReservationStatus.ACTIVE, airport, FROM.plusHours(10), FROM.plusHours(12), null);
+        reservation("CALE2", economy, ReservationStatus.CONFIRMED, airport, FROM.plusHours(12), FROM.plusHours(14), null);
+        reservation("CALE3", economy, ReservationStatus.CANCELLED, airport, FROM.plusHours(15), FROM.plusHours(16), null);
+        reservation("CALE4", economy, ReservationStatus.COMPLETED, airport, FROM.plusHours(16), FROM.plusHours(19),
+                FROM.plusHours(17).plusSeconds(30));
+        reservation("CALE5", economy, ReservationStatus.ACTIVE, airport, FROM.plusHours(20), FROM.plusDays(2), null);
+        reservation("CALE6", economy, ReservationStatus.ACTIVE, airport, FROM.plusDays(3), FROM.plusDays(4), null);
+        reservation("CALL1", luxury, ReservationStatus.ACTIVE, city, FROM.minusDays(1), FROM.plusMinutes(90), null);
+
+        Map<String, List<int[]>> all = byBarcode(reservationService.getOccupancyCalendar(FROM, TO, null, null));
+        assertEquals(2, all.size());
+        assertIntervals(all.get("CAL_ECONOMY"), 600, 840, 960, 1021, 1200, 1440);
+        assertIntervals(all.get("CAL_LUXURY"), 0, 90);
+
+        assertEquals(List.of("CAL_LUXURY"),
+                List.copyOf(byBarcode(reservationService.getOccupancyCalendar(FROM, TO, CarType.LUXURY, null)).keySet()));
+        assertEquals(List.of("CAL_ECONOMY"),
+                List.copyOf(byBarcode(reservationService.getOccupancyCalendar(FROM, TO, null, "BASE_LOC_1")).keySet()));
+        assertTrue(reservationService.getOccupancyCalendar(FROM, TO, CarType.LUXURY, "BASE_LOC_1").cars().isEmpty());
+
+        assertThrows(BusinessException.class, () -> reservationService.getOccupancyCalendar(TO, FROM, null, null));
+        assertThrows(BusinessException.class,
+                () -> reservationService.getOccupancyCalendar(FROM, FROM.plusYears(2), null, null));
+    }
+
+    private static Map<String, List<int[]>> byBarcode(OccupancyCalendarDTO calendar) {
+        return calendar.cars().stream()
+                .filter(car -> car.barcodeNumber().startsWith("CAL_"))
+                .collect(Collectors.toMap(CarOccupancyDTO::barcodeNumber, CarOccupancyDTO::intervals));
+    }
+
+    private static void assertIntervals(List<int[]> intervals, int... expected) {
+        assertArrayEquals(expected, intervals.stream().flatMapToInt(Arrays::stream).toArray());
+    }
+
+    private Car car(String barcodeNumber, CarType carType) {
+        return fixtures.car(barcodeNumber, carType, CarStatus.AVAILABLE);
+    }
+
+    private void reservation(String number, Car car, ReservationStatus status, Location pickUpLocation,
+                             LocalDateTime pickUp, LocalDateTime dropOff, LocalDateTime returnDate) {
+        fixtures.reservation(number, car, status, pickUp, dropOff, reservation -> {
+            reservation.setPickUpLocation(pickUpLocation);
+            reservation.setReturnDate(returnDate);
+        });
+    }
+}
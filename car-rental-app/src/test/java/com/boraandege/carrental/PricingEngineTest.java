@@ -0,0 +1,99 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.index.CatalogItem;
+import com.boraandege.carrental.pricing.PriceQuote;
+import com.boraandege.carrental.pricing.PricingEngine;
+import com.boraandege.carrental.pricing.PricingProperties;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingEngineTest {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100.00");
+
+    @Test
+    void testQuote_EmptyRateCardChargesDailyPriceAndExtras() {
+        PricingEngine engine = engine(0, Map.of(), Map.of());
+        List<CatalogItem> equipments = List.of(new CatalogItem(1L, "GPS", new BigDecimal("15.00")),
+                new CatalogItem(2L, "Child Seat", new BigDecimal("10.00")));
+        List<CatalogItem> services = List.of(new CatalogItem(1L, "Additional Driver", new BigDecimal("25.00")));
+
+        PriceQuote quote = engine.quote(new BigDecimal("150.00"), LocalDate.now().plusDays(1), 3, equipments, services);
+
+        assertEquals(45_000, quote.rentalCents());
+        assertEquals(0, quote.discountCents());
+        assertEquals(5_000, quote.extrasCents());
+        assertEquals(new BigDecimal("500.00"), quote.total());
+    }
+
+    @Test
+    void testQuote_WeekendAndSeasonalRates() {
+        PricingEngine weekendEngine = engine(10, Map.of(), Map.of());
+        LocalDate saturday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+        assertEquals(new BigDecimal("220.00"), weekendEngine.quote(HUNDRED, saturday, 2, List.of(), List.of()).total());
+        assertEquals(new BigDecimal("720.00"), weekendEngine.quote(HUNDRED, saturday, 7, List.of(), List.of()).total());
+
+        PricingEngine seasonalEngine = engine(0, Map.of(Month.JULY, 15, Month.JANUARY, -10), Map.of());
+        LocalDate julyFirst = nextFirstOf(Month.JULY);
+        assertEquals(new BigDecimal("115.00"), seasonalEngine.quote(HUNDRED, julyFirst, 1, List.of(), List.of()).total());
+        // June 30th at the base rate, then July 1st and 2nd at +15%.
+        assertEquals(new BigDecimal("330.00"),
+                seasonalEngine.quote(HUNDRED, julyFirst.minusDays(1), 3, List.of(), List.of()).total());
+        assertEquals(new BigDecimal("90.00"),
+                seasonalEngine.quote(HUNDRED, nextFirstOf(Month.JANUARY), 1, List.of(), List.of()).total());
+    }
+
+    @Test
+    void testQuote_LongRentalDiscountTiers() {
+        PricingEngine engine = engine(0, Map.of(), Map.of(7, 5, 14, 10));
+        LocalDate pickUp = LocalDate.now().plusDays(3);
+
+        assertEquals(new BigDecimal("600.00"), engine.quote(HUNDRED, pickUp, 6, List.of(), List.of()).total());
+        PriceQuote week = engine.quote(HUNDRED, pickUp, 7, List.of(), List.of());
+        assertEquals(3_500, week.discountCents());
+        assertEquals(new BigDecimal("665.00"), week.total());
+        assertEquals(new BigDecimal("1235.00"), engine.quote(HUNDRED, pickUp, 13, List.of(), List.of()).total());
+        assertEquals(new BigDecimal("2700.00"), engine.quote(HUNDRED, pickUp, 30, List.of(), List.of()).total());
+    }
+
+    @Test
+    void testQuote_RoundsOnceToTheCent() {
+        Map<Month, Integer> allYear = Arrays.stream(Month.values()).collect(Collectors.toMap(month -> month, month -> 15));
+        PricingEngine engine = engine(0, allYear, Map.of());
+
+        // 3 x 33.33 x 1.15 = 114.9885
+        assertEquals(new BigDecimal("114.99"),
+                engine.quote(new BigDecimal("33.33"), LocalDate.now().plusDays(1), 3, List.of(), List.of()).total());
+    }
+
+    @Test
+    void testQuote_DatesOutsideTheTablesArePricedTheSame() {
+        PricingEngine engine = engine(10, Map.of(), Map.of(7, 5));
+        LocalDate farSaturday = LocalDate.now().plusYears(10).with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+        LocalDate nearSaturday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+
+        assertEquals(engine.quote(HUNDRED, nearSaturday, 9, List.of(), List.of()),
+                engine.quote(HUNDRED, farSaturday, 9, List.of(), List.of()));
+        assertThrows(BusinessException.class, () -> engine.quote(HUNDRED, nearSaturday, 0, List.of(), List.of()));
+    }
+
+    private static PricingEngine engine(int weekendPercent, Map<Month, Integer> seasonal, Map<Integer, Integer> discounts) {
+        return new PricingEngine(new PricingProperties(weekendPercent, seasonal, discounts, 400));
+    }
+
+    private static LocalDate nextFirstOf(Month month) {
+        LocalDate first = LocalDate.now().withMonth(month.getValue()).withDayOfMonth(1);
+        return first.isAfter(LocalDate.now()) ? first : first.plusYears(1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.CarDTO;
+import com.boraandege.carrental.dto.EquipmentDTO;
+import com.boraandege.carrental.dto.QuoteDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.service.CarService;
+import com.boraandege.carrental.service.EquipmentService;
+import com.boraandege.carrental.service.QuoteService;
+import com.boraandege.carrental.service.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:quotes;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QuoteServiceImplTest {
+
+    private static final LocalDate PICK_UP = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testQuote_RepeatedRequestServedFromCacheWithoutQueries() {
+        QuoteDTO first = quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 3, List.of(2L, 1L), null);
+
+        assertEquals(List.of(1L, 2L), first.getAdditionalEquipmentIds());
+        assertEquals(0, new BigDecimal("150.00").compareTo(first.getDailyPrice()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(first.getExtrasAmount()));
+        assertEquals(first.getRentalAmount().subtract(first.getDiscountAmount()).add(first.getExtrasAmount()),
+                first.getTotalAmount());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        QuoteDTO second = quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 3, List.of(1L, 2L, 1L), List.of());
+
+        assertSame(first, second);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testQuote_RecomputedAfterCarPriceChange() {
+        CarDTO car = new CarDTO();
+        car.setBarcodeNumber("QUOTE_CAR");
+        car.setDailyPrice(BigDecimal.valueOf(100));
+        car.setCarType(CarType.LUXURY);
+        car.setTransmissionType(TransmissionType.AUTOMATIC);
+        car.setCurrentLocationCode("BASE_LOC_1");
+        car = carService.addCar(car);
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                quoteService.quote("QUOTE_CAR", null, null, PICK_UP, 2, null, null).getDailyPrice()));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                quoteService.quote(null, CarType.LUXURY, "BASE_LOC_1", PICK_UP, 2, null, null).getDailyPrice()));
+
+        car.setDailyPrice(BigDecimal.valueOf(200));
+        carService.updateCar(car.getId(), car);
+
+        assertEquals(0, BigDecimal.valueOf(200).compareTo(
+                quoteService.quote("QUOTE_CAR", null, null, PICK_UP, 2, null, null).getDailyPrice()));
+        assertEquals(0, BigDecimal.valueOf(200).compareTo(
+                quoteService.quote(null, CarType.LUXURY, "BASE_LOC_1", PICK_UP, 2, null, null).getDailyPrice()));
+    }
+
+    @Test
+    void testQuote_ByTypeIgnoresCarsThatCannotBeBooked() {
+        car("QUOTE_LOST", CarType.PEOPLE_CARRIER, CarStatus.LOST, 40);
+        car("QUOTE_SERVICED", CarType.PEOPLE_CARRIER, CarStatus.BEING_SERVICED, 50);
+        assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote(null, CarType.PEOPLE_CARRIER, "BASE_LOC_1", PICK_UP, 2, null, null));
+
+        car("QUOTE_LOANED", CarType.PEOPLE_CARRIER, CarStatus.LOANED, 90);
+
+        assertEquals(0, BigDecimal.valueOf(90).compareTo(
+                quoteService.quote(null, CarType.PEOPLE_CARRIER, "BASE_LOC_1", PICK_UP, 2, null, null).getDailyPrice()));
+    }
+
+    @Test
+    void testQuote_ByTypeIsWhatTheAllocatedBookingIsCharged() {
+        // The allocator picks the lower id on a tie, so the booking gets the dearer car.
+        car("QUOTE_RATE_DEAR", CarType.SUV, CarStatus.AVAILABLE, 130);
+        car("QUOTE_RATE_CHEAP", CarType.SUV, CarStatus.AVAILABLE, 95);
+        car("QUOTE_RATE_ELSEWHERE", CarType.SUV, CarStatus.AVAILABLE, 60, "BASE_LOC_2");
+
+        QuoteDTO quote = quoteService.quote(null, CarType.SUV, "BASE_LOC_1", PICK_UP, 3, List.of(1L), null);
+        ReservationDTO request = new ReservationDTO();
+        request.setCarType(CarType.SUV);
+        request.setMemberId(1L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("BASE_LOC_1");
+        request.setPickUpDateTime(PICK_UP.atTime(10, 0));
+        request.setDayCount(3);
+        request.setAdditionalEquipmentIds(List.of(1L));
+        ReservationDTO booking = reservationService.makeReservation(request);
+
+        assertEquals("BASE_LOC_1", quote.getPickUpLocationCode());
+        assertEquals(0, BigDecimal.valueOf(95).compareTo(quote.getDailyPrice()));
+        assertEquals("QUOTE_RATE_DEAR", booking.getCarBarcodeNumber());
+        assertEquals(0, quote.getTotalAmount().compareTo(booking.getTotalAmount()));
+    }
+
+    @Test
+    void testQuote_RecomputedAfterEquipmentPriceChange() {
+        EquipmentDTO equipment = new EquipmentDTO();
+        equipment.setName("Snow Chains");
+        equipment.setPrice(BigDecimal.valueOf(8));
+        equipment = equipmentService.addEquipment(equipment);
+        List<Long> ids = List.of(equipment.getId());
+
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(
+                quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 1, ids, null).getExtrasAmount()));
+
+        equipment.setPrice(BigDecimal.valueOf(12));
+        equipmentService.updateEquipment(equipment.getId(), equipment);
+
+        assertEquals(0, BigDecimal.valueOf(12).compareTo(
+                quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 1, ids, null).getExtrasAmount()));
+    }
+
+    @Test
+    void testQuote_InvalidRequests() {
+        assertThrows(BusinessException.class,
+                () -> quoteService.quote(null, null, null, PICK_UP, 2, null, null));
+        assertThrows(BusinessException.class,
+                () -> quoteService.quote("CAR_BASE_123", CarType.ECONOMY, null, PICK_UP, 2, null, null));
+        assertThrows(BusinessException.class,
+                () -> quoteService.quote(null, CarType.ECONOMY, null, PICK_UP, 2, null, null));
+        assertThrows(BusinessException.class,
+                () -> quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 0, null, null));
+        assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote("NO_SUCH_CAR", null, null, PICK_UP, 2, null, null));
+        assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote(null, CarType.CONVERTIBLE, "BASE_LOC_1", PICK_UP, 2, null, null));
+        assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote(null, CarType.ECONOMY, "NO_SUCH_LOC", PICK_UP, 2, null, null));
+        ResourceNotFoundException missing = assertThrows(ResourceNotFoundException.class,
+                () -> quoteService.quote("CAR_BASE_123", null, null, PICK_UP, 2, List.of(1L, 999L), null));
+        assertEquals("Equipment not found with id: 999", missing.getMessage());
+    }
+
+    private void car(String barcodeNumber, CarType carType, CarStatus status, int dailyPrice) {
+        car(barcodeNumber, carType, status, dailyPrice, "BASE_LOC_1");
+    }
+
+    private void car(String barcodeNumber, CarType carType, CarStatus status, int dailyPrice, String locationCode) {
+        Car car = new Car();
+        car.setCurrentLocation(locationRepository.findByCode(locationCode).orElseThrow());
+        car.setBarcodeNumber(barcodeNumber);
+        car.setDailyPrice(BigDecimal.valueOf(dailyPrice));
+        car.setStatus(status);
+        car.setCarType(carType);
+        car.setTransmissionType(TransmissionType.MANUAL);
+        carRepository.save(car);
+    }
+}
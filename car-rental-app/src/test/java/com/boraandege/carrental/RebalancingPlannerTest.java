@@ -0,0 +1,101 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.RebalancingPlanDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.TransferMoveDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.rebalancing.TransferPlanner;
+import com.boraandege.carrental.service.RebalancingService;
+import com.boraandege.carrental.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebalancingPlannerTest extends BookingIntegrationTest {
+
+    @Autowired
+    private RebalancingService rebalancingService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void testPlan_PicksTheCheapestMatchingRatherThanTheNearestFirst() {
+        // Sending each surplus to its nearest deficit would cost 1 + 100.
+        long[][] distanceKm = {
+                {0, 50, 1, 2},
+                {50, 0, 2, 100},
+                {1, 2, 0, 50},
+                {2, 100, 50, 0}
+        };
+        List<TransferPlanner.Transfer> transfers = new TransferPlanner(distanceKm).plan(new int[]{1, 1, -1, -1});
+
+        assertEquals(List.of(new TransferPlanner.Transfer(0, 3, 1, 2), new TransferPlanner.Transfer(1, 2, 1, 2)),
+                transfers);
+        assertEquals(List.of(new TransferPlanner.Transfer(0, 2, 2, 1)),
+                new TransferPlanner(distanceKm).plan(new int[]{3, 0, -2, 0}));
+        assertTrue(new TransferPlanner(distanceKm).plan(new int[]{2, 0, 0, 0}).isEmpty());
+    }
+
+    @Test
+    void testGetPlan_MovesSpareCarsTowardsOneWayDrain() {
+        Location west = fixtures.location("RB_WEST", 41.0, 28.0);
+        Location east = fixtures.location("RB_EAST", 41.0, 29.0);
+        Location far = fixtures.location("RB_FAR", 41.0, 35.0);
+        Car historyCar = car("RB_E1", east);
+        car("RB_E2", east);
+        car("RB_E3", east);
+        car("RB_F1", far);
+        car("RB_F2", far);
+
+        // Eight pick-ups at RB_WEST over the last four weeks: two expected in the coming week.
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 8; i++) {
+            completed("RBH" + i, historyCar, west, east, now.minusDays(3 * i + 1));
+        }
+        // A booked one-way trip brings RB_F1 to RB_WEST within the horizon.
+        ReservationDTO request = fixtures.booking("RB_FAR", "RB_WEST", now.plusDays(1), 2);
+        request.setCarBarcodeNumber("RB_F1");
+        reservationService.makeReservation(request);
+
+        RebalancingPlanDTO plan = rebalancingService.getPlan(7);
+
+        List<TransferMoveDTO> moves = plan.moves().stream().filter(move -> move.carType() == CarType.SUV).toList();
+        assertEquals(List.of(new TransferMoveDTO(CarType.SUV, "RB_EAST", "RB_WEST", 1, 84)), moves);
+        assertTrue(plan.shortfalls().stream().noneMatch(shortfall -> shortfall.carType() == CarType.SUV));
+
+        // Over four weeks RB_WEST expects eight pick-ups, more than the spare cars can cover.
+        RebalancingPlanDTO longer = rebalancingService.getPlan(28);
+        List<TransferMoveDTO> longerMoves = longer.moves().stream().filter(move -> move.carType() == CarType.SUV).toList();
+        assertEquals(List.of(new TransferMoveDTO(CarType.SUV, "RB_EAST", "RB_WEST", 3, 84),
+                new TransferMoveDTO(CarType.SUV, "RB_FAR", "RB_WEST", 1, 587)), longerMoves);
+        assertEquals(3, longer.shortfalls().stream()
+                .filter(shortfall -> shortfall.carType() == CarType.SUV && shortfall.locationCode().equals("RB_WEST"))
+                .mapToInt(shortfall -> shortfall.cars()).sum());
+
+        assertThrows(BusinessException.class, () -> rebalancingService.getPlan(0));
+        assertThrows(BusinessException.class, () -> rebalancingService.getPlan(91));
+    }
+
+    private Car car(String barcodeNumber, Location location) {
+        return fixtures.car(barcodeNumber, CarType.SUV, CarStatus.AVAILABLE, location);
+    }
+
+    private void completed(String reservationNumber, Car car, Location pickUp, Location dropOff, LocalDateTime pickUpTime) {
+        fixtures.reservation(reservationNumber, car, ReservationStatus.COMPLETED, pickUpTime, pickUpTime.plusHours(12),
+                reservation -> {
+                    reservation.setReturnDate(pickUpTime.plusHours(12));
+                    reservation.setDayCount(1);
+                    reservation.setPickUpLocation(pickUp);
+                    reservation.setDropOffLocation(dropOff);
+                });
+    }
+}
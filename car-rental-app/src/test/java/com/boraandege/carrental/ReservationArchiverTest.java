@@ -0,0 +1,226 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.archive.ReservationArchiver;
+import com.boraandege.carrental.dto.PageDTO;
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ExportFormat;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.ResourceNotFoundException;
+import com.boraandege.carrental.model.AdditionalService;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Equipment;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.model.Member;
+import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.repository.ArchivedReservationRepository;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.EquipmentRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.repository.MemberRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.repository.ServiceRepository;
+import com.boraandege.carrental.service.CarService;
+import com.boraandege.carrental.service.EquipmentService;
+import com.boraandege.carrental.service.LocationService;
+import com.boraandege.carrental.service.MemberService;
+import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.service.ServiceService;
+import com.boraandege.carrental.support.DatabaseLease;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationArchiverTest extends BookingIntegrationTest {
+
+    @Autowired
+    private ReservationArchiver archiver;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private ServiceService serviceService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testArchive_MovesOldFinishedReservationsAndReadsThemWithHistory() {
+        LocalDateTime old = LocalDateTime.now().minusDays(120);
+        Car car = car("ARCHIVE_CAR");
+        Equipment equipment = equipmentRepository.findAll().get(0);
+        Reservation completed = reservation("ARC1", car, ReservationStatus.COMPLETED, old, List.of(equipment));
+        reservation("ARC2", car, ReservationStatus.CANCELLED, old.plusDays(2), List.of());
+        reservation("ARC3", car, ReservationStatus.COMPLETED, old.plusDays(4), List.of());
+        reservation("ARCACT", car, ReservationStatus.ACTIVE, old.plusDays(6), List.of());
+        reservation("ARCNEW", car, ReservationStatus.COMPLETED, LocalDateTime.now().minusDays(5), List.of());
+        long archivedBefore = archivedReservationRepository.count();
+
+        assertEquals(3, archiver.archive());
+
+        assertEquals(archivedBefore + 3, archivedReservationRepository.count());
+        for (String number : List.of("ARC1", "ARC2", "ARC3")) {
+            assertTrue(reservationRepository.findByReservationNumber(number).isEmpty());
+        }
+        assertTrue(reservationRepository.findByReservationNumber("ARCACT").isPresent());
+        assertTrue(reservationRepository.findByReservationNumber("ARCNEW").isPresent());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from reservation_equipment where reservation_id = ?", Integer.class, completed.getId()));
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.getReservationByNumber("ARC1", false));
+        ReservationDTO archived = reservationService.getReservationByNumber("ARC1", true);
+        assertEquals(completed.getId(), archived.getId().intValue());
+        assertEquals(ReservationStatus.COMPLETED, archived.getStatus());
+        assertEquals("ARCHIVE_CAR", archived.getCarBarcodeNumber());
+        assertEquals(List.of(equipment.getName()), archived.getAdditionalEquipmentNames());
+
+        List<String> hot = pageThrough(false);
+        List<String> all = pageThrough(true);
+        assertFalse(hot.contains("ARC2"));
+        assertTrue(all.containsAll(List.of("ARC1", "ARC2", "ARC3", "ARCACT", "ARCNEW")));
+        assertEquals(hot.size() + archivedBefore + 3, all.size());
+
+        List<ReservationDTO> between = reservationService.getReservationsBetweenDates(
+                old.minusDays(1), old.plusDays(7), true);
+        assertEquals(List.of("ARC1", "ARC2", "ARC3", "ARCACT"),
+                between.stream().map(ReservationDTO::getReservationNumber).toList());
+        assertEquals(1, reservationService.getReservationsBetweenDates(old.minusDays(1), old.plusDays(7), false).size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationService.exportReservations(null, null, true, ExportFormat.CSV, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.indexOf("ARC1") < csv.indexOf("ARC3") && csv.indexOf("ARC3") < csv.indexOf("ARCACT"));
+
+        assertEquals(0, archiver.archive());
+
+        Car retired = car("ARCHIVE_RETIRED");
+        reservation("ARC4", retired, ReservationStatus.COMPLETED, old, List.of());
+        assertEquals(1, archiver.archive());
+        assertThrows(BusinessException.class, () -> carService.deleteCar(retired.getId()));
+        assertThrows(BusinessException.class, () -> carService.deleteCarByBarcode("ARCHIVE_RETIRED"));
+        assertTrue(carRepository.findById(retired.getId()).isPresent());
+    }
+
+    @Test
+    void testArchive_KeepsEverythingArchivedReservationsReferTo() {
+        Member member = new Member();
+        member.setName("Archived Member");
+        member.setDrivingLicenseNumber("DL_ARCHIVED");
+        member = memberRepository.save(member);
+        Location location = fixtures.location("ARCHIVE_LOC", 41.0, 29.0);
+        Equipment equipment = new Equipment();
+        equipment.setName("Archived Roof Box");
+        equipment.setPrice(BigDecimal.valueOf(20));
+        equipment = equipmentRepository.save(equipment);
+        AdditionalService service = new AdditionalService();
+        service.setName("Archived Insurance");
+        service.setPrice(BigDecimal.valueOf(30));
+        service = serviceRepository.save(service);
+
+        Reservation reservation = reservation("ARC5", car("ARCHIVE_REFERENCED"), ReservationStatus.COMPLETED,
+                LocalDateTime.now().minusDays(300), List.of(equipment));
+        reservation.setMember(member);
+        reservation.setPickUpLocation(location);
+        reservation.setDropOffLocation(location);
+        reservation.setAdditionalServices(new ArrayList<>(List.of(service)));
+        reservationRepository.save(reservation);
+        assertEquals(1, archiver.archive());
+
+        Long memberId = member.getId();
+        Long locationId = location.getId();
+        Long equipmentId = equipment.getId();
+        Long serviceId = service.getId();
+        assertThrows(BusinessException.class, () -> memberService.deleteMember(memberId));
+        assertThrows(BusinessException.class, () -> locationService.deleteLocation(locationId));
+        assertThrows(BusinessException.class, () -> equipmentService.deleteEquipment(equipmentId));
+        assertThrows(BusinessException.class, () -> serviceService.deleteService(serviceId));
+        assertTrue(memberRepository.existsById(memberId));
+        assertTrue(locationRepository.existsById(locationId));
+        assertTrue(equipmentRepository.existsById(equipmentId));
+        assertTrue(serviceRepository.existsById(serviceId));
+    }
+
+    @Test
+    void testArchive_SkipsWhileAnotherNodeHoldsTheLease() {
+        DatabaseLease otherNode = new DatabaseLease(jdbcTemplate);
+        assertTrue(otherNode.tryAcquire("reservation-archiver", Duration.ofMinutes(1)));
+        try {
+            assertEquals(-1, archiver.archive());
+        } finally {
+            otherNode.release("reservation-archiver");
+        }
+    }
+
+    private List<String> pageThrough(boolean includeHistory) {
+        List<String> numbers = new ArrayList<>();
+        Long after = null;
+        long lastId = 0;
+        do {
+            PageDTO<ReservationDTO> page = reservationService.getReservationsPage(after, 2, includeHistory);
+            for (ReservationDTO reservation : page.getItems()) {
+                assertTrue(reservation.getId() > lastId);
+                lastId = reservation.getId();
+                numbers.add(reservation.getReservationNumber());
+            }
+            after = page.getNextCursor();
+        } while (after != null);
+        return numbers;
+    }
+
+    private Car car(String barcodeNumber) {
+        return fixtures.car(barcodeNumber, CarType.ECONOMY, CarStatus.AVAILABLE);
+    }
+
+    private Reservation reservation(String number, Car car, ReservationStatus status, LocalDateTime pickUp,
+                                    List<Equipment> equipments) {
+        return fixtures.reservation(number, car, status, pickUp, pickUp.plusDays(1), reservation -> {
+            reservation.setTotalAmount(BigDecimal.valueOf(100));
+            reservation.setAdditionalEquipments(new ArrayList<>(equipments));
+        });
+    }
+}
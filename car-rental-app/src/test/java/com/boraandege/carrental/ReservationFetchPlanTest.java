@@ -0,0 +1,131 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.model.*;
+import com.boraandege.carrental.repository.*;
+import com.boraandege.carrental.service.impl.ReservationServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class ReservationFetchPlanTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationServiceImpl reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Test
+    void testGetAllReservations_QueryCountDoesNotGrowWithRows() {
+        insertReservations(5, 0);
+        long smallListQueries = countQueries(() -> assertEquals(6, reservationService.getAllReservations().size()));
+
+        insertReservations(40, 5);
+        long largeListQueries = countQueries(() -> assertEquals(46, reservationService.getAllReservations().size()));
+
+        assertEquals(smallListQueries, largeListQueries);
+        assertTrue(largeListQueries <= 3, "expected at most 3 statements but was " + largeListQueries);
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void insertReservations(int count, int offset) {
+        Location pickUp = new Location();
+        pickUp.setCode("FETCH_PICK_" + offset);
+        pickUp.setName("Fetch Pick-up " + offset);
+        locationRepository.save(pickUp);
+
+        Location dropOff = new Location();
+        dropOff.setCode("FETCH_DROP_" + offset);
+        dropOff.setName("Fetch Drop-off " + offset);
+        locationRepository.save(dropOff);
+
+        Equipment equipment = new Equipment();
+        equipment.setName("FETCH_EQUIPMENT_" + offset);
+        equipment.setPrice(BigDecimal.valueOf(5));
+        equipmentRepository.save(equipment);
+
+        AdditionalService service = new AdditionalService();
+        service.setName("FETCH_SERVICE_" + offset);
+        service.setPrice(BigDecimal.valueOf(7));
+        serviceRepository.save(service);
+
+        for (int i = 0; i < count; i++) {
+            Member member = new Member();
+            member.setName("Fetch Member " + (offset + i));
+            memberRepository.save(member);
+
+            Car car = new Car();
+            car.setBarcodeNumber("FETCH_CAR_" + (offset + i));
+            car.setBrand("FetchBrand");
+            car.setDailyPrice(BigDecimal.valueOf(40));
+            car.setStatus(CarStatus.LOANED);
+            car.setCarType(CarType.ECONOMY);
+            car.setTransmissionType(TransmissionType.MANUAL);
+            carRepository.save(car);
+
+            Reservation reservation = new Reservation();
+            reservation.setReservationNumber("FETCH" + (offset + i));
+            reservation.setStatus(ReservationStatus.ACTIVE);
+            reservation.setDayCount(2);
+            reservation.setCreationDate(LocalDateTime.now());
+            reservation.setPickUpDateTime(LocalDateTime.now().plusDays(1));
+            reservation.setDropOffDateTime(LocalDateTime.now().plusDays(3));
+            reservation.setMember(member);
+            reservation.setCar(car);
+            reservation.setPickUpLocation(pickUp);
+            reservation.setDropOffLocation(dropOff);
+            reservation.setAdditionalEquipments(new ArrayList<>(List.of(equipment)));
+            reservation.setAdditionalServices(new ArrayList<>(List.of(service)));
+            reservationRepository.save(reservation);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.ReservationDTO;
+import com.boraandege.carrental.dto.ReservationIntakeDTO;
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.intake.IntakeProperties;
+import com.boraandege.carrental.intake.ReservationIntake;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.support.ReservationNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:intake;DB_CLOSE_DELAY=-1")
+class ReservationIntakeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2031, 3, 1, 10, 0);
+
+    @Autowired
+    private ReservationIntake reservationIntake;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Test
+    void testSubmit_ConfirmsInBackgroundAndRejectsOverlaps() throws InterruptedException {
+        Car car = new Car();
+        car.setBarcodeNumber("CAR_INTAKE");
+        car.setDailyPrice(BigDecimal.valueOf(70));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setCarType(CarType.ECONOMY);
+        car.setTransmissionType(TransmissionType.MANUAL);
+        carRepository.save(car);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ReservationIntakeDTO pending = reservationIntake.submit(request("CAR_INTAKE", BASE.plusDays(3L * i), 2)).orElseThrow();
+            assertEquals(ReservationStatus.PENDING, pending.status());
+            numbers.add(pending.reservationNumber());
+        }
+        String overlapping = reservationIntake.submit(request("CAR_INTAKE", BASE.plusDays(1), 1)).orElseThrow().reservationNumber();
+
+        for (String number : numbers) {
+            assertEquals(ReservationStatus.CONFIRMED, awaitOutcome(number).status());
+        }
+        ReservationIntakeDTO rejected = awaitOutcome(overlapping);
+        assertEquals(ReservationStatus.CANCELLED, rejected.status());
+        assertEquals("Selected car is already booked for the requested period", rejected.message());
+
+        ReservationIntakeDTO unknownCar = awaitOutcome(
+                reservationIntake.submit(request("NO_SUCH_CAR", BASE, 1)).orElseThrow().reservationNumber());
+        assertEquals("Car not found with barcode number: NO_SUCH_CAR", unknownCar.message());
+
+        assertTrue(reservationService.cancelReservation(numbers.get(0)));
+        assertEquals(ReservationStatus.CANCELLED, reservationIntake.getStatus(numbers.get(0)).status());
+        assertTrue(reservationService.returnCar(numbers.get(1)));
+        assertEquals(ReservationStatus.COMPLETED, reservationIntake.getStatus(numbers.get(1)).status());
+    }
+
+    @Test
+    void testSubmit_InvalidRequestRejectedUpFront() {
+        assertThrows(BusinessException.class, () -> reservationIntake.submit(request("CAR_INTAKE", BASE, 0)));
+        assertThrows(BusinessException.class, () -> reservationIntake.submit(request(null, BASE, 1)));
+    }
+
+    @Test
+    void testSubmit_FullQueueTurnsRequestsAway() throws InterruptedException {
+        CountDownLatch confirming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReservationService blockedService = (ReservationService) Proxy.newProxyInstance(
+                ReservationService.class.getClassLoader(), new Class<?>[]{ReservationService.class},
+                (proxy, method, args) -> {
+                    confirming.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return Map.of();
+                });
+        AtomicInteger sequence = new AtomicInteger();
+        ReservationNumberGenerator numbers = new ReservationNumberGenerator(null) {
+            @Override
+            public String next() {
+                return "Q" + sequence.incrementAndGet();
+            }
+        };
+        ReservationIntake intake = new ReservationIntake(blockedService, numbers,
+                new IntakeProperties(1, 2, 1, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        try {
+            assertTrue(intake.submit(request("CAR_FULL", BASE, 1)).isPresent());
+            assertTrue(confirming.await(10, TimeUnit.SECONDS));
+
+            assertTrue(intake.submit(request("CAR_FULL", BASE, 1)).isPresent());
+            assertTrue(intake.submit(request("CAR_FULL", BASE, 1)).isPresent());
+            Optional<ReservationIntakeDTO> throttled = intake.submit(request("CAR_FULL", BASE, 1));
+
+            assertTrue(throttled.isEmpty());
+            assertEquals(ReservationStatus.PENDING, intake.getStatus("Q3").status());
+        } finally {
+            release.countDown();
+            intake.shutdown();
+        }
+    }
+
+    private static ReservationDTO request(String carBarcodeNumber, LocalDateTime pickUp, int dayCount) {
+        ReservationDTO request = new ReservationDTO();
+        request.setCarBarcodeNumber(carBarcodeNumber);
+        request.setMemberId(1L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("BASE_LOC_2");
+        request.setPickUpDateTime(pickUp);
+        request.setDayCount(dayCount);
+        return request;
+    }
+
+    private ReservationIntakeDTO awaitOutcome(String reservationNumber) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ReservationIntakeDTO status = reservationIntake.getStatus(reservationNumber);
+        while (status.status() == ReservationStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = reservationIntake.getStatus(reservationNumber);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,48 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.support.ReservationNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReservationNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int NUMBERS_PER_THREAD = 25_000;
+
+    @Autowired
+    private ReservationNumberGenerator generator;
+
+    @Test
+    void testNext_UniqueAcrossThreads() throws InterruptedException {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < NUMBERS_PER_THREAD; i++) {
+                    numbers.add(generator.next());
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(THREADS * NUMBERS_PER_THREAD, numbers.size());
+        assertTrue(numbers.stream().allMatch(number -> number.matches("[0-9A-Z]{8}")));
+    }
+}
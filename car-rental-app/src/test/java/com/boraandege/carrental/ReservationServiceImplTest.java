@@ -1,10 +1,14 @@
 package com.boraandege.carrental;
 
+import com.boraandege.carrental.controller.ReservationController;
 import com.boraandege.carrental.dto.ReservationDTO;
 import com.boraandege.carrental.enums.CarStatus;
 import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ExportFormat;
 import com.boraandege.carrental.enums.ReservationStatus;
 import com.boraandege.carrental.enums.TransmissionType;
+import com.boraandege.carrental.exception.BusinessException;
+import com.boraandege.carrental.exception.IdempotencyConflictException;
 import com.boraandege.carrental.exception.ResourceNotFoundException;
 import com.boraandege.carrental.model.*;
 import com.boraandege.carrental.repository.*;
@@ -12,9 +16,13 @@ import com.boraandege.carrental.service.impl.ReservationServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +51,9 @@ class ReservationServiceImplTest {
     @Autowired
     private ReservationServiceImpl reservationService;
 
+    @Autowired
+    private ReservationController reservationController;
+
     @Test
     void testMakeReservation() {
         reservationRepository.deleteAll();
@@ -99,6 +110,112 @@ class ReservationServiceImplTest {
 
         Optional<Reservation> savedReservation = reservationRepository.findByReservationNumber(result.getReservationNumber());
         assertTrue(savedReservation.isPresent());
+        assertNotNull(result.getTotalAmount());
+        assertEquals(result.getTotalAmount(), savedReservation.get().getTotalAmount());
+    }
+
+    @Test
+    void testMakeReservation_BooksSameCarForDisjointWindowsOnly() {
+        Location location = new Location();
+        location.setCode("LOC_WINDOW");
+        location.setName("Window Location");
+        locationRepository.save(location);
+
+        Member member = new Member();
+        member.setName("Window Member");
+        member.setDrivingLicenseNumber("DL_WINDOW");
+        memberRepository.save(member);
+
+        Car car = new Car();
+        car.setBarcodeNumber("CAR_WINDOW");
+        car.setDailyPrice(BigDecimal.valueOf(80.00));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setCarType(CarType.SUV);
+        car.setTransmissionType(TransmissionType.MANUAL);
+        carRepository.save(car);
+
+        LocalDateTime nextMonth = LocalDateTime.now().plusMonths(1);
+
+        ReservationDTO later = new ReservationDTO();
+        later.setCarBarcodeNumber("CAR_WINDOW");
+        later.setMemberId(member.getId());
+        later.setPickUpLocationCode("LOC_WINDOW");
+        later.setDropOffLocationCode("LOC_WINDOW");
+        later.setPickUpDateTime(nextMonth);
+        later.setDayCount(5);
+        assertNotNull(reservationService.makeReservation(later).getReservationNumber());
+
+        ReservationDTO tomorrow = new ReservationDTO();
+        tomorrow.setCarBarcodeNumber("CAR_WINDOW");
+        tomorrow.setMemberId(member.getId());
+        tomorrow.setPickUpLocationCode("LOC_WINDOW");
+        tomorrow.setDropOffLocationCode("LOC_WINDOW");
+        tomorrow.setPickUpDateTime(LocalDateTime.now().plusDays(1));
+        tomorrow.setDayCount(2);
+        assertNotNull(reservationService.makeReservation(tomorrow).getReservationNumber());
+
+        ReservationDTO overlapping = new ReservationDTO();
+        overlapping.setCarBarcodeNumber("CAR_WINDOW");
+        overlapping.setMemberId(member.getId());
+        overlapping.setPickUpLocationCode("LOC_WINDOW");
+        overlapping.setDropOffLocationCode("LOC_WINDOW");
+        overlapping.setPickUpDateTime(nextMonth.plusDays(2));
+        overlapping.setDayCount(1);
+        assertThrows(BusinessException.class, () -> reservationService.makeReservation(overlapping));
+    }
+
+    @Test
+    void testMakeReservation_RetryWithIdempotencyKeyReplaysFirstResponse() {
+        Car car = new Car();
+        car.setBarcodeNumber("CAR_RETRY");
+        car.setDailyPrice(BigDecimal.valueOf(60.00));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setCarType(CarType.ECONOMY);
+        car.setTransmissionType(TransmissionType.MANUAL);
+        carRepository.save(car);
+
+        ReservationDTO request = new ReservationDTO();
+        request.setCarBarcodeNumber("CAR_RETRY");
+        request.setMemberId(1L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("BASE_LOC_2");
+        request.setDayCount(2);
+        long before = reservationRepository.count();
+
+        ResponseEntity<ReservationDTO> first = reservationController.makeReservation("retry-key-1", request);
+        ResponseEntity<ReservationDTO> retry = reservationController.makeReservation("retry-key-1", request);
+
+        assertEquals(first.getStatusCode(), retry.getStatusCode());
+        assertEquals(first.getBody().getReservationNumber(), retry.getBody().getReservationNumber());
+        assertNull(first.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(before + 1, reservationRepository.count());
+
+        request.setDayCount(3);
+        assertThrows(IdempotencyConflictException.class, () -> reservationController.makeReservation("retry-key-1", request));
+        assertEquals(before + 1, reservationRepository.count());
+    }
+
+    @Test
+    void testMakeReservation_ReportsEachMissingReference() {
+        ReservationDTO request = new ReservationDTO();
+        request.setCarBarcodeNumber("CAR_BASE_123");
+        request.setMemberId(999L);
+        request.setPickUpLocationCode("BASE_LOC_1");
+        request.setDropOffLocationCode("NO_SUCH_LOC");
+        request.setDayCount(1);
+
+        ResourceNotFoundException missingReferences = assertThrows(ResourceNotFoundException.class,
+                () -> reservationService.makeReservation(request));
+        assertEquals("Member not found with id: 999; Drop-off location not found with code: NO_SUCH_LOC",
+                missingReferences.getMessage());
+
+        request.setMemberId(1L);
+        request.setDropOffLocationCode("BASE_LOC_2");
+        request.setAdditionalEquipmentIds(List.of(1L, 998L, 999L));
+        ResourceNotFoundException missingEquipment = assertThrows(ResourceNotFoundException.class,
+                () -> reservationService.makeReservation(request));
+        assertEquals("Equipment not found with id: 998, 999", missingEquipment.getMessage());
     }
 
     @Test
@@ -115,16 +232,87 @@ class ReservationServiceImplTest {
 
         reservationRepository.save(reservation);
 
-        ReservationDTO result = reservationService.getReservationByNumber("RES123");
+        ReservationDTO result = reservationService.getReservationByNumber("RES123", false);
 
         assertNotNull(result);
         assertEquals("RES123", result.getReservationNumber());
     }
 
+    @Test
+    void testGetReservationByNumber_ProjectsItemsAndTotal() {
+        ReservationDTO result = reservationService.getReservationByNumber("RESB1234", false);
+
+        assertEquals("CAR_BASE_123", result.getCarBarcodeNumber());
+        assertEquals("BASE_LOC_1", result.getPickUpLocationCode());
+        assertEquals(List.of("GPS_BASE", "Child Seat Base"), result.getAdditionalEquipmentNames());
+        assertTrue(result.getAdditionalServiceNames().isEmpty());
+        assertEquals(new BigDecimal("325.00"), result.getTotalAmount());
+    }
+
+    @Test
+    void testAddItems_AddsTheirPriceToTotal() {
+        AdditionalService insurance = new AdditionalService();
+        insurance.setName("Full Insurance");
+        insurance.setPrice(new BigDecimal("40.50"));
+        serviceRepository.save(insurance);
+        Equipment roofRack = new Equipment();
+        roofRack.setName("Roof Rack");
+        roofRack.setPrice(new BigDecimal("12.25"));
+        equipmentRepository.save(roofRack);
+
+        assertTrue(reservationService.addServiceToReservation("RESB1234", insurance.getId()));
+        assertEquals(new BigDecimal("365.50"), reservationRepository.findByReservationNumber("RESB1234").get().getTotalAmount());
+        assertFalse(reservationService.addServiceToReservation("RESB1234", insurance.getId()));
+
+        assertTrue(reservationService.addEquipmentToReservation("RESB1234", roofRack.getId()));
+        assertEquals(new BigDecimal("377.75"),
+                reservationService.getReservationByNumber("RESB1234", false).getTotalAmount());
+    }
+
+    @Test
+    void testExportReservations_Ndjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationService.exportReservations(null, null, false, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(reservationRepository.count(), lines.length);
+        assertTrue(lines[0].startsWith("{"));
+        assertTrue(lines[0].contains("\"reservationNumber\":\"RESB1234\""));
+        assertTrue(lines[0].contains("\"additionalEquipmentNames\":[\"GPS_BASE\",\"Child Seat Base\"]"));
+    }
+
+    @Test
+    void testExportReservations_CsvWithDateFilter() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationService.exportReservations(LocalDateTime.now(), LocalDateTime.now().plusDays(2), false, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,reservationNumber,"));
+        assertTrue(lines[1].contains(",RESB1234,"));
+        assertTrue(lines[1].endsWith(",325.00,GPS_BASE;Child Seat Base,"));
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        reservationService.exportReservations(LocalDateTime.now().minusDays(10), LocalDateTime.now().minusDays(5), false,
+                ExportFormat.CSV, empty);
+        assertEquals(1, empty.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertThrows(BusinessException.class,
+                () -> reservationService.exportReservations(LocalDateTime.now(), null, false, ExportFormat.CSV, out));
+    }
+
     @Test
     void testGetReservationByNumber_NotFound() {
         reservationRepository.deleteAll();
-        assertThrows(ResourceNotFoundException.class, () -> reservationService.getReservationByNumber("INVALID_RES"));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.getReservationByNumber("INVALID_RES", false));
+    }
+
+    @Test
+    void testGetReservationsPage_RejectsCursorBeyondIdRange() {
+        assertThrows(BusinessException.class,
+                () -> reservationService.getReservationsPage((long) Integer.MAX_VALUE + 1, 10, false));
+        assertThrows(BusinessException.class,
+                () -> reservationService.getReservationsPage((long) Integer.MIN_VALUE - 1, 10, true));
+        assertNull(reservationService.getReservationsPage((long) Integer.MAX_VALUE, 10, false).getNextCursor());
     }
 
     @Test
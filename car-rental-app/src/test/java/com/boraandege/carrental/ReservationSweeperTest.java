@@ -0,0 +1,141 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.enums.CarStatus;
+import com.boraandege.carrental.enums.CarType;
+import com.boraandege.carrental.enums.ReservationStatus;
+import com.boraandege.carrental.index.CarAvailabilityIndex;
+import com.boraandege.carrental.index.FleetBitmapIndex;
+import com.boraandege.carrental.model.Car;
+import com.boraandege.carrental.model.Reservation;
+import com.boraandege.carrental.repository.CarRepository;
+import com.boraandege.carrental.repository.ReservationRepository;
+import com.boraandege.carrental.service.ReservationService;
+import com.boraandege.carrental.support.DatabaseLease;
+import com.boraandege.carrental.sweeper.ReservationSweeper;
+import com.boraandege.carrental.sweeper.SweepResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationSweeperTest extends BookingIntegrationTest {
+
+    @Autowired
+    private ReservationSweeper sweeper;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private FleetBitmapIndex fleetIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testSweep_ClosesOverdueAndNoShowReservationsInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        Car returned = loanedCar("SWEEP_RETURNED");
+        Car stillBooked = loanedCar("SWEEP_STILL_BOOKED");
+        Car noShow = loanedCar("SWEEP_NO_SHOW");
+        Car collected = loanedCar("SWEEP_COLLECTED");
+
+        List<Reservation> overdue = List.of(
+                reservation("SWPOD1", returned, ReservationStatus.ACTIVE, now.minusDays(6), now.minusDays(4), true),
+                reservation("SWPOD2", returned, ReservationStatus.ACTIVE, now.minusDays(4), now.minusDays(3), true),
+                reservation("SWPOD3", returned, ReservationStatus.ACTIVE, now.minusDays(3), now.minusDays(2), true),
+                reservation("SWPOD4", stillBooked, ReservationStatus.ACTIVE, now.minusDays(3), now.minusDays(2), true),
+                reservation("SWPOD5", returned, ReservationStatus.CONFIRMED, now.minusDays(2), now.minusDays(1), true));
+        Reservation future = reservation("SWPFUT", stillBooked, ReservationStatus.ACTIVE, now.plusDays(1), now.plusDays(3), false);
+        Reservation withinGrace = reservation("SWPGRC", stillBooked, ReservationStatus.ACTIVE, now.minusDays(1), now.minusMinutes(10), true);
+        // Never collected: a no-show even once past its drop-off time, so it is cancelled rather than completed.
+        List<Reservation> missed = List.of(
+                reservation("SWPNOS1", noShow, ReservationStatus.ACTIVE, now.minusHours(3), now.plusDays(1), false),
+                reservation("SWPNOS2", noShow, ReservationStatus.CONFIRMED, now.minusDays(3), now.minusDays(2), false));
+        Reservation late = reservation("SWPLATE", collected, ReservationStatus.CONFIRMED, now.minusMinutes(30), now.plusDays(1), false);
+        Reservation confirmed = reservation("SWPCNF", collected, ReservationStatus.CONFIRMED, now.minusHours(3), now.plusDays(1), false);
+        assertTrue(reservationService.pickUpCar("SWPCNF"));
+        assertFalse(reservationService.pickUpCar("SWPCNF"));
+        availabilityIndex.rebuild();
+        fleetIndex.rebuild();
+        long runsBefore = meterRegistry.timer("reservation.sweeper.run").count();
+
+        SweepResult result = sweeper.sweep();
+
+        assertTrue(result.leaseAcquired());
+        assertEquals(overdue.size(), result.overdue());
+        assertEquals(missed.size(), result.noShows());
+        assertEquals(2, result.carsReleased());
+        for (Reservation reservation : overdue) {
+            Reservation swept = reservationRepository.findByReservationNumber(reservation.getReservationNumber()).orElseThrow();
+            assertEquals(ReservationStatus.COMPLETED, swept.getStatus());
+            assertNull(swept.getReturnDate());
+        }
+        for (Reservation reservation : missed) {
+            assertEquals(ReservationStatus.CANCELLED, statusOf(reservation));
+        }
+        assertEquals(ReservationStatus.CONFIRMED, statusOf(late));
+        assertEquals(ReservationStatus.ACTIVE, statusOf(future));
+        assertEquals(ReservationStatus.ACTIVE, statusOf(withinGrace));
+        assertEquals(ReservationStatus.CONFIRMED, statusOf(confirmed));
+
+        assertEquals(CarStatus.AVAILABLE, carRepository.findById(returned.getId()).orElseThrow().getStatus());
+        assertEquals(CarStatus.AVAILABLE, carRepository.findById(noShow.getId()).orElseThrow().getStatus());
+        Car kept = carRepository.findById(stillBooked.getId()).orElseThrow();
+        assertEquals(CarStatus.LOANED, kept.getStatus());
+        assertEquals(CarStatus.LOANED, carRepository.findById(collected.getId()).orElseThrow().getStatus());
+        assertTrue(carRepository.findById(returned.getId()).orElseThrow().getVersion() > returned.getVersion());
+
+        List<Long> available = fleetIndex.queryIds(List.of(CarStatus.AVAILABLE), null, null, null);
+        assertTrue(available.containsAll(List.of(returned.getId(), noShow.getId())));
+        assertFalse(available.contains(stillBooked.getId()));
+        assertTrue(availabilityIndex.isAvailable(noShow.getId(), now.minusHours(3), now.plusDays(1)));
+        assertFalse(availabilityIndex.isAvailable(stillBooked.getId(), now.plusDays(1), now.plusDays(2)));
+
+        assertEquals(runsBefore + 1, meterRegistry.timer("reservation.sweeper.run").count());
+        assertEquals(0, sweeper.sweep().overdue());
+    }
+
+    @Test
+    void testSweep_SkipsWhileAnotherNodeHoldsTheLease() {
+        DatabaseLease otherNode = new DatabaseLease(jdbcTemplate);
+        assertTrue(otherNode.tryAcquire("reservation-sweeper", Duration.ofMinutes(1)));
+        try {
+            assertFalse(sweeper.sweep().leaseAcquired());
+        } finally {
+            otherNode.release("reservation-sweeper");
+        }
+        assertTrue(sweeper.sweep().leaseAcquired());
+    }
+
+    private Car loanedCar(String barcodeNumber) {
+        return fixtures.car(barcodeNumber, CarType.ECONOMY, CarStatus.LOANED);
+    }
+
+    private Reservation reservation(String number, Car car, ReservationStatus status,
+                                    LocalDateTime pickUp, LocalDateTime dropOff, boolean collected) {
+        return fixtures.reservation(number, car, status, pickUp, dropOff,
+                reservation -> reservation.setPickedUpDate(collected ? pickUp : null));
+    }
+
+    private ReservationStatus statusOf(Reservation reservation) {
+        return reservationRepository.findByReservationNumber(reservation.getReservationNumber()).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,84 @@
+package com.boraandege.carrental;
+
+import com.boraandege.carrental.dto.CacheStatisticsDTO;
+import com.boraandege.carrental.dto.LocationDTO;
+import com.boraandege.carrental.model.Location;
+import com.boraandege.carrental.repository.EquipmentRepository;
+import com.boraandege.carrental.repository.LocationRepository;
+import com.boraandege.carrental.service.CacheStatisticsService;
+import com.boraandege.carrental.service.LocationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testWarmReads_DoNotTouchDatabase() {
+        readReferenceData();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        readReferenceData();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        CacheStatisticsDTO cacheStatistics = cacheStatisticsService.getStatistics();
+        assertTrue(cacheStatistics.getNaturalIdCache().getHitCount() > 0);
+        assertTrue(cacheStatistics.getQueryCache().getHitCount() > 0);
+        assertEquals(1.0, cacheStatistics.getSecondLevelCache().getHitRatio(), 0.001);
+    }
+
+    @Test
+    void testLocationCodeChange_UpdatesNaturalIdCache() {
+        LocationDTO dto = new LocationDTO();
+        dto.setCode("L2_OLD");
+        dto.setName("Cached Location");
+        Long id = locationService.addLocation(dto).getId();
+        assertTrue(transactionTemplate.execute(status -> locationRepository.findByCode("L2_OLD")).isPresent());
+
+        dto.setCode("L2_NEW");
+        locationService.updateLocation(id, dto);
+
+        assertTrue(transactionTemplate.execute(status -> locationRepository.findByCode("L2_OLD")).isEmpty());
+        Location renamed = transactionTemplate.execute(status -> locationRepository.findByCode("L2_NEW")).orElseThrow();
+        assertEquals(id, renamed.getId());
+    }
+
+    private void readReferenceData() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Location location = locationRepository.findByCode("BASE_LOC_1").orElseThrow();
+            assertEquals(1L, location.getId());
+            assertEquals("BASE_LOC_2", locationRepository.getReferenceById(2L).getCode());
+            assertEquals("GPS_BASE", equipmentRepository.findById(1L).orElseThrow().getName());
+            assertFalse(locationRepository.findAll().isEmpty());
+        });
+    }
+}